@@ -1,31 +1,31 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain;
-
-/**
- * This class provides a skeletal implementation of the {@link Switchable}
- * interface to minimize the effort required to implement this interface.
- * 
- * @author Jonas Tenni
- */
-public abstract class AbstractSwitchable implements Switchable {
-
-	@Override
-	public void toggle() {
-		setSwitched(!isSwitched());
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+/**
+ * This class provides a skeletal implementation of the {@link Switchable}
+ * interface to minimize the effort required to implement this interface.
+ * 
+ * @author Jonas Tennié
+ */
+public abstract class AbstractSwitchable implements Switchable {
+
+	@Override
+	public void toggle() {
+		setSwitched(!isSwitched());
+	}
+
+}
@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An {@link OutputRegistry} which indexes its entries by
+ * {@link Address#getAddress() address value} in a flat array. The registered
+ * objects of an address are held in a compact array.
+ * <p>
+ * Every modification publishes a new immutable snapshot of the index (copy on
+ * write), so reading the registry requires neither locks nor copies.
+ * {@link #getOutputs(Address)} returns a random access list which can be
+ * iterated by index without creating an iterator. Modifications are
+ * synchronized and copy the index, this registry should therefore be used if
+ * the registry is read much more frequently than modified (e.g. a registry
+ * which is read for every received packet).
+ * <p>
+ * Address values must not be negative. The index grows to the highest
+ * registered address value, which is small for all {@link Address}
+ * implementations of this package.
+ * 
+ * @author Jonas Tennié
+ * @param <T>
+ *            The type of object handled by this registry.
+ */
+public class ArrayOutputRegistry<T extends Addressable> implements OutputRegistry<T> {
+
+	private volatile Snapshot snapshot = new Snapshot(new Outputs<?>[0][], 0);
+	private final Map<Address, Set<T>> entries = new EntryMap();
+
+	/**
+	 * Constructs a new {@link ArrayOutputRegistry} with no entries.
+	 */
+	public ArrayOutputRegistry() {}
+
+	@Override
+	public Map<Address, Set<T>> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Returns the objects registered for the specified {@link Address}. The
+	 * returned list is an unmodifiable snapshot which is not changed by later
+	 * modifications of this registry. It implements
+	 * {@link java.util.RandomAccess}.
+	 * 
+	 * @param address
+	 *            The address.
+	 * @return The objects registered for <code>address</code>. An empty list
+	 *         if no object is registered for <code>address</code>.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> is <code>null</code>.
+	 */
+	public List<T> getOutputs(Address address) {
+		Objects.requireNonNull(address, "address");
+		Outputs<T> outputs = find(snapshot, address);
+		if (outputs != null) {
+			return outputs.list;
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IllegalArgumentException
+	 *             Thrown if the address value of <code>object</code> is
+	 *             negative.
+	 */
+	@Override
+	public synchronized boolean register(T object) {
+		Objects.requireNonNull(object, "object");
+		Address address = object.getAddress();
+		int value = address.getAddress();
+		if (value < 0) {
+			throw new IllegalArgumentException(
+					"address value out of valid range: " + value);
+		}
+		Snapshot snapshot = this.snapshot;
+		Outputs<T> outputs = find(snapshot, address);
+		Object[] objects;
+		if (outputs == null) {
+			objects = new Object[] { object };
+		}
+		else if (outputs.list.contains(object)) {
+			return false;
+		}
+		else {
+			objects = Arrays.copyOf(outputs.objects, outputs.objects.length + 1);
+			objects[objects.length - 1] = object;
+		}
+		this.snapshot = snapshot.replace(address, outputs, new Outputs<T>(address, objects));
+		return true;
+	}
+
+	@Override
+	public synchronized boolean remove(T object) {
+		Objects.requireNonNull(object, "object");
+		Snapshot snapshot = this.snapshot;
+		Outputs<T> outputs = find(snapshot, object.getAddress());
+		if (outputs == null) {
+			return false;
+		}
+		int index = outputs.list.indexOf(object);
+		if (index < 0) {
+			return false;
+		}
+		Outputs<T> newOutputs = null;
+		if (outputs.objects.length > 1) {
+			Object[] objects = new Object[outputs.objects.length - 1];
+			System.arraycopy(outputs.objects, 0, objects, 0, index);
+			System.arraycopy(outputs.objects, index + 1, objects, index,
+					objects.length - index);
+			newOutputs = new Outputs<>(outputs.address, objects);
+		}
+		this.snapshot = snapshot.replace(outputs.address, outputs, newOutputs);
+		return true;
+	}
+
+	@Override
+	public synchronized void clearAddressRegistrations(Address address) {
+		Objects.requireNonNull(address, "address");
+		Snapshot snapshot = this.snapshot;
+		Outputs<T> outputs = find(snapshot, address);
+		if (outputs != null) {
+			this.snapshot = snapshot.replace(address, outputs, null);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Outputs<T> find(Snapshot snapshot, Address address) {
+		int value = address.getAddress();
+		if (value >= 0 && value < snapshot.slots.length) {
+			Outputs<?>[] slot = snapshot.slots[value];
+			if (slot != null) {
+				for (Outputs<?> outputs : slot) {
+					if (outputs.address == address || outputs.address.equals(address)) {
+						return (Outputs<T>) outputs;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * An immutable index. A slot holds the outputs of all addresses with the
+	 * slot's address value, usually only one.
+	 */
+	private static class Snapshot {
+
+		private final Outputs<?>[][] slots;
+		private final int size;
+
+		private Snapshot(Outputs<?>[][] slots, int size) {
+			this.slots = slots;
+			this.size = size;
+		}
+
+		/*
+		 * Returns a copy of this snapshot with oldOutputs replaced by
+		 * newOutputs. oldOutputs null to add, newOutputs null to remove.
+		 */
+		private Snapshot replace(Address address, Outputs<?> oldOutputs,
+				Outputs<?> newOutputs) {
+			int value = address.getAddress();
+			Outputs<?>[][] slots = Arrays.copyOf(this.slots,
+					Math.max(this.slots.length, value + 1));
+			Outputs<?>[] slot = slots[value];
+			int size = this.size;
+			if (oldOutputs == null) {
+				slot = slot == null ? new Outputs<?>[1] : Arrays.copyOf(slot, slot.length + 1);
+				slot[slot.length - 1] = newOutputs;
+				size++;
+			}
+			else if (newOutputs != null) {
+				slot = slot.clone();
+				slot[Arrays.asList(slot).indexOf(oldOutputs)] = newOutputs;
+			}
+			else {
+				List<Outputs<?>> list = new ArrayList<>(Arrays.asList(slot));
+				list.remove(oldOutputs);
+				slot = list.isEmpty() ? null : list.toArray(new Outputs<?>[list.size()]);
+				size--;
+			}
+			slots[value] = slot;
+			return new Snapshot(slots, size);
+		}
+
+	}
+
+	/*
+	 * The immutable outputs of one address.
+	 */
+	private static class Outputs<T> {
+
+		private final Address address;
+		private final Object[] objects;
+		private final List<T> list;
+		private final Set<T> set;
+
+		@SuppressWarnings("unchecked")
+		private Outputs(Address address, Object[] objects) {
+			this.address = address;
+			this.objects = objects;
+			list = Collections.unmodifiableList(Arrays.asList((T[]) objects));
+			set = new AbstractSet<T>() {
+
+				@Override
+				public Iterator<T> iterator() {
+					return list.iterator();
+				}
+
+				@Override
+				public int size() {
+					return list.size();
+				}
+
+			};
+		}
+
+	}
+
+	private class EntryMap extends AbstractMap<Address, Set<T>> {
+
+		private final Set<Entry<Address, Set<T>>> entrySet = new AbstractSet<Entry<Address, Set<T>>>() {
+
+			@Override
+			public Iterator<Entry<Address, Set<T>>> iterator() {
+				return new EntryIterator(snapshot);
+			}
+
+			@Override
+			public int size() {
+				return snapshot.size;
+			}
+
+		};
+
+		@Override
+		public Set<Entry<Address, Set<T>>> entrySet() {
+			return entrySet;
+		}
+
+		@Override
+		public int size() {
+			return snapshot.size;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+
+		@Override
+		public Set<T> get(Object key) {
+			if (key instanceof Address) {
+				Outputs<T> outputs = find(snapshot, (Address) key);
+				if (outputs != null) {
+					return outputs.set;
+				}
+			}
+			return null;
+		}
+
+	}
+
+	private class EntryIterator implements Iterator<Map.Entry<Address, Set<T>>> {
+
+		private final Outputs<?>[][] slots;
+		private int slot = -1, index;
+
+		private EntryIterator(Snapshot snapshot) {
+			slots = snapshot.slots;
+			advance();
+		}
+
+		private void advance() {
+			if (slot >= 0 && ++index < slots[slot].length) {
+				return;
+			}
+			index = 0;
+			do {
+				slot++;
+			}
+			while (slot < slots.length && slots[slot] == null);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return slot < slots.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Map.Entry<Address, Set<T>> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Outputs<T> outputs = (Outputs<T>) slots[slot][index];
+			advance();
+			return new AbstractMap.SimpleImmutableEntry<>(outputs.address, outputs.set);
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A thread safe {@link AddressRegistry}. The registrations are stored in an
+ * immutable {@link IndexedAddressRegistry} which is replaced by a modified copy
+ * on every change (copy on write). Reading the registry does not block and
+ * takes constant time. Modifications are serialized, which is cheap as
+ * registrations are rarely changed compared to lookups.
+ * <p>
+ * Iterating the map returned by {@link #getRegistrations()} iterates a
+ * consistent snapshot of the registrations, which is not affected by
+ * concurrent modifications.
+ * 
+ * @author Jonas Tennié
+ */
+public class ConcurrentAddressRegistry implements AddressRegistry {
+
+	private volatile IndexedAddressRegistry registry = new IndexedAddressRegistry();
+	private final Map<Integer, Address> registrations = new RegistrationMap();
+
+	/**
+	 * Constructs a new {@link ConcurrentAddressRegistry} with no entries.
+	 */
+	public ConcurrentAddressRegistry() {}
+
+	@Override
+	public Map<Integer, Address> getRegistrations() {
+		return registrations;
+	}
+
+	@Override
+	public synchronized boolean defineAddress(int registrationId, Address address) {
+		ParameterValidator.validateRegistrationId(registrationId);
+		if (address == null ? registry.getAddress(registrationId) == null
+				: address.equals(registry.getAddress(registrationId))) {
+			return false; // Nothing to change, do not copy
+		}
+		IndexedAddressRegistry copy = new IndexedAddressRegistry(registry);
+		copy.defineAddress(registrationId, address);
+		registry = copy;
+		return true;
+	}
+
+	@Override
+	public Address getAddress(int registrationId) {
+		return registry.getAddress(registrationId);
+	}
+
+	@Override
+	public int getId(Address address) {
+		return registry.getId(address);
+	}
+
+	private class RegistrationMap extends AbstractMap<Integer, Address> {
+
+		private final Set<Entry<Integer, Address>> entrySet = new AbstractSet<Entry<Integer, Address>>() {
+
+			@Override
+			public Iterator<Entry<Integer, Address>> iterator() {
+				return registry.getRegistrations().entrySet().iterator();
+			}
+
+			@Override
+			public int size() {
+				return registry.getRegistrations().size();
+			}
+
+		};
+
+		@Override
+		public Set<Entry<Integer, Address>> entrySet() {
+			return entrySet;
+		}
+
+		@Override
+		public int size() {
+			return registry.getRegistrations().size();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return registry.getRegistrations().containsKey(key);
+		}
+
+		@Override
+		public Address get(Object key) {
+			return registry.getRegistrations().get(key);
+		}
+
+	}
+
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * A thread safe {@link OutputRegistry}. The entries are stored in a
+ * {@link ConcurrentHashMap}, so reads do not block and modifications of
+ * different addresses rarely block each other. The objects of an address are
+ * stored in a {@link CopyOnWriteArraySet}: Iterating the set returned for an
+ * address iterates a consistent snapshot which is not affected by concurrent
+ * modifications.
+ * <p>
+ * Like {@link AbstractOutputRegistry}, an address stays in the map returned by
+ * {@link #getEntries()} after its last object has been removed, until
+ * {@link #clearAddressRegistrations(Address)} is called.
+ * 
+ * @author Jonas Tennié
+ * @param <T>
+ *            The type of object handled by this registry.
+ */
+public class ConcurrentOutputRegistry<T extends Addressable> implements OutputRegistry<T> {
+
+	private final ConcurrentMap<Address, Set<T>> objectsByAddress = new ConcurrentHashMap<>();
+	private final Map<Address, Set<T>> unmodifiableObjectsByAddress = Collections
+			.unmodifiableMap(objectsByAddress);
+
+	/**
+	 * Constructs a new {@link ConcurrentOutputRegistry} with no entries.
+	 */
+	public ConcurrentOutputRegistry() {}
+
+	@Override
+	public Map<Address, Set<T>> getEntries() {
+		return unmodifiableObjectsByAddress;
+	}
+
+	@Override
+	public boolean register(T object) {
+		Objects.requireNonNull(object, "object");
+		Address address = object.getAddress();
+		while (true) {
+			Set<T> objects = objectsByAddress.get(address);
+			if (objects == null) {
+				Set<T> newObjects = new CopyOnWriteArraySet<>();
+				objects = objectsByAddress.putIfAbsent(address, newObjects);
+				if (objects == null) {
+					objects = newObjects;
+				}
+			}
+			boolean added = objects.add(object);
+			if (objectsByAddress.get(address) == objects) {
+				return added;
+			}
+			// Address registrations cleared concurrently, register again
+		}
+	}
+
+	@Override
+	public boolean remove(T object) {
+		Objects.requireNonNull(object, "object");
+		Set<T> objects = objectsByAddress.get(object.getAddress());
+		if (objects != null) {
+			return objects.remove(object);
+		}
+		return false;
+	}
+
+	@Override
+	public void clearAddressRegistrations(Address address) {
+		Objects.requireNonNull(address, "address");
+		objectsByAddress.remove(address);
+	}
+
+}
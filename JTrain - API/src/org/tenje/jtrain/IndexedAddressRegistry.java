@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An {@link AddressRegistry} which indexes its registrations in both
+ * directions: registration id to {@link Address} and
+ * {@link Address#getAddress() address value} to registration id. Both indexes
+ * are open-addressing hash tables with primitive <code>int</code> keys, so
+ * {@link #getAddress(int)} and {@link #getId(Address)} take constant time and
+ * do not box their keys.
+ * <p>
+ * If multiple registration ids are related to equal addresses,
+ * {@link #getId(Address)} returns the lowest of them. Addresses with equal
+ * address values which are not equal (e.g. an {@link OutputPinAddress} and an
+ * {@link AccessoryDecoderAddress}) are found by scanning all registrations.
+ * <p>
+ * The map returned by {@link #getRegistrations()} is a view on the id index,
+ * its keys are only boxed while iterating. This class is not thread safe.
+ * 
+ * @author Jonas Tennié
+ */
+public class IndexedAddressRegistry implements AddressRegistry {
+
+	private static final int NONE = -1;
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/*
+	 * The id index. Free slots have the key NONE, as registration ids are
+	 * never negative.
+	 */
+	private int[] ids;
+	private Address[] addresses;
+	private int size;
+	/*
+	 * The address value index. Maps an address value to the lowest id which
+	 * is related to an address with this value.
+	 */
+	private int[] values;
+	private int[] valueIds;
+	private int valueSize;
+	private final Map<Integer, Address> registrations = new RegistrationMap();
+
+	/**
+	 * Constructs a new {@link IndexedAddressRegistry} with no entries.
+	 */
+	public IndexedAddressRegistry() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new {@link IndexedAddressRegistry} with no entries, which
+	 * can hold <code>expectedSize</code> registrations without growing.
+	 * 
+	 * @param expectedSize
+	 *            The expected number of registrations.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>expectedSize</code> is negative.
+	 */
+	public IndexedAddressRegistry(int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException(
+					"expected size out of valid range: " + expectedSize);
+		}
+		int capacity = tableCapacity(expectedSize);
+		ids = newKeys(capacity);
+		addresses = new Address[capacity];
+		values = newKeys(capacity);
+		valueIds = new int[capacity];
+	}
+
+	/**
+	 * Constructs a new {@link IndexedAddressRegistry} with the same entries as
+	 * the specified registry.
+	 * 
+	 * @param registry
+	 *            The registry to copy.
+	 */
+	IndexedAddressRegistry(IndexedAddressRegistry registry) {
+		ids = registry.ids.clone();
+		addresses = registry.addresses.clone();
+		size = registry.size;
+		values = registry.values.clone();
+		valueIds = registry.valueIds.clone();
+		valueSize = registry.valueSize;
+	}
+
+	@Override
+	public Map<Integer, Address> getRegistrations() {
+		return registrations;
+	}
+
+	@Override
+	public boolean defineAddress(int registrationId, Address address) {
+		ParameterValidator.validateRegistrationId(registrationId);
+		int slot = indexOf(ids, registrationId);
+		if (address == null) {
+			if (slot == NONE) {
+				return false;
+			}
+			Address oldAddress = addresses[slot];
+			removeId(slot);
+			unindexValue(oldAddress.getAddress(), registrationId);
+			return true;
+		}
+		if (slot != NONE) {
+			Address oldAddress = addresses[slot];
+			if (address.equals(oldAddress)) {
+				return false;
+			}
+			addresses[slot] = address;
+			unindexValue(oldAddress.getAddress(), registrationId);
+		}
+		else {
+			if (size + 1 > ids.length >>> 1) {
+				rehashIds(ids.length << 1);
+			}
+			slot = freeSlot(ids, registrationId);
+			ids[slot] = registrationId;
+			addresses[slot] = address;
+			size++;
+		}
+		indexValue(address.getAddress(), registrationId);
+		return true;
+	}
+
+	@Override
+	public Address getAddress(int registrationId) {
+		ParameterValidator.validateRegistrationId(registrationId);
+		int slot = indexOf(ids, registrationId);
+		return slot == NONE ? null : addresses[slot];
+	}
+
+	@Override
+	public int getId(Address address) {
+		Objects.requireNonNull(address, "address");
+		int slot = indexOf(values, address.getAddress());
+		if (slot == NONE) {
+			return NONE;
+		}
+		int id = valueIds[slot];
+		if (address.equals(addresses[indexOf(ids, id)])) {
+			return id;
+		}
+		// Equal address value, but different address type
+		return findId(address);
+	}
+
+	private int findId(Address address) {
+		int id = NONE;
+		for (int slot = 0; slot < ids.length; slot++) {
+			if (ids[slot] != NONE && (id == NONE || ids[slot] < id)
+					&& address.equals(addresses[slot])) {
+				id = ids[slot];
+			}
+		}
+		return id;
+	}
+
+	private void indexValue(int value, int registrationId) {
+		int slot = indexOf(values, value);
+		if (slot == NONE) {
+			if (valueSize + 1 > values.length >>> 1) {
+				rehashValues(values.length << 1);
+			}
+			slot = freeSlot(values, value);
+			values[slot] = value;
+			valueIds[slot] = registrationId;
+			valueSize++;
+		}
+		else if (registrationId < valueIds[slot]) {
+			valueIds[slot] = registrationId;
+		}
+	}
+
+	private void unindexValue(int value, int registrationId) {
+		int slot = indexOf(values, value);
+		if (slot == NONE || valueIds[slot] != registrationId) {
+			return; // Indexed by a lower id which is still registered
+		}
+		// Find the next lowest id related to an address with this value
+		int id = NONE;
+		for (int i = 0; i < ids.length; i++) {
+			if (ids[i] != NONE && ids[i] != registrationId
+					&& (id == NONE || ids[i] < id)
+					&& addresses[i].getAddress() == value) {
+				id = ids[i];
+			}
+		}
+		if (id != NONE) {
+			valueIds[slot] = id;
+		}
+		else {
+			removeValue(slot);
+		}
+	}
+
+	private void removeId(int slot) {
+		int mask = ids.length - 1;
+		int next = slot;
+		// Backward shift deletion, keeps probe sequences without tombstones
+		while (ids[next = (next + 1) & mask] != NONE) {
+			int home = hash(ids[next]) & mask;
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				ids[slot] = ids[next];
+				addresses[slot] = addresses[next];
+				slot = next;
+			}
+		}
+		ids[slot] = NONE;
+		addresses[slot] = null;
+		size--;
+	}
+
+	private void removeValue(int slot) {
+		int mask = values.length - 1;
+		int next = slot;
+		while (values[next = (next + 1) & mask] != NONE) {
+			int home = hash(values[next]) & mask;
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				values[slot] = values[next];
+				valueIds[slot] = valueIds[next];
+				slot = next;
+			}
+		}
+		values[slot] = NONE;
+		valueSize--;
+	}
+
+	private void rehashIds(int capacity) {
+		int[] oldIds = ids;
+		Address[] oldAddresses = addresses;
+		ids = newKeys(capacity);
+		addresses = new Address[capacity];
+		for (int i = 0; i < oldIds.length; i++) {
+			if (oldIds[i] != NONE) {
+				int slot = freeSlot(ids, oldIds[i]);
+				ids[slot] = oldIds[i];
+				addresses[slot] = oldAddresses[i];
+			}
+		}
+	}
+
+	private void rehashValues(int capacity) {
+		int[] oldValues = values;
+		int[] oldValueIds = valueIds;
+		values = newKeys(capacity);
+		valueIds = new int[capacity];
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != NONE) {
+				int slot = freeSlot(values, oldValues[i]);
+				values[slot] = oldValues[i];
+				valueIds[slot] = oldValueIds[i];
+			}
+		}
+	}
+
+	private static int indexOf(int[] keys, int key) {
+		if (key == NONE) {
+			return NONE;
+		}
+		int mask = keys.length - 1;
+		for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return slot;
+			}
+			if (keys[slot] == NONE) {
+				return NONE;
+			}
+		}
+	}
+
+	private static int freeSlot(int[] keys, int key) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (keys[slot] != NONE) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int hash(int key) {
+		int hash = key * 0x9E3779B9; // Fibonacci hashing
+		return hash ^ (hash >>> 16);
+	}
+
+	private static int tableCapacity(int expectedSize) {
+		int capacity = DEFAULT_CAPACITY;
+		while (capacity >>> 1 < expectedSize) { // Load factor 0.5
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private static int[] newKeys(int capacity) {
+		int[] keys = new int[capacity];
+		Arrays.fill(keys, NONE);
+		return keys;
+	}
+
+	private class RegistrationMap extends AbstractMap<Integer, Address> {
+
+		private final Set<Entry<Integer, Address>> entrySet = new AbstractSet<Entry<Integer, Address>>() {
+
+			@Override
+			public Iterator<Entry<Integer, Address>> iterator() {
+				return new RegistrationIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+		};
+
+		@Override
+		public Set<Entry<Integer, Address>> entrySet() {
+			return entrySet;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+
+		@Override
+		public Address get(Object key) {
+			if (key instanceof Integer) {
+				int slot = indexOf(ids, (Integer) key);
+				if (slot != NONE) {
+					return addresses[slot];
+				}
+			}
+			return null;
+		}
+
+	}
+
+	private class RegistrationIterator implements Iterator<Map.Entry<Integer, Address>> {
+
+		private int slot = advance(0);
+
+		private int advance(int slot) {
+			while (slot < ids.length && ids[slot] == NONE) {
+				slot++;
+			}
+			return slot;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return slot < ids.length;
+		}
+
+		@Override
+		public Map.Entry<Integer, Address> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Map.Entry<Integer, Address> entry = new AbstractMap.SimpleImmutableEntry<>(
+					ids[slot], addresses[slot]);
+			slot = advance(slot + 1);
+			return entry;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.Objects;
+
+/**
+ * The momentum of a train motor driven by a {@link MomentumEngine}. The
+ * current speed follows the target speed with the acceleration (speeding up)
+ * and deceleration (slowing down) of the momentum. The registered
+ * {@link MomentumListener} is notified about every change of the current
+ * speed.
+ * <p>
+ * Momentums are created by {@link MomentumEngine#register(MomentumListener,
+ * double, double)}. This class is thread safe.
+ * 
+ * @author Jonas Tennié
+ */
+public class Momentum {
+
+	private final MomentumEngine engine;
+	private final MomentumListener listener;
+	private double acceleration, deceleration;
+	private double currentSpeed;
+	private int targetSpeed;
+	// Guarded by the engine, true while registered for ticks
+	boolean active;
+
+	Momentum(MomentumEngine engine, MomentumListener listener, double acceleration,
+			double deceleration) {
+		this.engine = engine;
+		this.listener = listener;
+		this.acceleration = validateRate(acceleration, "acceleration");
+		this.deceleration = validateRate(deceleration, "deceleration");
+	}
+
+	private static double validateRate(double rate, String name) {
+		if (!(rate > 0)) { // Also NaN
+			throw new IllegalArgumentException(name + " value out of valid range: " + rate);
+		}
+		return rate;
+	}
+
+	/**
+	 * Sets the target speed. If <code>hard</code> is <code>true</code>, the
+	 * current speed is set directly, otherwise the current speed follows the
+	 * target speed with the acceleration or deceleration of this momentum.
+	 * 
+	 * @param speed
+	 *            The target speed in range (0-126).
+	 * @param hard
+	 *            <code>true</code> to set the current speed directly.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>speed</code> does not lay in range (0-126).
+	 */
+	public void setSpeed(int speed, boolean hard) {
+		if (speed < 0 || speed > 126) {
+			throw new IllegalArgumentException("speed out of valid range: " + speed);
+		}
+		engine.setSpeed(this, speed, hard);
+	}
+
+	/**
+	 * Sets the target and current speed directly to zero (like
+	 * <code>setSpeed(0, true)</code>) and runs the specified action before the
+	 * speed can change again, neither by a tick of the engine nor by an other
+	 * thread. This allows to reconfigure the stopped motor (e.g. to change its
+	 * direction) without being powered meanwhile. The action must return
+	 * quickly: The engine does not tick any momentum while it runs.
+	 * 
+	 * @param action
+	 *            The action to run after stopping.
+	 * @throws NullPointerException
+	 *             Thrown if <code>action</code> is <code>null</code>.
+	 */
+	public void stop(Runnable action) {
+		engine.stop(this, Objects.requireNonNull(action, "action"));
+	}
+
+	/**
+	 * Returns the current speed, which may lay between two speed steps while
+	 * speeding up or slowing down.
+	 * 
+	 * @return The current speed in range (0-126).
+	 */
+	public double getCurrentSpeed() {
+		synchronized (engine) {
+			return currentSpeed;
+		}
+	}
+
+	/**
+	 * Returns the target speed.
+	 * 
+	 * @return The target speed in range (0-126).
+	 */
+	public int getTargetSpeed() {
+		synchronized (engine) {
+			return targetSpeed;
+		}
+	}
+
+	/**
+	 * Returns the acceleration.
+	 * 
+	 * @return The acceleration in <code>speed steps/second</code>.
+	 */
+	public double getAcceleration() {
+		synchronized (engine) {
+			return acceleration;
+		}
+	}
+
+	/**
+	 * Sets the acceleration which is used while speeding up.
+	 * 
+	 * @param acceleration
+	 *            The acceleration in <code>speed steps/second</code>. A value
+	 *            of <code>126</code> means that the train speeds up from zero
+	 *            to 126 in one second.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>acceleration</code> is not greater than zero.
+	 */
+	public void setAcceleration(double acceleration) {
+		validateRate(acceleration, "acceleration");
+		synchronized (engine) {
+			this.acceleration = acceleration;
+		}
+	}
+
+	/**
+	 * Returns the deceleration.
+	 * 
+	 * @return The deceleration in <code>speed steps/second</code>.
+	 */
+	public double getDeceleration() {
+		synchronized (engine) {
+			return deceleration;
+		}
+	}
+
+	/**
+	 * Sets the deceleration which is used while slowing down.
+	 * 
+	 * @param deceleration
+	 *            The deceleration in <code>speed steps/second</code>.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>deceleration</code> is not greater than zero.
+	 */
+	public void setDeceleration(double deceleration) {
+		validateRate(deceleration, "deceleration");
+		synchronized (engine) {
+			this.deceleration = deceleration;
+		}
+	}
+
+	/**
+	 * Returns the engine which drives this momentum.
+	 * 
+	 * @return The engine.
+	 */
+	public MomentumEngine getEngine() {
+		return engine;
+	}
+
+	/*
+	 * Called by the engine while locked.
+	 */
+	void setTarget(int speed, boolean hard) {
+		targetSpeed = speed;
+		if (hard && currentSpeed != speed) {
+			currentSpeed = speed;
+			listener.speedChanged(this);
+		}
+	}
+
+	/*
+	 * Moves the current speed towards the target speed. Called by the engine
+	 * while locked. Returns true if the target speed has been reached.
+	 */
+	boolean step(double seconds) {
+		if (currentSpeed < targetSpeed) {
+			currentSpeed = Math.min(currentSpeed + acceleration * seconds, targetSpeed);
+		}
+		else if (currentSpeed > targetSpeed) {
+			currentSpeed = Math.max(currentSpeed - deceleration * seconds, targetSpeed);
+		}
+		else {
+			return true;
+		}
+		listener.speedChanged(this);
+		return currentSpeed == targetSpeed;
+	}
+
+	/*
+	 * Called by the engine while locked.
+	 */
+	boolean isAtTarget() {
+		return currentSpeed == targetSpeed;
+	}
+
+}
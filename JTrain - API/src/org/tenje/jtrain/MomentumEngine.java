@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.tenje.jtrain.TimingWheel.Timeout;
+
+/**
+ * Drives the {@link Momentum}s of any number of train motors. While the
+ * current speed of at least one momentum differs from its target speed, the
+ * engine ticks on a {@link TimingWheel} (no own thread) and moves the current
+ * speeds of these momentums towards their target speeds by the time elapsed
+ * since the last tick. Momentums which reached their target speed are not
+ * ticked, the engine does not tick at all if all momentums reached their
+ * target speeds.
+ * <p>
+ * The momentums are guarded by the engine's monitor: Changing a speed while
+ * the engine ticks waits until the tick has been finished, so a hard speed
+ * change (e.g. an emergency stop) is never overwritten by a tick.
+ * 
+ * @author Jonas Tennié
+ */
+public class MomentumEngine implements AutoCloseable {
+
+	/**
+	 * The default time between two ticks in milliseconds.
+	 */
+	public static final long DEFAULT_TICK_TIME = 20;
+
+	private static MomentumEngine defaultEngine;
+
+	private final long tickTime;
+	private final TimingWheel wheel;
+	private final List<Momentum> active = new ArrayList<>();
+	private Runnable tickTask;
+	private Timeout tickTimeout;
+	private long lastTickTime;
+	private boolean closed;
+
+	/**
+	 * Constructs a new {@link MomentumEngine} with the
+	 * {@link #DEFAULT_TICK_TIME default tick time}.
+	 */
+	public MomentumEngine() {
+		this(DEFAULT_TICK_TIME);
+	}
+
+	/**
+	 * Constructs a new {@link MomentumEngine} with the specified tick time
+	 * which ticks on the {@link TimingWheel#getDefault() shared timing wheel}.
+	 * 
+	 * @param tickTime
+	 *            The time between two ticks in milliseconds.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>tickTime</code> is less than one.
+	 */
+	public MomentumEngine(long tickTime) {
+		this(tickTime, TimingWheel.getDefault());
+	}
+
+	/**
+	 * Constructs a new {@link MomentumEngine} with the specified tick time
+	 * which ticks on the specified timing wheel.
+	 * 
+	 * @param tickTime
+	 *            The time between two ticks in milliseconds.
+	 * @param wheel
+	 *            The timing wheel to schedule the ticks.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>tickTime</code> is less than one.
+	 * @throws NullPointerException
+	 *             Thrown if <code>wheel</code> is <code>null</code>.
+	 */
+	public MomentumEngine(long tickTime, TimingWheel wheel) {
+		if (tickTime < 1) {
+			throw new IllegalArgumentException("tick time out of valid range: " + tickTime);
+		}
+		this.tickTime = tickTime;
+		this.wheel = Objects.requireNonNull(wheel, "wheel");
+	}
+
+	/**
+	 * Returns the shared {@link MomentumEngine} with the
+	 * {@link #DEFAULT_TICK_TIME default tick time}. The engine is created on
+	 * the first call.
+	 * 
+	 * @return The shared engine.
+	 */
+	public static synchronized MomentumEngine getDefault() {
+		if (defaultEngine == null) {
+			defaultEngine = new MomentumEngine();
+		}
+		return defaultEngine;
+	}
+
+	/**
+	 * Returns the time between two ticks.
+	 * 
+	 * @return The tick time in milliseconds.
+	 */
+	public long getTickTime() {
+		return tickTime;
+	}
+
+	/**
+	 * Creates a new {@link Momentum} which is driven by this engine. The
+	 * current and target speed of the momentum are zero.
+	 * 
+	 * @param listener
+	 *            The listener which is notified about speed changes.
+	 * @param acceleration
+	 *            The acceleration in <code>speed steps/second</code>.
+	 * @param deceleration
+	 *            The deceleration in <code>speed steps/second</code>.
+	 * @return The created momentum.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>acceleration</code> or
+	 *             <code>deceleration</code> is not greater than zero.
+	 * @throws NullPointerException
+	 *             Thrown if <code>listener</code> is <code>null</code>.
+	 */
+	public Momentum register(MomentumListener listener, double acceleration,
+			double deceleration) {
+		return new Momentum(this, Objects.requireNonNull(listener, "listener"),
+				acceleration, deceleration);
+	}
+
+	synchronized void setSpeed(Momentum momentum, int speed, boolean hard) {
+		// A closed engine does not tick, all changes are hard
+		momentum.setTarget(speed, hard || closed);
+		if (momentum.isAtTarget()) {
+			if (momentum.active) {
+				momentum.active = false;
+				active.remove(momentum);
+			}
+		}
+		else if (!momentum.active) {
+			momentum.active = true;
+			active.add(momentum);
+			if (tickTask == null) {
+				start();
+			}
+		}
+	}
+
+	synchronized void stop(Momentum momentum, Runnable action) {
+		setSpeed(momentum, 0, true);
+		action.run();
+	}
+
+	private void start() {
+		tickTask = new Runnable() {
+			@Override
+			public void run() {
+				tick(this);
+			}
+		};
+		lastTickTime = System.nanoTime();
+		tickTimeout = wheel.schedule(tickTask, tickTime);
+	}
+
+	private synchronized void tick(Runnable task) {
+		if (task != tickTask) {
+			return; // Cancelled while waiting for the lock
+		}
+		long now = System.nanoTime();
+		double seconds = (now - lastTickTime) / 1E9;
+		lastTickTime = now;
+		for (int i = active.size() - 1; i >= 0; i--) {
+			Momentum momentum = active.get(i);
+			if (momentum.step(seconds)) {
+				momentum.active = false;
+				active.remove(i);
+			}
+		}
+		if (active.isEmpty()) {
+			tickTask = null;
+			tickTimeout = null;
+		}
+		else {
+			tickTimeout = wheel.schedule(task, tickTime);
+		}
+	}
+
+	/**
+	 * Stops the engine. The current speeds of all momentums are kept, later
+	 * speed changes are applied directly (hard). The timing wheel is not
+	 * closed.
+	 */
+	@Override
+	public synchronized void close() {
+		closed = true;
+		if (tickTimeout != null) {
+			tickTimeout.cancel();
+		}
+		tickTask = null;
+		tickTimeout = null;
+		for (Momentum momentum : active) {
+			momentum.active = false;
+		}
+		active.clear();
+	}
+
+}
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+/**
+ * Listens to speed changes of a {@link Momentum}.
+ * 
+ * @author Jonas Tennié
+ */
+public interface MomentumListener {
+
+	/**
+	 * Called after the current speed of a {@link Momentum} changed. The method
+	 * is called while the {@link MomentumEngine} is locked and should return
+	 * quickly (e.g. update the motor output) without blocking.
+	 * 
+	 * @param momentum
+	 *            The momentum which changed its current speed.
+	 */
+	void speedChanged(Momentum momentum);
+
+}
@@ -1,46 +1,46 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain;
-
-/**
- * The aspect of a {@link Signal}.
- * 
- * @author Jonas Tenni
- */
-public enum SignalAspect {
-
-	/**
-	 * Passing permitted.
-	 */
-	GREEN,
-
-	/**
-	 * Stop.
-	 */
-	RED,
-
-	/**
-	 * Reduce velocity; expect next signal to be red.
-	 */
-	YELLOW,
-
-	/**
-	 * Reduce velocity; thrown switches in the route. {@link #YELLOW} is shown
-	 * if the {@link Signal} does not support 4 aspects.
-	 */
-	WHITE;
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+/**
+ * The aspect of a {@link Signal}.
+ * 
+ * @author Jonas Tennié
+ */
+public enum SignalAspect {
+
+	/**
+	 * Passing permitted.
+	 */
+	GREEN,
+
+	/**
+	 * Stop.
+	 */
+	RED,
+
+	/**
+	 * Reduce velocity; expect next signal to be red.
+	 */
+	YELLOW,
+
+	/**
+	 * Reduce velocity; thrown switches in the route. {@link #YELLOW} is shown
+	 * if the {@link Signal} does not support 4 aspects.
+	 */
+	WHITE;
+
+}
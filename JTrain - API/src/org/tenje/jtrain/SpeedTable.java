@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.Arrays;
+
+/**
+ * A speed table which maps the 126 speed steps of a train to motor output
+ * values. Like the speed table of a DCC decoder (CV67-CV94), the table
+ * consists of 28 values in range (0-255). The first value is the output for
+ * the lowest speed, the last value is the output for full speed. Speed steps
+ * between the table entries are interpolated linearly.
+ * 
+ * @author Jonas Tennié
+ */
+public class SpeedTable {
+
+	/**
+	 * The number of table entries (CV67-CV94).
+	 */
+	public static final int SIZE = 28;
+	/**
+	 * The maximum table value, full motor output.
+	 */
+	public static final int MAX_VALUE = 255;
+	/**
+	 * A linear speed table from zero to full motor output.
+	 */
+	public static final SpeedTable LINEAR = linear(0, MAX_VALUE);
+
+	private final int[] values;
+
+	/**
+	 * Constructs a new {@link SpeedTable} with the specified values.
+	 * 
+	 * @param values
+	 *            The {@value #SIZE} table values in range (0-255), the first
+	 *            value for the lowest speed (CV67), the last value for full
+	 *            speed (CV94).
+	 * @throws IllegalArgumentException
+	 *             Thrown if the number of values is not {@value #SIZE} or if a
+	 *             value does not lay in range (0-255).
+	 * @throws NullPointerException
+	 *             Thrown if <code>values</code> is <code>null</code>.
+	 */
+	public SpeedTable(int... values) {
+		if (values.length != SIZE) {
+			throw new IllegalArgumentException(
+					"number of values out of valid range: " + values.length);
+		}
+		for (int value : values) {
+			if (value < 0 || value > MAX_VALUE) {
+				throw new IllegalArgumentException("value out of valid range: " + value);
+			}
+		}
+		this.values = values.clone();
+	}
+
+	/**
+	 * Creates a linear {@link SpeedTable} between the specified start and
+	 * maximum values (like CV2 and CV5 of a DCC decoder).
+	 * 
+	 * @param startValue
+	 *            The output for the lowest speed in range (0-255).
+	 * @param maxValue
+	 *            The output for full speed in range (0-255).
+	 * @return The created speed table.
+	 * @throws IllegalArgumentException
+	 *             Thrown if a value does not lay in range (0-255).
+	 */
+	public static SpeedTable linear(int startValue, int maxValue) {
+		return curve(startValue, (startValue + maxValue) / 2, maxValue);
+	}
+
+	/**
+	 * Creates a {@link SpeedTable} with two linear sections between the
+	 * specified start, middle and maximum values (like CV2, CV6 and CV5 of a
+	 * DCC decoder). The middle value is the output for the 14th table entry.
+	 * 
+	 * @param startValue
+	 *            The output for the lowest speed in range (0-255).
+	 * @param midValue
+	 *            The output for the middle speed in range (0-255).
+	 * @param maxValue
+	 *            The output for full speed in range (0-255).
+	 * @return The created speed table.
+	 * @throws IllegalArgumentException
+	 *             Thrown if a value does not lay in range (0-255).
+	 */
+	public static SpeedTable curve(int startValue, int midValue, int maxValue) {
+		int mid = SIZE / 2 - 1;
+		int[] values = new int[SIZE];
+		for (int i = 0; i <= mid; i++) {
+			values[i] = startValue + Math.round((midValue - startValue) * (float) i / mid);
+		}
+		for (int i = mid + 1; i < SIZE; i++) {
+			values[i] = midValue + Math.round(
+					(maxValue - midValue) * (float) (i - mid) / (SIZE - 1 - mid));
+		}
+		return new SpeedTable(values);
+	}
+
+	/**
+	 * Returns the table value at the specified index.
+	 * 
+	 * @param index
+	 *            The index in range (0-27), index 0 is CV67.
+	 * @return The table value.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>index</code> does not lay in range (0-27).
+	 */
+	public int getValue(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Returns the motor output for the specified speed. The output is
+	 * interpolated between the table values, speed step 1 is mapped to the
+	 * first table value, speed step 126 to the last one.
+	 * 
+	 * @param speed
+	 *            The speed in range (0-126), may be between two speed steps
+	 *            (e.g. while accelerating).
+	 * @return The motor output in range (0-255). <code>0</code> if
+	 *         <code>speed</code> is zero or less.
+	 */
+	public double getOutput(double speed) {
+		if (speed <= 0) {
+			return 0;
+		}
+		double position = (Math.min(speed, 126) - 1) * (SIZE - 1) / 125;
+		if (position <= 0) {
+			return values[0];
+		}
+		int index = (int) position;
+		if (index >= SIZE - 1) {
+			return values[SIZE - 1];
+		}
+		return values[index] + (values[index + 1] - values[index]) * (position - index);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(values);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof SpeedTable)) {
+			return false;
+		}
+		return Arrays.equals(values, ((SpeedTable) obj).values);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + Arrays.toString(values);
+	}
+
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.Objects;
+
+/**
+ * A {@link Turnout} which controls a {@link Switchable} (e.g. a
+ * {@link SwitchableScheduler}), so the switchable can be switched by an
+ * accessory decoder address. The switch state of this turnout is the switch
+ * state of the switchable.
+ * 
+ * @author Jonas Tennié
+ */
+public class SwitchableControlTurnout extends AbstractSwitchable implements Turnout {
+
+	private final AccessoryDecoderAddress address;
+	private final Switchable switchable;
+
+	/**
+	 * Constructs a new {@link SwitchableControlTurnout} with the specified
+	 * address for the specified switchable.
+	 * 
+	 * @param address
+	 *            The address.
+	 * @param switchable
+	 *            The switchable to control.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> or <code>switchable</code> is
+	 *             <code>null</code>.
+	 */
+	public SwitchableControlTurnout(AccessoryDecoderAddress address, Switchable switchable) {
+		this.address = Objects.requireNonNull(address, "address");
+		this.switchable = Objects.requireNonNull(switchable, "switchable");
+	}
+
+	@Override
+	public AccessoryDecoderAddress getAddress() {
+		return address;
+	}
+
+	@Override
+	public void setSwitched(boolean switched) {
+		switchable.setSwitched(switched);
+	}
+
+	@Override
+	public boolean isSwitched() {
+		return switchable.isSwitched();
+	}
+
+}
@@ -1,203 +1,224 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-
-/**
- * A builder to build a {@link SwitchableScheduler}.
- * 
- * @author Jonas Tenni
- */
-public class SwitchableSchedulerBuilder {
-
-	// ArrayList as #clone() is required
-	private final ArrayList<Runnable> scheduler = new ArrayList<>();
-
-	/**
-	 * Causes the scheduler to sleep for <code>millis</code> milliseconds.
-	 * 
-	 * @param millis
-	 *            The length of time to sleep in milliseconds.
-	 * @return This builder.
-	 * @throws IllegalArgumentException
-	 *             Thrown if <code>millis</code> is smaller than zero.
-	 */
-	public SwitchableSchedulerBuilder sleep(long millis) {
-		if (millis < 0) {
-			throw new IllegalArgumentException("millis cannot be smaller than zero");
-		}
-		if (millis > 0) {
-			if (scheduler.size() != 0
-					&& scheduler.get(scheduler.size() - 1) instanceof SleepRunnable) {
-				SleepRunnable runnable = (SleepRunnable) scheduler
-						.get(scheduler.size() - 1);
-				runnable.millis += millis;
-			}
-			else {
-				SleepRunnable runnable = new SleepRunnable();
-				runnable.millis = millis;
-				scheduler.add(runnable);
-			}
-		}
-		return this;
-	}
-
-	/**
-	 * Adds a switch state change to be executed by the scheduler.
-	 * 
-	 * @param switchable
-	 *            The switchable.
-	 * @param state
-	 *            The state to set to the <code>switchable</code>
-	 * @return This builder.
-	 */
-	public SwitchableSchedulerBuilder setState(Switchable switchable, boolean state) {
-		Objects.requireNonNull(switchable, "switchable");
-		SwitchRunnable runnable = new SwitchRunnable();
-		runnable.switchable = switchable;
-		runnable.state = state;
-		scheduler.add(runnable);
-		return this;
-	}
-
-	/**
-	 * Builds the {@link SwitchableScheduler}. Equivalent to the call of
-	 * {@link #build(boolean)} with argument <code>false</code>.
-	 * 
-	 * @return The newly built scheduler.
-	 */
-	public SwitchableScheduler build() {
-		return build(false);
-	}
-
-	/**
-	 * Builds the {@link SwitchableScheduler}. The built scheduler is no longer
-	 * related to this builder.
-	 * 
-	 * @param loop
-	 *            <code>true</code> for a looped scheduler, <code>false</code>
-	 *            for a single execution scheduler.
-	 * @return The newly built scheduler.
-	 */
-	@SuppressWarnings("unchecked")
-	public SwitchableScheduler build(boolean loop) {
-		return new Scheduler((List<Runnable>) scheduler.clone(), loop);
-	}
-
-	private static class SleepRunnable implements Runnable {
-
-		long millis;
-
-		@Override
-		public void run() {
-			try {
-				Thread.sleep(millis);
-			}
-			catch (InterruptedException e) {}
-		}
-
-	}
-
-	private static class SwitchRunnable implements Runnable {
-
-		Switchable switchable;
-		boolean state;
-
-		@Override
-		public void run() {
-			switchable.setSwitched(state);
-		}
-
-	}
-
-	private static class Scheduler extends AbstractSwitchable
-			implements SwitchableScheduler {
-
-		private final List<Runnable> scheduler;
-		private boolean loop;
-		private Thread thread;
-
-		Scheduler(List<Runnable> scheduler, boolean loop) {
-			this.scheduler = scheduler;
-			this.loop = loop;
-		}
-
-		private synchronized void start() {
-			thread = new Thread() {
-				@Override
-				public void run() {
-					for (int i = 0; i < scheduler.size(); i++) {
-						scheduler.get(i).run();
-					}
-					if (loop && !isInterrupted()) {
-						run();
-					}
-				}
-			};
-			thread.setDaemon(true);
-			thread.start();
-		}
-
-		private synchronized void stop() {
-			thread.interrupt();
-			try {
-				thread.join();
-			}
-			catch (InterruptedException ex) {}
-			thread = null;
-		}
-
-		@Override
-		public void setSwitched(boolean switched) {
-			if (switched != isSwitched()) {
-				if (switched) {
-					start();
-				}
-				else {
-					stop();
-				}
-			}
-		}
-
-		@Override
-		public void restart() {
-			if (isSwitched()) {
-				stop();
-			}
-			start();
-		}
-
-		@Override
-		public boolean isSwitched() {
-			return thread != null;
-		}
-
-		@Override
-		public boolean isLoop() {
-			return loop;
-		}
-
-		@Override
-		public void setLoop(boolean loop) {
-			this.loop = loop;
-		}
-
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.tenje.jtrain.SwitchableSchedulerEngine.Run;
+import org.tenje.jtrain.SwitchableSchedulerEngine.Timeline;
+
+/**
+ * A builder to build a {@link SwitchableScheduler}. The built schedulers are
+ * run by a {@link SwitchableSchedulerEngine}, not by a thread per scheduler.
+ * 
+ * @author Jonas Tennié
+ */
+public class SwitchableSchedulerBuilder {
+
+	private final List<Switchable> switchables = new ArrayList<>();
+	private final List<Boolean> states = new ArrayList<>();
+	private final List<Long> times = new ArrayList<>();
+	// Time of the next state change in ms
+	private long time;
+
+	/**
+	 * Causes the scheduler to sleep for <code>millis</code> milliseconds.
+	 * 
+	 * @param millis
+	 *            The length of time to sleep in milliseconds.
+	 * @return This builder.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>millis</code> is smaller than zero.
+	 */
+	public SwitchableSchedulerBuilder sleep(long millis) {
+		if (millis < 0) {
+			throw new IllegalArgumentException("millis cannot be smaller than zero");
+		}
+		time += millis;
+		return this;
+	}
+
+	/**
+	 * Adds a switch state change to be executed by the scheduler.
+	 * 
+	 * @param switchable
+	 *            The switchable.
+	 * @param state
+	 *            The state to set to the <code>switchable</code>
+	 * @return This builder.
+	 */
+	public SwitchableSchedulerBuilder setState(Switchable switchable, boolean state) {
+		Objects.requireNonNull(switchable, "switchable");
+		switchables.add(switchable);
+		states.add(state);
+		times.add(time);
+		return this;
+	}
+
+	/**
+	 * Builds the {@link SwitchableScheduler}. Equivalent to the call of
+	 * {@link #build(boolean)} with argument <code>false</code>.
+	 * 
+	 * @return The newly built scheduler.
+	 */
+	public SwitchableScheduler build() {
+		return build(false);
+	}
+
+	/**
+	 * Builds the {@link SwitchableScheduler}, which is run by the
+	 * {@link SwitchableSchedulerEngine#getDefault() shared engine}. The built
+	 * scheduler is no longer related to this builder.
+	 * 
+	 * @param loop
+	 *            <code>true</code> for a looped scheduler, <code>false</code>
+	 *            for a single execution scheduler.
+	 * @return The newly built scheduler.
+	 */
+	public SwitchableScheduler build(boolean loop) {
+		return build(loop, SwitchableSchedulerEngine.getDefault());
+	}
+
+	/**
+	 * Builds the {@link SwitchableScheduler}, which is run by the specified
+	 * engine. The built scheduler is no longer related to this builder. A
+	 * looped scheduler without sleeps runs only once.
+	 * 
+	 * @param loop
+	 *            <code>true</code> for a looped scheduler, <code>false</code>
+	 *            for a single execution scheduler.
+	 * @param engine
+	 *            The engine to run the scheduler.
+	 * @return The newly built scheduler.
+	 * @throws NullPointerException
+	 *             Thrown if <code>engine</code> is <code>null</code>.
+	 */
+	public SwitchableScheduler build(boolean loop, SwitchableSchedulerEngine engine) {
+		Objects.requireNonNull(engine, "engine");
+		int size = switchables.size();
+		boolean[] states = new boolean[size];
+		long[] times = new long[size];
+		for (int i = 0; i < size; i++) {
+			states[i] = this.states.get(i);
+			times[i] = TimeUnit.MILLISECONDS.toNanos(this.times.get(i));
+		}
+		return new Scheduler(engine, new Timeline(switchables.toArray(new Switchable[size]),
+				states, times, TimeUnit.MILLISECONDS.toNanos(time)), loop);
+	}
+
+	private static class Scheduler extends AbstractSwitchable
+			implements SwitchableScheduler {
+
+		private final SwitchableSchedulerEngine engine;
+		private final Timeline timeline;
+		// Guarded by engine
+		private boolean loop;
+		private SchedulerRun run;
+
+		Scheduler(SwitchableSchedulerEngine engine, Timeline timeline, boolean loop) {
+			this.engine = engine;
+			this.timeline = timeline;
+			this.loop = loop;
+		}
+
+		private void start() {
+			SchedulerRun run = new SchedulerRun(System.nanoTime());
+			this.run = run;
+			try {
+				engine.start(run);
+			}
+			catch (IllegalStateException ex) { // Engine closed
+				this.run = null;
+				throw ex;
+			}
+		}
+
+		private void stop() {
+			engine.stop(run);
+			run = null;
+		}
+
+		@Override
+		public void setSwitched(boolean switched) {
+			synchronized (engine) {
+				if (switched != isSwitched()) {
+					if (switched) {
+						start();
+					}
+					else {
+						stop();
+					}
+				}
+			}
+		}
+
+		@Override
+		public void restart() {
+			synchronized (engine) {
+				if (isSwitched()) {
+					stop();
+				}
+				start();
+			}
+		}
+
+		@Override
+		public boolean isSwitched() {
+			synchronized (engine) {
+				return run != null;
+			}
+		}
+
+		@Override
+		public boolean isLoop() {
+			synchronized (engine) {
+				return loop;
+			}
+		}
+
+		@Override
+		public void setLoop(boolean loop) {
+			synchronized (engine) {
+				this.loop = loop;
+			}
+		}
+
+		private class SchedulerRun extends Run {
+
+			SchedulerRun(long start) {
+				super(timeline, start);
+			}
+
+			@Override
+			boolean isLoop() {
+				return loop;
+			}
+
+			@Override
+			void finished() {
+				if (run == this) {
+					run = null;
+				}
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.tenje.jtrain.TimingWheel.Timeout;
+
+/**
+ * Runs the {@link SwitchableScheduler}s built by a
+ * {@link SwitchableSchedulerBuilder} on a {@link TimingWheel}, without a
+ * thread per scheduler. The schedulers are compiled into timelines, each state
+ * change has a fixed time offset from the start of the timeline. The engine
+ * keeps the running schedulers ordered by the deadline of their next state
+ * change and has one timeout at the earliest deadline. Its task executes all
+ * state changes which are due, so all schedulers share one thread at a time.
+ * The deadlines are absolute, so the timing does not drift, neither by the
+ * time the state changes take nor by looping. A state change is executed up
+ * to one tick of the wheel late.
+ * <p>
+ * The state changes are executed while holding the engine's monitor: Stopping
+ * a scheduler waits until a running state change has been finished, no state
+ * change of the scheduler is executed afterwards.
+ * 
+ * @author Jonas Tennié
+ */
+public class SwitchableSchedulerEngine implements AutoCloseable {
+
+	private static SwitchableSchedulerEngine defaultEngine;
+
+	private final TimingWheel wheel;
+	private final PriorityQueue<Run> queue = new PriorityQueue<>();
+	private Runnable tickTask;
+	private Timeout tickTimeout;
+	private long tickDeadline;
+	private boolean closed;
+
+	/**
+	 * Constructs a new {@link SwitchableSchedulerEngine} which runs the
+	 * schedulers on the {@link TimingWheel#getDefault() shared timing wheel}.
+	 */
+	public SwitchableSchedulerEngine() {
+		this(TimingWheel.getDefault());
+	}
+
+	/**
+	 * Constructs a new {@link SwitchableSchedulerEngine} which runs the
+	 * schedulers on the specified timing wheel.
+	 * 
+	 * @param wheel
+	 *            The timing wheel to schedule the state changes.
+	 * @throws NullPointerException
+	 *             Thrown if <code>wheel</code> is <code>null</code>.
+	 */
+	public SwitchableSchedulerEngine(TimingWheel wheel) {
+		this.wheel = Objects.requireNonNull(wheel, "wheel");
+	}
+
+	/**
+	 * Returns the shared {@link SwitchableSchedulerEngine}, which runs on the
+	 * shared timing wheel. The engine is created on the first call.
+	 * 
+	 * @return The shared engine.
+	 */
+	public static synchronized SwitchableSchedulerEngine getDefault() {
+		if (defaultEngine == null) {
+			defaultEngine = new SwitchableSchedulerEngine();
+		}
+		return defaultEngine;
+	}
+
+	synchronized void start(Run run) {
+		if (closed) {
+			throw new IllegalStateException("engine closed");
+		}
+		if (!run.execute(System.nanoTime())) {
+			return; // Finished without waiting
+		}
+		queue.add(run);
+		if (tickTask == null || run.getDeadline() - tickDeadline < 0) {
+			scheduleTick(); // New earliest deadline
+		}
+	}
+
+	synchronized void stop(Run run) {
+		run.stopped = true;
+		queue.remove(run);
+		if (queue.isEmpty()) {
+			cancelTick();
+		}
+	}
+
+	/*
+	 * Must be called while holding the monitor.
+	 */
+	private void scheduleTick() {
+		cancelTick();
+		Run first = queue.peek();
+		if (first == null) {
+			return;
+		}
+		final Runnable task = new Runnable() {
+			@Override
+			public void run() {
+				tick(this);
+			}
+		};
+		tickTask = task;
+		tickDeadline = first.getDeadline();
+		long delay = Math.max(0, tickDeadline - System.nanoTime());
+		// Round up, the state change must be due when the timeout expires
+		tickTimeout = wheel.schedule(task,
+				TimeUnit.NANOSECONDS.toMillis(delay + TimeUnit.MILLISECONDS.toNanos(1) - 1));
+	}
+
+	/*
+	 * Must be called while holding the monitor.
+	 */
+	private void cancelTick() {
+		if (tickTimeout != null) {
+			tickTimeout.cancel();
+		}
+		tickTask = null;
+		tickTimeout = null;
+	}
+
+	private synchronized void tick(Runnable task) {
+		if (task != tickTask) {
+			return; // Rescheduled or cancelled meanwhile
+		}
+		tickTask = null;
+		tickTimeout = null;
+		long now = System.nanoTime();
+		Run run;
+		while ((run = queue.peek()) != null && run.getDeadline() - now <= 0) {
+			queue.poll();
+			if (run.execute(now)) {
+				queue.add(run);
+			}
+		}
+		if (!closed) {
+			scheduleTick();
+		}
+	}
+
+	/**
+	 * Stops all running schedulers, starting a scheduler afterwards throws an
+	 * {@link IllegalStateException}. The timing wheel is not closed.
+	 */
+	@Override
+	public synchronized void close() {
+		closed = true;
+		cancelTick();
+		for (Run run : queue) {
+			run.cancel();
+		}
+		queue.clear();
+	}
+
+	/**
+	 * A compiled scheduler: The state changes and their time offsets.
+	 */
+	static class Timeline {
+
+		final Switchable[] switchables;
+		final boolean[] states;
+		// Nanoseconds from the start of the timeline
+		final long[] times;
+		final long duration;
+
+		Timeline(Switchable[] switchables, boolean[] states, long[] times, long duration) {
+			this.switchables = switchables;
+			this.states = states;
+			this.times = times;
+			this.duration = duration;
+		}
+
+	}
+
+	/**
+	 * A started execution of a {@link Timeline}. Guarded by the engine.
+	 */
+	abstract static class Run implements Comparable<Run> {
+
+		private final Timeline timeline;
+		private long start;
+		private int index;
+		boolean stopped;
+
+		Run(Timeline timeline, long start) {
+			this.timeline = timeline;
+			this.start = start;
+		}
+
+		long getDeadline() {
+			return start + timeline.times[index];
+		}
+
+		/**
+		 * Executes all state changes which are due.
+		 * 
+		 * @param now
+		 *            The current time.
+		 * @return <code>true</code> if the run waits for the next deadline,
+		 *         <code>false</code> if it finished.
+		 */
+		boolean execute(long now) {
+			Timeline timeline = this.timeline;
+			while (true) {
+				while (index < timeline.times.length && start + timeline.times[index] <= now) {
+					try {
+						timeline.switchables[index].setSwitched(timeline.states[index]);
+					}
+					catch (RuntimeException ex) {
+						System.err.println("Scheduler failed to switch:");
+						ex.printStackTrace();
+						finished();
+						return false; // Do not keep a failing scheduler running
+					}
+					index++;
+					if (stopped) {
+						return false; // Stopped by the state change
+					}
+				}
+				if (index < timeline.times.length) {
+					return true;
+				}
+				// A timeline without duration or state changes would loop
+				// infinitely often
+				if (!isLoop() || timeline.duration == 0 || timeline.times.length == 0) {
+					finished();
+					return false;
+				}
+				start += timeline.duration;
+				if (start + timeline.duration <= now) {
+					start = now; // More than a cycle late (e.g. suspended)
+				}
+				index = 0;
+			}
+		}
+
+		void cancel() {
+			stopped = true;
+			finished();
+		}
+
+		abstract boolean isLoop();
+
+		abstract void finished();
+
+		@Override
+		public int compareTo(Run o) {
+			return Long.compare(getDeadline() - o.getDeadline(), 0);
+		}
+
+	}
+
+}
@@ -0,0 +1,379 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hashed timing wheel to schedule timeouts of hardware (e.g. turnout coil
+ * pulses, servo detaching). The wheel consists of a fixed number of buckets,
+ * each bucket holds a linked list of the timeouts which expire at the
+ * bucket's ticks. Scheduling and cancelling a timeout therefore takes
+ * constant time, independent of the number of scheduled timeouts.
+ * <p>
+ * One thread advances the wheel every tick while timeouts are scheduled
+ * (it waits without ticking otherwise). Expired tasks are not run by this
+ * thread, but passed to an {@link Executor}, so running tasks do not stop the
+ * wheel from ticking. Timeouts expire up to one tick late.
+ * <p>
+ * There is no order between timeouts: The tasks which expire in the same tick
+ * are passed to the executor in no particular order and may run concurrently,
+ * also with tasks of earlier ticks. The own thread pool of a wheel has a fixed
+ * number of threads, so a task which blocks (e.g. writing to a socket) delays
+ * all other expired tasks once the pool is busy. The
+ * {@link #getDefault() shared wheel} is therefore reserved for short hardware
+ * callbacks (e.g. switching a pin, stepping a motor's speed), other tasks
+ * should use an own timer or a wheel with an own executor.
+ * 
+ * @author Jonas Tennié
+ */
+public class TimingWheel implements AutoCloseable {
+
+	/**
+	 * The default time of one tick in milliseconds.
+	 */
+	public static final long DEFAULT_TICK_TIME = 10;
+	/**
+	 * The default number of buckets.
+	 */
+	public static final int DEFAULT_WHEEL_SIZE = 512;
+
+	private static TimingWheel defaultWheel;
+
+	private final long tickNanos;
+	private final Timeout[] buckets;
+	private final int mask;
+	private final Executor executor;
+	private final ThreadPoolExecutor ownExecutor;
+	private final long startTime = System.nanoTime();
+	private final List<Timeout> expired = new ArrayList<>();
+	private Thread thread;
+	private long processedTick;
+	private int size;
+	private boolean closed;
+
+	/**
+	 * Constructs a new {@link TimingWheel} with the
+	 * {@link #DEFAULT_TICK_TIME default tick time} and
+	 * {@link #DEFAULT_WHEEL_SIZE default wheel size}. Expired tasks are run by
+	 * a thread pool of this wheel.
+	 */
+	public TimingWheel() {
+		this(DEFAULT_TICK_TIME, DEFAULT_WHEEL_SIZE, null);
+	}
+
+	/**
+	 * Constructs a new {@link TimingWheel} with the specified tick time, wheel
+	 * size and executor.
+	 * 
+	 * @param tickTime
+	 *            The time of one tick in milliseconds.
+	 * @param wheelSize
+	 *            The number of buckets. Rounded up to the next power of two.
+	 * @param executor
+	 *            The executor to run expired tasks. <code>null</code> to use
+	 *            a thread pool of this wheel, which is shut down by
+	 *            {@link #close()}.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>tickTime</code> or <code>wheelSize</code> is
+	 *             less than one or <code>wheelSize</code> is greater than
+	 *             2<sup>30</sup>.
+	 */
+	public TimingWheel(long tickTime, int wheelSize, Executor executor) {
+		if (tickTime < 1) {
+			throw new IllegalArgumentException("tick time out of valid range: " + tickTime);
+		}
+		if (wheelSize < 1 || wheelSize > 1 << 30) {
+			throw new IllegalArgumentException(
+					"wheel size out of valid range: " + wheelSize);
+		}
+		tickNanos = TimeUnit.MILLISECONDS.toNanos(tickTime);
+		int buckets = Integer.highestOneBit(wheelSize);
+		if (buckets < wheelSize) {
+			buckets <<= 1;
+		}
+		this.buckets = new Timeout[buckets];
+		mask = buckets - 1;
+		if (executor == null) {
+			int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+			ownExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+						@Override
+						public Thread newThread(Runnable runnable) {
+							Thread thread = new Thread(runnable, "TimingWheel task");
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+			ownExecutor.allowCoreThreadTimeOut(true);
+			this.executor = ownExecutor;
+		}
+		else {
+			ownExecutor = null;
+			this.executor = executor;
+		}
+	}
+
+	/**
+	 * Returns the shared {@link TimingWheel} with the default configuration.
+	 * The wheel is created on the first call. Only short, non-blocking
+	 * hardware callbacks may be scheduled on it.
+	 * 
+	 * @return The shared timing wheel.
+	 */
+	public static synchronized TimingWheel getDefault() {
+		if (defaultWheel == null) {
+			defaultWheel = new TimingWheel();
+		}
+		return defaultWheel;
+	}
+
+	/**
+	 * Schedules a task to be run after the specified delay. Tasks which
+	 * expire in the same tick are run in no particular order.
+	 * 
+	 * @param task
+	 *            The task to run.
+	 * @param delay
+	 *            The delay in milliseconds.
+	 * @return The scheduled timeout, which can be used to cancel the task.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>delay</code> is negative.
+	 * @throws IllegalStateException
+	 *             Thrown if this wheel has been closed.
+	 * @throws NullPointerException
+	 *             Thrown if <code>task</code> is <code>null</code>.
+	 */
+	public Timeout schedule(Runnable task, long delay) {
+		Objects.requireNonNull(task, "task");
+		if (delay < 0) {
+			throw new IllegalArgumentException("delay out of valid range: " + delay);
+		}
+		long delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+		Timeout timeout = new Timeout(task);
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("timing wheel closed");
+			}
+			// Round up, the timeout must not expire early
+			long deadlineNanos = System.nanoTime() - startTime + delayNanos;
+			timeout.deadline = Math.max(currentTick() + 1,
+					(deadlineNanos + tickNanos - 1) / tickNanos);
+			link(timeout);
+			if (size++ == 0) {
+				processedTick = currentTick();
+				if (thread == null) {
+					startThread();
+				}
+				else {
+					notifyAll(); // Wake up waiting thread
+				}
+			}
+		}
+		return timeout;
+	}
+
+	private long currentTick() {
+		return (System.nanoTime() - startTime) / tickNanos;
+	}
+
+	private void link(Timeout timeout) {
+		int index = (int) timeout.deadline & mask;
+		Timeout head = buckets[index];
+		timeout.next = head;
+		if (head != null) {
+			head.previous = timeout;
+		}
+		buckets[index] = timeout;
+	}
+
+	private void unlink(Timeout timeout) {
+		if (timeout.previous != null) {
+			timeout.previous.next = timeout.next;
+		}
+		else {
+			buckets[(int) timeout.deadline & mask] = timeout.next;
+		}
+		if (timeout.next != null) {
+			timeout.next.previous = timeout.previous;
+		}
+		timeout.previous = timeout.next = null;
+	}
+
+	private synchronized boolean cancel(Timeout timeout) {
+		if (timeout.state != Timeout.PENDING) {
+			return false;
+		}
+		timeout.state = Timeout.CANCELLED;
+		unlink(timeout);
+		size--;
+		return true;
+	}
+
+	private void startThread() {
+		thread = new Thread("TimingWheel") {
+			@Override
+			public void run() {
+				try {
+					while (tick()) {
+						runExpired();
+					}
+				}
+				catch (InterruptedException ex) {} // Closed
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/*
+	 * Waits for the next tick and collects the expired timeouts. Returns false
+	 * if this wheel has been closed.
+	 */
+	private synchronized boolean tick() throws InterruptedException {
+		while (!closed && size == 0) {
+			wait();
+		}
+		if (closed) {
+			return false;
+		}
+		long nextTickTime = startTime + (processedTick + 1) * tickNanos;
+		long waitTime = nextTickTime - System.nanoTime();
+		if (waitTime > 0) {
+			TimeUnit.NANOSECONDS.timedWait(this, waitTime);
+			return !closed; // Timeouts may have been cancelled meanwhile
+		}
+		long now = currentTick();
+		// Buckets since the last processed tick, each bucket at most once
+		long ticks = Math.min(now - processedTick, buckets.length);
+		for (long tick = now - ticks + 1; tick <= now; tick++) {
+			Timeout timeout = buckets[(int) tick & mask];
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				if (timeout.deadline <= now) {
+					unlink(timeout);
+					timeout.state = Timeout.EXPIRED;
+					size--;
+					expired.add(timeout);
+				}
+				timeout = next;
+			}
+		}
+		processedTick = now;
+		return true;
+	}
+
+	/*
+	 * Called by the wheel thread only.
+	 */
+	private void runExpired() {
+		for (int i = 0; i < expired.size(); i++) {
+			try {
+				executor.execute(expired.get(i).task);
+			}
+			catch (RejectedExecutionException ex) {} // Executor shut down
+		}
+		expired.clear();
+	}
+
+	/**
+	 * Cancels all scheduled timeouts and stops the wheel thread. Shuts down
+	 * the thread pool of this wheel if no executor was specified at
+	 * construction.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			closed = true;
+			for (int i = 0; i < buckets.length; i++) {
+				for (Timeout timeout = buckets[i]; timeout != null; timeout = timeout.next) {
+					timeout.state = Timeout.CANCELLED;
+				}
+				buckets[i] = null;
+			}
+			size = 0;
+			notifyAll();
+		}
+		if (ownExecutor != null) {
+			ownExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * A task scheduled by a {@link TimingWheel}.
+	 * 
+	 * @author Jonas Tennié
+	 */
+	public class Timeout {
+
+		private static final int PENDING = 0, EXPIRED = 1, CANCELLED = 2;
+
+		private final Runnable task;
+		// Guarded by the wheel
+		private Timeout previous, next;
+		private long deadline;
+		private int state;
+
+		private Timeout(Runnable task) {
+			this.task = task;
+		}
+
+		/**
+		 * Cancels the timeout. The task will not be run if it has not been
+		 * expired, yet.
+		 * 
+		 * @return <code>true</code> if the timeout has been cancelled,
+		 *         <code>false</code> if it has already been expired or
+		 *         cancelled.
+		 */
+		public boolean cancel() {
+			return TimingWheel.this.cancel(this);
+		}
+
+		/**
+		 * Returns if the timeout has been expired, which means that its task
+		 * has been passed to the executor.
+		 * 
+		 * @return <code>true</code> if expired, otherwise <code>false</code>.
+		 */
+		public boolean isExpired() {
+			synchronized (TimingWheel.this) {
+				return state == EXPIRED;
+			}
+		}
+
+		/**
+		 * Returns if the timeout has been cancelled.
+		 * 
+		 * @return <code>true</code> if cancelled, otherwise <code>false</code>.
+		 */
+		public boolean isCancelled() {
+			synchronized (TimingWheel.this) {
+				return state == CANCELLED;
+			}
+		}
+
+	}
+
+}
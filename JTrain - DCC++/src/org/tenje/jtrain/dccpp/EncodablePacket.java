@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp;
+
+/**
+ * A {@link Packet} which is able to write its parameters directly to a
+ * {@link PacketEncoder}, without creating the {@link String}s of
+ * {@link #getRawParameters()}.
+ * 
+ * @author Jonas Tennié
+ */
+public interface EncodablePacket extends Packet {
+
+	/**
+	 * Writes the parameters of this packet to the specified encoder using the
+	 * <code>writeParameter</code> methods of the encoder. The type char and
+	 * the frame delimiters are written by the encoder. The written parameters
+	 * must be equal to {@link #getRawParameters()}.
+	 * 
+	 * @param encoder
+	 *            The encoder to write the parameters to.
+	 */
+	void encodeParameters(PacketEncoder encoder);
+
+}
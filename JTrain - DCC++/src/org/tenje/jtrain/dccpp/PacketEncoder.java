@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encodes {@link Packet}s into a growable byte buffer using the following
+ * format: <i>&lt;t PARAM0 PARAM1&gt;</i>, where 't' is the type char and
+ * <i>PARAM0</i> and <i>PARAM1</i> are some packet parameters. The buffer is
+ * reused after {@link #reset()}, so encoding does not create any objects once
+ * the buffer is large enough. {@link PreEncodedPacket}s are copied with a
+ * single bulk copy, {@link EncodablePacket}s write their parameters directly,
+ * the parameters of other packets are taken from
+ * {@link Packet#getRawParameters()}.
+ * <p>
+ * This class is not thread safe.
+ * 
+ * @author Jonas Tennié
+ */
+public class PacketEncoder {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 512;
+
+	private byte[] buffer;
+	private int count;
+
+	/**
+	 * Constructs a new {@link PacketEncoder} with the default initial buffer
+	 * capacity.
+	 */
+	public PacketEncoder() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new {@link PacketEncoder} with the specified initial buffer
+	 * capacity.
+	 * 
+	 * @param initialCapacity
+	 *            The initial capacity in bytes.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>initialCapacity</code> is negative.
+	 */
+	public PacketEncoder(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException(
+					"initial capacity value out of valid range: " + initialCapacity);
+		}
+		buffer = new byte[initialCapacity];
+	}
+
+	/**
+	 * Appends the frame of the specified packet to the buffer.
+	 * 
+	 * @param packet
+	 *            The packet to encode.
+	 * @throws NullPointerException
+	 *             Thrown if <code>packet</code> is <code>null</code>.
+	 */
+	public void encode(Packet packet) {
+		Objects.requireNonNull(packet, "packet");
+		if (packet instanceof PreEncodedPacket) {
+			PreEncodedPacket preEncoded = (PreEncodedPacket) packet;
+			int length = preEncoded.getEncodedLength();
+			ensureCapacity(length);
+			preEncoded.getEncoded(buffer, count);
+			count += length;
+			return;
+		}
+		ensureCapacity(2);
+		buffer[count++] = '<';
+		buffer[count++] = (byte) packet.getTypeChar();
+		if (packet instanceof EncodablePacket) {
+			((EncodablePacket) packet).encodeParameters(this);
+		}
+		else {
+			List<String> parameters = packet.getRawParameters();
+			for (int i = 0; i < parameters.size(); i++) {
+				writeParameter(parameters.get(i));
+			}
+		}
+		write('>');
+	}
+
+	/**
+	 * Appends a parameter separator and the decimal ASCII representation of the
+	 * specified value to the buffer.
+	 * 
+	 * @param value
+	 *            The parameter value.
+	 * @return This encoder.
+	 */
+	public PacketEncoder writeParameter(int value) {
+		ensureCapacity(12); // Separator, sign and 10 digits
+		buffer[count++] = ' ';
+		long longValue = value;
+		if (longValue < 0) {
+			buffer[count++] = '-';
+			longValue = -longValue;
+		}
+		int digits = 1;
+		for (long i = longValue; i >= 10; i /= 10) {
+			digits++;
+		}
+		for (int i = count + digits - 1; i >= count; i--) {
+			buffer[i] = (byte) ('0' + longValue % 10);
+			longValue /= 10;
+		}
+		count += digits;
+		return this;
+	}
+
+	/**
+	 * Appends a parameter separator and the specified value to the buffer. The
+	 * chars of the value are written as single bytes.
+	 * 
+	 * @param value
+	 *            The parameter value.
+	 * @return This encoder.
+	 * @throws NullPointerException
+	 *             Thrown if <code>value</code> is <code>null</code>.
+	 */
+	public PacketEncoder writeParameter(CharSequence value) {
+		int length = value.length();
+		ensureCapacity(length + 1);
+		buffer[count++] = ' ';
+		for (int i = 0; i < length; i++) {
+			buffer[count++] = (byte) value.charAt(i);
+		}
+		return this;
+	}
+
+	/**
+	 * Appends a single byte to the buffer.
+	 * 
+	 * @param b
+	 *            The byte to append.
+	 */
+	public void write(int b) {
+		ensureCapacity(1);
+		buffer[count++] = (byte) b;
+	}
+
+	/**
+	 * Appends the specified bytes to the buffer.
+	 * 
+	 * @param b
+	 *            The array containing the bytes.
+	 * @param off
+	 *            The index of the first byte.
+	 * @param len
+	 *            The number of bytes to append.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>off</code> or <code>len</code> is out of
+	 *             range.
+	 */
+	public void write(byte[] b, int off, int len) {
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		ensureCapacity(len);
+		System.arraycopy(b, off, buffer, count, len);
+		count += len;
+	}
+
+	/**
+	 * Writes the content of the buffer to the specified stream with one call of
+	 * {@link OutputStream#write(byte[], int, int)}.
+	 * 
+	 * @param out
+	 *            The stream to write to.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while writing.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(buffer, 0, count);
+	}
+
+	/**
+	 * Copies the content of the buffer into the specified array.
+	 * 
+	 * @param dst
+	 *            The array to copy to. Must have space for {@link #size()}
+	 *            bytes starting at <code>off</code>.
+	 * @param off
+	 *            The index of the first byte in <code>dst</code>.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>dst</code> is too small.
+	 */
+	public void copyTo(byte[] dst, int off) {
+		System.arraycopy(buffer, 0, dst, off, count);
+	}
+
+	/**
+	 * Returns a copy of the content of the buffer.
+	 * 
+	 * @return The encoded bytes.
+	 */
+	public byte[] toByteArray() {
+		return Arrays.copyOf(buffer, count);
+	}
+
+	/**
+	 * Returns the number of bytes in the buffer.
+	 * 
+	 * @return The number of bytes.
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Clears the buffer. The buffer's capacity is kept.
+	 */
+	public void reset() {
+		count = 0;
+	}
+
+	private void ensureCapacity(int length) {
+		if (count + length > buffer.length) {
+			buffer = Arrays.copyOf(buffer,
+					Math.max(buffer.length * 2, count + length));
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + "[size=" + count + "]";
+	}
+
+}
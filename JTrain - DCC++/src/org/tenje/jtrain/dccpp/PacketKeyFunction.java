@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp;
+
+/**
+ * A function which maps {@link Packet}s to keys. Packets with equal keys
+ * describe the same state (e.g. the speed of one train), so only the newest of
+ * them has to be delivered when packets are coalesced.
+ * 
+ * @author Jonas Tennié
+ */
+public interface PacketKeyFunction {
+
+	/**
+	 * Returns the key of the specified packet.
+	 * 
+	 * @param packet
+	 *            The packet.
+	 * @return The key or <code>null</code> if the packet must never be
+	 *         replaced by an other packet.
+	 */
+	Object getKey(Packet packet);
+
+}
@@ -1,34 +1,34 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp;
-
-import org.tenje.jtrain.AddressRegistry;
-
-/**
- * A registry which listens to {@link Packet}s that change registry entries.
- * 
- * @author Jonas Tenni
- */
-public interface PacketListeningRegistry extends PacketListener {
-
-	/**
-	 * Returns the address registry of this registry.
-	 * 
-	 * @return The address registry.
-	 */
-	AddressRegistry getAddressRegistry();
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp;
+
+import org.tenje.jtrain.AddressRegistry;
+
+/**
+ * A registry which listens to {@link Packet}s that change registry entries.
+ * 
+ * @author Jonas Tennié
+ */
+public interface PacketListeningRegistry extends PacketListener {
+
+	/**
+	 * Returns the address registry of this registry.
+	 * 
+	 * @return The address registry.
+	 */
+	AddressRegistry getAddressRegistry();
+
+}
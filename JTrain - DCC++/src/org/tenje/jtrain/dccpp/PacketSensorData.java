@@ -1,39 +1,39 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp;
-
-import org.tenje.jtrain.AccessoryDecoderAddress;
-import org.tenje.jtrain.Addressable;
-import org.tenje.jtrain.Sensor;
-
-/**
- * A {@link Packet} to send the data of a defined {@link Sensor}.
- * 
- * @author Jonas Tenni
- */
-public interface PacketSensorData extends Addressable, RegistrationIdHolder, PacketSensorState {
-
-	@Override
-	AccessoryDecoderAddress getAddress();
-
-	/**
-	 * Returns whether the sensor is triggered.
-	 * 
-	 * @return <code>true</code> if triggered, else <code>false</code>.
-	 */
-	boolean isTriggered();
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp;
+
+import org.tenje.jtrain.AccessoryDecoderAddress;
+import org.tenje.jtrain.Addressable;
+import org.tenje.jtrain.Sensor;
+
+/**
+ * A {@link Packet} to send the data of a defined {@link Sensor}.
+ * 
+ * @author Jonas Tennié
+ */
+public interface PacketSensorData extends Addressable, RegistrationIdHolder, PacketSensorState {
+
+	@Override
+	AccessoryDecoderAddress getAddress();
+
+	/**
+	 * Returns whether the sensor is triggered.
+	 * 
+	 * @return <code>true</code> if triggered, else <code>false</code>.
+	 */
+	boolean isTriggered();
+
+}
@@ -1,42 +1,42 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp;
-
-import org.tenje.jtrain.AccessoryDecoderAddress;
-import org.tenje.jtrain.Addressable;
-
-/**
- * {@link PacketSensor} to define a sensor.
- * 
- * @author Jonas Tenni
- */
-public interface PacketSensorDefine extends Addressable, RegistrationIdHolder, PacketSensor {
-
-	@Override
-	AccessoryDecoderAddress getAddress();
-
-	/**
-	 * Returns if an internal pull-up resistor should be used for the sensor.
-	 * This parameter is used for the Arduino.
-	 * 
-	 * @return <code>true</code> if internal pull-up resister should be used, else
-	 *         <code>false</code>.
-	 * @deprecated As this is an Arduino-only parameter.
-	 */
-	@Deprecated
-	boolean usePullUp();
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp;
+
+import org.tenje.jtrain.AccessoryDecoderAddress;
+import org.tenje.jtrain.Addressable;
+
+/**
+ * {@link PacketSensor} to define a sensor.
+ * 
+ * @author Jonas Tennié
+ */
+public interface PacketSensorDefine extends Addressable, RegistrationIdHolder, PacketSensor {
+
+	@Override
+	AccessoryDecoderAddress getAddress();
+
+	/**
+	 * Returns if an internal pull-up resistor should be used for the sensor.
+	 * This parameter is used for the Arduino.
+	 * 
+	 * @return <code>true</code> if internal pull-up resister should be used, else
+	 *         <code>false</code>.
+	 * @deprecated As this is an Arduino-only parameter.
+	 */
+	@Deprecated
+	boolean usePullUp();
+
+}
@@ -1,32 +1,32 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp;
-
-import org.tenje.jtrain.AccessoryDecoderAddress;
-import org.tenje.jtrain.Addressable;
-
-/**
- * A {@link PacketTurnout} to define a turnout ID with an address and sub
- * address.
- * 
- * @author Jonas Tenni
- */
-public interface PacketTurnoutDefine extends Addressable, RegistrationIdHolder, PacketTurnout {
-
-	@Override
-	AccessoryDecoderAddress getAddress();
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp;
+
+import org.tenje.jtrain.AccessoryDecoderAddress;
+import org.tenje.jtrain.Addressable;
+
+/**
+ * A {@link PacketTurnout} to define a turnout ID with an address and sub
+ * address.
+ * 
+ * @author Jonas Tennié
+ */
+public interface PacketTurnoutDefine extends Addressable, RegistrationIdHolder, PacketTurnout {
+
+	@Override
+	AccessoryDecoderAddress getAddress();
+
+}
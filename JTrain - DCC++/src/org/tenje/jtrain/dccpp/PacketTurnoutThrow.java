@@ -1,32 +1,32 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp;
-
-/**
- * {@link PacketTurnout} to set a turnout thrown or unthrown.
- * 
- * @author Jonas Tenni
- */
-public interface PacketTurnoutThrow extends RegistrationIdHolder, PacketTurnout {
-
-	/**
-	 * Returns whether the turnout is thrown.
-	 * 
-	 * @return <code>true</code> if thrown, <code>false</code> if unthrown.
-	 */
-	boolean isThrown();
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp;
+
+/**
+ * {@link PacketTurnout} to set a turnout thrown or unthrown.
+ * 
+ * @author Jonas Tennié
+ */
+public interface PacketTurnoutThrow extends RegistrationIdHolder, PacketTurnout {
+
+	/**
+	 * Returns whether the turnout is thrown.
+	 * 
+	 * @return <code>true</code> if thrown, <code>false</code> if unthrown.
+	 */
+	boolean isThrown();
+
+}
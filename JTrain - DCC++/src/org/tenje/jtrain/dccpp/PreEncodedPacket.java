@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp;
+
+/**
+ * An immutable {@link Packet} which holds its complete encoded frame
+ * (<i>&lt;t PARAM0 PARAM1&gt;</i>). A {@link PacketEncoder} copies the frame
+ * with a single bulk copy instead of encoding the packet again.
+ * 
+ * @author Jonas Tennié
+ */
+public interface PreEncodedPacket extends Packet {
+
+	/**
+	 * Returns the number of bytes of the encoded frame, including the frame
+	 * delimiters.
+	 * 
+	 * @return The length of the encoded frame.
+	 */
+	int getEncodedLength();
+
+	/**
+	 * Copies the encoded frame into the specified array. The copied frame must
+	 * contain the type char and the {@link #getRawParameters() raw parameters}
+	 * of this packet.
+	 * 
+	 * @param dst
+	 *            The destination array.
+	 * @param off
+	 *            The index of the first byte in <code>dst</code>.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>dst</code> cannot hold
+	 *             {@link #getEncodedLength()} bytes starting at
+	 *             <code>off</code>.
+	 */
+	void getEncoded(byte[] dst, int off);
+
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.tenje.jtrain.LongTrainAddress;
+import org.tenje.jtrain.ParameterValidator;
+import org.tenje.jtrain.TrainDirection;
+import org.tenje.jtrain.dccpp.EncodablePacket;
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.PacketEngineThrottle;
+
+/**
+ * A reusable {@link PacketEngineThrottle} whose values can be changed after
+ * construction. Unlike {@link PacketEngineThrottleImpl} it does not hold its
+ * raw parameters as {@link String}s, but writes them directly to a
+ * {@link PacketEncoder}. This allows a controller to send every throttle
+ * change with the same packet instance without creating any objects.
+ * <p>
+ * The packet may only be modified after the broker it was sent with has
+ * returned from <code>sendPacket</code>. This class is not thread safe.
+ * 
+ * @author Jonas Tennié
+ */
+public class MutablePacketEngineThrottle implements PacketEngineThrottle, EncodablePacket {
+
+	private LongTrainAddress address;
+	private int registerId, speed;
+	private TrainDirection direction;
+
+	/**
+	 * Constructs a new {@link MutablePacketEngineThrottle} with the specified
+	 * address, register id, speed and train direction.
+	 * 
+	 * @param address
+	 *            The train address.
+	 * @param registerId
+	 *            The register id.
+	 * @param speed
+	 *            The train speed.
+	 * @param direction
+	 *            The train direction.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>registerId</code> or <code>speed</code> lays
+	 *             out of valid range.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> or <code>direction</code> is
+	 *             <code>null</code>.
+	 */
+	public MutablePacketEngineThrottle(LongTrainAddress address, int registerId, int speed,
+			TrainDirection direction) {
+		set(address, registerId, speed, direction);
+	}
+
+	/**
+	 * Sets all values of this packet.
+	 * 
+	 * @param address
+	 *            The train address.
+	 * @param registerId
+	 *            The register id.
+	 * @param speed
+	 *            The train speed.
+	 * @param direction
+	 *            The train direction.
+	 * @return This packet.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>registerId</code> or <code>speed</code> lays
+	 *             out of valid range.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> or <code>direction</code> is
+	 *             <code>null</code>.
+	 */
+	public MutablePacketEngineThrottle set(LongTrainAddress address, int registerId,
+			int speed, TrainDirection direction) {
+		Objects.requireNonNull(address, "address");
+		ParameterValidator.validateRegistrationId(registerId);
+		ParameterValidator.validateSpeed(speed);
+		Objects.requireNonNull(direction, "direction");
+		this.address = address;
+		this.registerId = registerId;
+		this.speed = speed;
+		this.direction = direction;
+		return this;
+	}
+
+	/**
+	 * Sets the train address.
+	 * 
+	 * @param address
+	 *            The train address.
+	 * @return This packet.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> is <code>null</code>.
+	 */
+	public MutablePacketEngineThrottle setAddress(LongTrainAddress address) {
+		this.address = Objects.requireNonNull(address, "address");
+		return this;
+	}
+
+	/**
+	 * Sets the register id.
+	 * 
+	 * @param registerId
+	 *            The register id.
+	 * @return This packet.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>registerId</code> is smaller than one.
+	 */
+	public MutablePacketEngineThrottle setRegisterId(int registerId) {
+		this.registerId = ParameterValidator.validateRegistrationId(registerId);
+		return this;
+	}
+
+	/**
+	 * Sets the train speed.
+	 * 
+	 * @param speed
+	 *            The train speed.
+	 * @return This packet.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>speed</code> does not lay in range
+	 *             ((-1)-126).
+	 */
+	public MutablePacketEngineThrottle setSpeed(int speed) {
+		this.speed = ParameterValidator.validateSpeed(speed);
+		return this;
+	}
+
+	/**
+	 * Sets the train direction.
+	 * 
+	 * @param direction
+	 *            The train direction.
+	 * @return This packet.
+	 * @throws NullPointerException
+	 *             Thrown if <code>direction</code> is <code>null</code>.
+	 */
+	public MutablePacketEngineThrottle setDirection(TrainDirection direction) {
+		this.direction = Objects.requireNonNull(direction, "direction");
+		return this;
+	}
+
+	@Override
+	public char getTypeChar() {
+		return TYPE_CHAR;
+	}
+
+	@Override
+	public LongTrainAddress getAddress() {
+		return address;
+	}
+
+	@Override
+	public int getRegisterId() {
+		return registerId;
+	}
+
+	@Override
+	public int getSpeed() {
+		return speed;
+	}
+
+	@Override
+	public TrainDirection getDirection() {
+		return direction;
+	}
+
+	@Override
+	public void encodeParameters(PacketEncoder encoder) {
+		encoder.writeParameter(registerId).writeParameter(address.getAddress())
+				.writeParameter(speed).writeParameter(direction.ordinal());
+	}
+
+	/**
+	 * {@inheritDoc} The list is created on every call and represents the
+	 * current values.
+	 */
+	@Override
+	public List<String> getRawParameters() {
+		return Arrays.asList(String.valueOf(registerId), String.valueOf(address.getAddress()),
+				String.valueOf(speed), String.valueOf(direction.ordinal()));
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + "[typeChar=" + getTypeChar() + ", parameters: "
+				+ getRawParameters() + "]";
+	}
+
+}
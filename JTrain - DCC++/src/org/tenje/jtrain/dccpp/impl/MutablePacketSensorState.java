@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.tenje.jtrain.dccpp.EncodablePacket;
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.PacketSensorStateActive;
+import org.tenje.jtrain.dccpp.PacketSensorStateInactive;
+import org.tenje.jtrain.dccpp.RegistrationIdHolder;
+
+/**
+ * A reusable sensor state notification. Depending on its state, the packet is
+ * encoded like a {@link PacketSensorStateActive} (<i>&lt;Q ID&gt;</i>) or a
+ * {@link PacketSensorStateInactive} (<i>&lt;q ID&gt;</i>). The packet writes
+ * its id directly to a {@link PacketEncoder}, so sending a sensor state change
+ * with the same instance does not create any objects. Since the state may
+ * change, this class does not implement any of both interfaces. The receiving
+ * side builds the matching immutable packet.
+ * <p>
+ * The packet may only be modified after the broker it was sent with has
+ * returned from <code>sendPacket</code>. This class is not thread safe.
+ * 
+ * @author Jonas Tennié
+ */
+public class MutablePacketSensorState implements RegistrationIdHolder, EncodablePacket {
+
+	private int id;
+	private boolean active;
+
+	/**
+	 * Constructs a new {@link MutablePacketSensorState} with the specified id
+	 * and state.
+	 * 
+	 * @param id
+	 *            The ID in range (0-32767).
+	 * @param active
+	 *            <code>true</code> if the sensor is active/triggered,
+	 *            otherwise <code>false</code>.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>id</code> does not lay in range (0-32767).
+	 */
+	public MutablePacketSensorState(int id, boolean active) {
+		set(id, active);
+	}
+
+	/**
+	 * Sets the id and state.
+	 * 
+	 * @param id
+	 *            The ID in range (0-32767).
+	 * @param active
+	 *            <code>true</code> if the sensor is active/triggered,
+	 *            otherwise <code>false</code>.
+	 * @return This packet.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>id</code> does not lay in range (0-32767).
+	 */
+	public MutablePacketSensorState set(int id, boolean active) {
+		if (id < 0 || id > 32767) {
+			throw new IllegalArgumentException("id value out of valid range: " + id);
+		}
+		this.id = id;
+		this.active = active;
+		return this;
+	}
+
+	@Override
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Returns <code>true</code> if the sensor is active/triggered.
+	 * 
+	 * @return <code>true</code> if the sensor is active, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Returns {@link PacketSensorStateActive#TYPE_CHAR} if the sensor is
+	 * active, otherwise {@link PacketSensorStateInactive#TYPE_CHAR}.
+	 */
+	@Override
+	public char getTypeChar() {
+		return active ? PacketSensorStateActive.TYPE_CHAR
+				: PacketSensorStateInactive.TYPE_CHAR;
+	}
+
+	@Override
+	public void encodeParameters(PacketEncoder encoder) {
+		encoder.writeParameter(id);
+	}
+
+	/**
+	 * {@inheritDoc} The list is created on every call and represents the
+	 * current id.
+	 */
+	@Override
+	public List<String> getRawParameters() {
+		return Collections.singletonList(String.valueOf(id));
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + "[typeChar=" + getTypeChar() + ", parameters: "
+				+ getRawParameters() + "]";
+	}
+
+}
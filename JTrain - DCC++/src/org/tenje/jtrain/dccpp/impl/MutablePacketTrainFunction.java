@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.tenje.jtrain.LongTrainAddress;
+import org.tenje.jtrain.dccpp.EncodablePacket;
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.PacketTrainFunction;
+
+/**
+ * A reusable {@link PacketTrainFunction} whose values can be changed after
+ * construction. Unlike {@link PacketTrainFunctionImpl} it does not hold its raw
+ * parameters as {@link String}s, but writes them directly to a
+ * {@link PacketEncoder}.
+ * <p>
+ * The packet may only be modified after the broker it was sent with has
+ * returned from <code>sendPacket</code>. This class is not thread safe.
+ * 
+ * @author Jonas Tennié
+ */
+public class MutablePacketTrainFunction implements PacketTrainFunction, EncodablePacket {
+
+	private LongTrainAddress address;
+	private int firstByte, secondByte;
+
+	/**
+	 * Constructs a new {@link MutablePacketTrainFunction} with the specified
+	 * address and function bytes.
+	 * 
+	 * @param address
+	 *            The train address.
+	 * @param firstByte
+	 *            The first function byte.
+	 * @param secondByte
+	 *            The second function byte. Ignored for F0-F12.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the function bytes are invalid.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> is <code>null</code>.
+	 */
+	public MutablePacketTrainFunction(LongTrainAddress address, int firstByte,
+			int secondByte) {
+		setAddress(address);
+		setFunctionBytes(firstByte, secondByte);
+	}
+
+	/**
+	 * Sets the train address.
+	 * 
+	 * @param address
+	 *            The train address.
+	 * @return This packet.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> is <code>null</code>.
+	 */
+	public MutablePacketTrainFunction setAddress(LongTrainAddress address) {
+		this.address = Objects.requireNonNull(address, "address");
+		return this;
+	}
+
+	/**
+	 * Sets the function bytes.
+	 * 
+	 * @param firstByte
+	 *            The first function byte.
+	 * @param secondByte
+	 *            The second function byte. Ignored for F0-F12.
+	 * @return This packet.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the function bytes are invalid.
+	 */
+	public MutablePacketTrainFunction setFunctionBytes(int firstByte, int secondByte) {
+		if (PacketTrainFunctionImpl.getFirstFunction(firstByte) < 0) {
+			throw new IllegalArgumentException(
+					"first function byte value out of valid range: " + firstByte);
+		}
+		if (PacketTrainFunctionImpl.hasSecondByte(firstByte)) {
+			if (secondByte < 0 || secondByte > 255) {
+				throw new IllegalArgumentException(
+						"second function byte value out of valid range: " + secondByte);
+			}
+			this.secondByte = secondByte;
+		}
+		else {
+			this.secondByte = -1;
+		}
+		this.firstByte = firstByte;
+		return this;
+	}
+
+	@Override
+	public char getTypeChar() {
+		return TYPE_CHAR;
+	}
+
+	@Override
+	public LongTrainAddress getAddress() {
+		return address;
+	}
+
+	@Override
+	public int getFirstByte() {
+		return firstByte;
+	}
+
+	@Override
+	public int getSecondByte() {
+		return secondByte;
+	}
+
+	@Override
+	public boolean isEnabled(int functionId) {
+		int bit = functionId - PacketTrainFunctionImpl.getFirstFunction(firstByte);
+		if (bit >= 0 && bit < PacketTrainFunctionImpl.getFunctionCount(firstByte)) {
+			return (PacketTrainFunctionImpl.getFunctionBits(firstByte, secondByte) >> bit
+					& 1) == 1;
+		}
+		throw new IllegalStateException("packet does not hold data for function id: " + functionId);
+	}
+
+	@Override
+	public int getFunctionMask() {
+		return PacketTrainFunctionImpl.getFunctionBits(firstByte,
+				secondByte) << PacketTrainFunctionImpl.getFirstFunction(firstByte);
+	}
+
+	@Override
+	public int getFunctionGroupMask() {
+		return PacketTrainFunctionImpl.getGroupMask(firstByte);
+	}
+
+	/**
+	 * {@inheritDoc} The map is created on every call and represents the current
+	 * values.
+	 */
+	@Override
+	public Map<Integer, Boolean> getFunctionValues() {
+		int firstFunction = PacketTrainFunctionImpl.getFirstFunction(firstByte);
+		int functionCount = PacketTrainFunctionImpl.getFunctionCount(firstByte);
+		int functionBits = PacketTrainFunctionImpl.getFunctionBits(firstByte, secondByte);
+		Map<Integer, Boolean> functionValues = new HashMap<>(functionCount * 2);
+		for (int i = 0; i < functionCount; i++) {
+			functionValues.put(firstFunction + i, (functionBits >> i & 1) == 1);
+		}
+		return Collections.unmodifiableMap(functionValues);
+	}
+
+	@Override
+	public void encodeParameters(PacketEncoder encoder) {
+		encoder.writeParameter(address.getAddress()).writeParameter(firstByte);
+		if (secondByte >= 0) {
+			encoder.writeParameter(secondByte);
+		}
+	}
+
+	/**
+	 * {@inheritDoc} The list is created on every call and represents the
+	 * current values.
+	 */
+	@Override
+	public List<String> getRawParameters() {
+		if (secondByte >= 0) {
+			return Arrays.asList(String.valueOf(address.getAddress()),
+					String.valueOf(firstByte), String.valueOf(secondByte));
+		}
+		return Arrays.asList(String.valueOf(address.getAddress()), String.valueOf(firstByte));
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + "[typeChar=" + getTypeChar() + ", parameters: "
+				+ getRawParameters() + "]";
+	}
+
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.tenje.jtrain.AccessoryDecoderAddress;
+import org.tenje.jtrain.ParameterValidator;
+import org.tenje.jtrain.dccpp.EncodablePacket;
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.PacketTurnoutState;
+
+/**
+ * A reusable {@link PacketTurnoutState} whose values can be changed after
+ * construction. Unlike {@link PacketTurnoutStateImpl} it does not hold its raw
+ * parameters as {@link String}s, but writes them directly to a
+ * {@link PacketEncoder}.
+ * <p>
+ * The packet may only be modified after the broker it was sent with has
+ * returned from <code>sendPacket</code>. This class is not thread safe.
+ * 
+ * @author Jonas Tennié
+ */
+public class MutablePacketTurnoutState implements PacketTurnoutState, EncodablePacket {
+
+	private int id;
+	private AccessoryDecoderAddress address;
+	private boolean thrown;
+
+	/**
+	 * Constructs a new {@link MutablePacketTurnoutState} with the specified id,
+	 * address and throw state.
+	 * 
+	 * @param id
+	 *            The registration id.
+	 * @param address
+	 *            The address.
+	 * @param thrown
+	 *            The throw state of the turnout.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>id</code> is smaller than one.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> is <code>null</code>.
+	 */
+	public MutablePacketTurnoutState(int id, AccessoryDecoderAddress address, boolean thrown) {
+		set(id, address, thrown);
+	}
+
+	/**
+	 * Sets all values of this packet.
+	 * 
+	 * @param id
+	 *            The registration id.
+	 * @param address
+	 *            The address.
+	 * @param thrown
+	 *            The throw state of the turnout.
+	 * @return This packet.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>id</code> is smaller than one.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> is <code>null</code>.
+	 */
+	public MutablePacketTurnoutState set(int id, AccessoryDecoderAddress address,
+			boolean thrown) {
+		ParameterValidator.validateRegistrationId(id);
+		this.address = Objects.requireNonNull(address, "address");
+		this.id = id;
+		this.thrown = thrown;
+		return this;
+	}
+
+	/**
+	 * Sets the throw state.
+	 * 
+	 * @param thrown
+	 *            The throw state of the turnout.
+	 * @return This packet.
+	 */
+	public MutablePacketTurnoutState setThrown(boolean thrown) {
+		this.thrown = thrown;
+		return this;
+	}
+
+	@Override
+	public char getTypeChar() {
+		return TYPE_CHAR;
+	}
+
+	@Override
+	public int getId() {
+		return id;
+	}
+
+	@Override
+	public AccessoryDecoderAddress getAddress() {
+		return address;
+	}
+
+	@Override
+	public boolean isThrown() {
+		return thrown;
+	}
+
+	@Override
+	public void encodeParameters(PacketEncoder encoder) {
+		encoder.writeParameter(id).writeParameter(address.getMainAddress())
+				.writeParameter(address.getSubAddress()).writeParameter(thrown ? 1 : 0);
+	}
+
+	/**
+	 * {@inheritDoc} The list is created on every call and represents the
+	 * current values.
+	 */
+	@Override
+	public List<String> getRawParameters() {
+		return Arrays.asList(String.valueOf(id), String.valueOf(address.getMainAddress()),
+				String.valueOf(address.getSubAddress()), thrown ? "1" : "0");
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + "[typeChar=" + getTypeChar() + ", parameters: "
+				+ getRawParameters() + "]";
+	}
+
+}
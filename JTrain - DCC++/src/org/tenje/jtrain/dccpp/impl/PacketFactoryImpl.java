@@ -1,208 +1,332 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp.impl;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-
-import org.tenje.jtrain.dccpp.Packet;
-import org.tenje.jtrain.dccpp.PacketAccessoryOperate;
-import org.tenje.jtrain.dccpp.PacketBuilder;
-import org.tenje.jtrain.dccpp.PacketClearSettings;
-import org.tenje.jtrain.dccpp.PacketEngineThrottle;
-import org.tenje.jtrain.dccpp.PacketFactory;
-import org.tenje.jtrain.dccpp.PacketListBitContents;
-import org.tenje.jtrain.dccpp.PacketOperationFailed;
-import org.tenje.jtrain.dccpp.PacketOperationSuccessful;
-import org.tenje.jtrain.dccpp.PacketOutputPin;
-import org.tenje.jtrain.dccpp.PacketOutputPinDefine;
-import org.tenje.jtrain.dccpp.PacketOutputPinDelete;
-import org.tenje.jtrain.dccpp.PacketOutputPinList;
-import org.tenje.jtrain.dccpp.PacketOutputPinSetState;
-import org.tenje.jtrain.dccpp.PacketReadConfigurationByte;
-import org.tenje.jtrain.dccpp.PacketReadCurrent;
-import org.tenje.jtrain.dccpp.PacketReadStationState;
-import org.tenje.jtrain.dccpp.PacketSensor;
-import org.tenje.jtrain.dccpp.PacketSensorDefine;
-import org.tenje.jtrain.dccpp.PacketSensorDelete;
-import org.tenje.jtrain.dccpp.PacketSensorList;
-import org.tenje.jtrain.dccpp.PacketSensorState;
-import org.tenje.jtrain.dccpp.PacketSensorStateActive;
-import org.tenje.jtrain.dccpp.PacketSensorStateInactive;
-import org.tenje.jtrain.dccpp.PacketSensorStateList;
-import org.tenje.jtrain.dccpp.PacketStationInfo;
-import org.tenje.jtrain.dccpp.PacketStoreSettings;
-import org.tenje.jtrain.dccpp.PacketTrackPowerOff;
-import org.tenje.jtrain.dccpp.PacketTrackPowerOn;
-import org.tenje.jtrain.dccpp.PacketTrackPowerState;
-import org.tenje.jtrain.dccpp.PacketTrainFunction;
-import org.tenje.jtrain.dccpp.PacketTurnout;
-import org.tenje.jtrain.dccpp.PacketTurnoutDefine;
-import org.tenje.jtrain.dccpp.PacketTurnoutDelete;
-import org.tenje.jtrain.dccpp.PacketTurnoutList;
-import org.tenje.jtrain.dccpp.PacketTurnoutState;
-import org.tenje.jtrain.dccpp.PacketTurnoutThrow;
-
-/**
- * This class is a concrete implementation of the {@link PacketFactory}
- * interface.
- * 
- * @author Jonas Tenni
- * @see PacketBuilder
- */
-public class PacketFactoryImpl implements PacketFactory {
-
-	// Used by #regiserDefaultPackets()
-	private static final List<PacketBuilder<? extends Packet>> DEFAULT_PACKET_BUILDERS = new ArrayList<>();
-	private static final List<Class<? extends Packet>> DEFAULT_PACKET_BUILDER_CLASSES = new ArrayList<>();
-	private static final List<Character> DEFAULT_PACKET_BUILDER_CHARS = new ArrayList<>();
-
-	// Initialize default packet builders
-	static {
-		addDefaultBuilder(PacketAccessoryOperateImpl.BUILDER,
-				PacketAccessoryOperate.class, PacketAccessoryOperate.TYPE_CHAR);
-		addDefaultBuilder(PacketClearSettingsImpl.BUILDER, PacketClearSettings.class,
-				PacketClearSettings.TYPE_CHAR);
-		addDefaultBuilder(PacketEngineThrottleImpl.BUILDER, PacketEngineThrottle.class,
-				PacketEngineThrottle.TYPE_CHAR);
-		addDefaultBuilder(PacketTrainFunctionImpl.BUILDER, PacketTrainFunction.class,
-				PacketTrainFunction.TYPE_CHAR);
-		addDefaultBuilder(PacketListBitContentsImpl.BUILDER, PacketListBitContents.class,
-				PacketListBitContents.TYPE_CHAR);
-		addDefaultBuilder(PacketOperationFailedImpl.BUILDER, PacketOperationFailed.class,
-				PacketOperationFailed.TYPE_CHAR);
-		addDefaultBuilder(PacketOperationSuccessfulImpl.BUILDER,
-				PacketOperationSuccessful.class, PacketOperationSuccessful.TYPE_CHAR);
-		addDefaultBuilder(PacketOutputPinImpl.BUILDER, PacketOutputPin.class,
-				PacketOutputPin.TYPE_CHAR);
-		addDefaultBuilder(PacketReadConfigurationByteImpl.BUILDER,
-				PacketReadConfigurationByte.class, PacketReadConfigurationByte.TYPE_CHAR);
-		addDefaultBuilder(PacketReadCurrentImpl.BUILDER, PacketReadCurrent.class,
-				PacketReadCurrent.TYPE_CHAR);
-		addDefaultBuilder(PacketReadStationStateImpl.BUILDER,
-				PacketReadStationState.class, PacketReadStationState.TYPE_CHAR);
-		addDefaultBuilder(PacketSensorImpl.BUILDER, PacketSensor.class,
-				PacketSensor.TYPE_CHAR);
-		addDefaultBuilder(PacketSensorStateImpl.BUILDER, PacketSensorState.class,
-				PacketSensorState.TYPE_CHAR);
-		addDefaultBuilder(PacketSensorStateInactiveImpl.BUILDER,
-				PacketSensorStateInactive.class, PacketSensorStateInactive.TYPE_CHAR);
-		addDefaultBuilder(PacketStationInfoImpl.BUILDER, PacketStationInfo.class,
-				PacketStationInfo.TYPE_CHAR);
-		addDefaultBuilder(PacketStoreSettingsImpl.BUILDER, PacketStoreSettings.class,
-				PacketStoreSettings.TYPE_CHAR);
-		addDefaultBuilder(PacketTrackPowerOffImpl.BUILDER, PacketTrackPowerOff.class,
-				PacketTrackPowerOff.TYPE_CHAR);
-		addDefaultBuilder(PacketTrackPowerOnImpl.BUILDER, PacketTrackPowerOn.class,
-				PacketTrackPowerOn.TYPE_CHAR);
-		addDefaultBuilder(PacketTrackPowerStateImpl.BUILDER, PacketTrackPowerState.class,
-				PacketTrackPowerState.TYPE_CHAR);
-		addDefaultBuilder(PacketTurnoutImpl.BUILDER, PacketTurnout.class,
-				PacketTurnout.TYPE_CHAR);
-		addDefaultBuilder(PacketTurnoutStateImpl.BUILDER, PacketTurnoutState.class,
-				PacketTurnoutState.TYPE_CHAR);
-	}
-
-	private static void addDefaultBuilder(PacketBuilder<? extends Packet> builder,
-			Class<? extends Packet> clazz, char typeChar) {
-		DEFAULT_PACKET_BUILDERS.add(builder);
-		DEFAULT_PACKET_BUILDER_CLASSES.add(clazz);
-		DEFAULT_PACKET_BUILDER_CHARS.add(typeChar);
-	}
-
-	/**
-	 * Registers {@link PacketBuilder}s for the following {@link Packet} types
-	 * for a {@link PacketFactory} using
-	 * {@link PacketFactory#registerBuilder(PacketBuilder, Class, char)}.
-	 * <code>Packet</code> types that are already registered are ignored:<br>
-	 * {@link PacketAccessoryOperate}, {@link PacketClearSettings},
-	 * {@link PacketEngineThrottle}, {@link PacketTrainFunction},
-	 * {@link PacketListBitContents}, {@link PacketOperationFailed},
-	 * {@link PacketOperationSuccessful}, {@link PacketOutputPin} (with sub
-	 * packets: {@link PacketOutputPinDefine}, {@link PacketOutputPinDelete},
-	 * {@link PacketOutputPinList}, {@link PacketOutputPinSetState}),
-	 * {@link PacketReadConfigurationByte}, {@link PacketReadCurrent},
-	 * {@link PacketReadStationState}, {@link PacketSensor} (with sub packets:
-	 * {@link PacketSensorDefine}, {@link PacketSensorDelete},
-	 * {@link PacketSensorList}), {@link PacketSensorState} (with sub packets:
-	 * {@link PacketSensorStateActive}, {@link PacketSensorStateList}),
-	 * {@link PacketSensorStateInactive}, @{@link PacketStationInfo},
-	 * {@link PacketStoreSettings}, {@link PacketTrackPowerOff},
-	 * {@link PacketTrackPowerOn}, {@link PacketTrackPowerState},
-	 * {@link PacketTurnout} (with sub packets {@link PacketTurnoutDefine},
-	 * {@link PacketTurnoutDelete}, {@link PacketTurnoutList},
-	 * {@link PacketTurnoutThrow}),
-	 * 
-	 * @param factory
-	 *            The packet factory to register the packets for.
-	 */
-	@SuppressWarnings("unchecked")
-	public static void regiserDefaultPackets(PacketFactory factory) {
-		for (int i = 0; i < DEFAULT_PACKET_BUILDERS.size(); i++) {
-			try {
-				factory.registerBuilder(
-						(PacketBuilder<Packet>) DEFAULT_PACKET_BUILDERS.get(i),
-						(Class<Packet>) DEFAULT_PACKET_BUILDER_CLASSES.get(i),
-						DEFAULT_PACKET_BUILDER_CHARS.get(i));
-			}
-			catch (IllegalStateException ex) {}
-		}
-	}
-
-	private final Map<Class<?>, PacketBuilder<?>> BUILDERS_BY_CLASS = new HashMap<>();
-	private final Map<Character, PacketBuilder<?>> BUILDERS_BY_CHAR = new HashMap<>();
-
-	@Override
-	public <P extends Packet> void registerBuilder(PacketBuilder<P> builder,
-			Class<P> clazz, char typeChar) {
-		Objects.requireNonNull(builder, "builder");
-		Objects.requireNonNull(clazz, "clazz");
-		if (BUILDERS_BY_CLASS.containsKey(clazz)) {
-			throw new IllegalStateException(
-					"builder for class " + clazz.getName() + " already exists");
-		}
-		if (BUILDERS_BY_CHAR.containsKey(typeChar)) {
-			throw new IllegalStateException(
-					"builder for char '" + typeChar + "' already exists");
-		}
-		BUILDERS_BY_CLASS.put(clazz, builder);
-		BUILDERS_BY_CHAR.put(typeChar, builder);
-	}
-
-	@Override
-	@SuppressWarnings("unchecked")
-	public <P extends Packet> P buildPacket(Class<P> packetClass,
-			List<String> parameters) {
-		PacketBuilder<P> builder = (PacketBuilder<P>) BUILDERS_BY_CLASS.get(packetClass);
-		if (builder != null) {
-			return builder.build(parameters);
-		}
-		return null;
-	}
-
-	@Override
-	public Packet buildPacket(char typeChar, List<String> parameters) {
-		PacketBuilder<?> builder = BUILDERS_BY_CHAR.get(typeChar);
-		if (builder != null) {
-			return builder.build(parameters);
-		}
-		return null;
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketAccessoryOperate;
+import org.tenje.jtrain.dccpp.PacketBuilder;
+import org.tenje.jtrain.dccpp.PacketClearSettings;
+import org.tenje.jtrain.dccpp.PacketEngineThrottle;
+import org.tenje.jtrain.dccpp.PacketFactory;
+import org.tenje.jtrain.dccpp.PacketListBitContents;
+import org.tenje.jtrain.dccpp.PacketOperationFailed;
+import org.tenje.jtrain.dccpp.PacketOperationSuccessful;
+import org.tenje.jtrain.dccpp.PacketOutputPin;
+import org.tenje.jtrain.dccpp.PacketOutputPinDefine;
+import org.tenje.jtrain.dccpp.PacketOutputPinDelete;
+import org.tenje.jtrain.dccpp.PacketOutputPinList;
+import org.tenje.jtrain.dccpp.PacketOutputPinSetState;
+import org.tenje.jtrain.dccpp.PacketReadConfigurationByte;
+import org.tenje.jtrain.dccpp.PacketReadCurrent;
+import org.tenje.jtrain.dccpp.PacketReadStationState;
+import org.tenje.jtrain.dccpp.PacketSensor;
+import org.tenje.jtrain.dccpp.PacketSensorData;
+import org.tenje.jtrain.dccpp.PacketSensorDefine;
+import org.tenje.jtrain.dccpp.PacketSensorDelete;
+import org.tenje.jtrain.dccpp.PacketSensorList;
+import org.tenje.jtrain.dccpp.PacketSensorState;
+import org.tenje.jtrain.dccpp.PacketSensorStateActive;
+import org.tenje.jtrain.dccpp.PacketSensorStateInactive;
+import org.tenje.jtrain.dccpp.PacketSensorStateList;
+import org.tenje.jtrain.dccpp.PacketStationInfo;
+import org.tenje.jtrain.dccpp.PacketStoreSettings;
+import org.tenje.jtrain.dccpp.PacketTrackPowerOff;
+import org.tenje.jtrain.dccpp.PacketTrackPowerOn;
+import org.tenje.jtrain.dccpp.PacketTrackPowerState;
+import org.tenje.jtrain.dccpp.PacketTrainFunction;
+import org.tenje.jtrain.dccpp.PacketTurnout;
+import org.tenje.jtrain.dccpp.PacketTurnoutDefine;
+import org.tenje.jtrain.dccpp.PacketTurnoutDelete;
+import org.tenje.jtrain.dccpp.PacketTurnoutList;
+import org.tenje.jtrain.dccpp.PacketTurnoutState;
+import org.tenje.jtrain.dccpp.PacketTurnoutThrow;
+
+/**
+ * This class is a concrete implementation of the {@link PacketFactory}
+ * interface.
+ * 
+ * @author Jonas Tennié
+ * @see PacketBuilder
+ */
+public class PacketFactoryImpl implements PacketFactory {
+
+	// Used by #regiserDefaultPackets()
+	private static final List<PacketBuilder<? extends Packet>> DEFAULT_PACKET_BUILDERS = new ArrayList<>();
+	private static final List<Class<? extends Packet>> DEFAULT_PACKET_BUILDER_CLASSES = new ArrayList<>();
+	private static final List<Character> DEFAULT_PACKET_BUILDER_CHARS = new ArrayList<>();
+	// -1 if the builder is not a sub packet builder
+	private static final List<Integer> DEFAULT_PACKET_BUILDER_PARAMETER_COUNTS = new ArrayList<>();
+
+	// Initialize default packet builders
+	static {
+		addDefaultBuilder(PacketAccessoryOperateImpl.BUILDER,
+				PacketAccessoryOperate.class, PacketAccessoryOperate.TYPE_CHAR);
+		addDefaultBuilder(PacketClearSettingsImpl.BUILDER, PacketClearSettings.class,
+				PacketClearSettings.TYPE_CHAR);
+		addDefaultBuilder(PacketEngineThrottleImpl.BUILDER, PacketEngineThrottle.class,
+				PacketEngineThrottle.TYPE_CHAR);
+		addDefaultBuilder(PacketTrainFunctionImpl.BUILDER, PacketTrainFunction.class,
+				PacketTrainFunction.TYPE_CHAR);
+		addDefaultBuilder(PacketListBitContentsImpl.BUILDER, PacketListBitContents.class,
+				PacketListBitContents.TYPE_CHAR);
+		addDefaultBuilder(PacketOperationFailedImpl.BUILDER, PacketOperationFailed.class,
+				PacketOperationFailed.TYPE_CHAR);
+		addDefaultBuilder(PacketOperationSuccessfulImpl.BUILDER,
+				PacketOperationSuccessful.class, PacketOperationSuccessful.TYPE_CHAR);
+		addDefaultBuilder(PacketOutputPinImpl.BUILDER, PacketOutputPin.class,
+				PacketOutputPin.TYPE_CHAR);
+		addDefaultBuilder(PacketReadConfigurationByteImpl.BUILDER,
+				PacketReadConfigurationByte.class, PacketReadConfigurationByte.TYPE_CHAR);
+		addDefaultBuilder(PacketReadCurrentImpl.BUILDER, PacketReadCurrent.class,
+				PacketReadCurrent.TYPE_CHAR);
+		addDefaultBuilder(PacketReadStationStateImpl.BUILDER,
+				PacketReadStationState.class, PacketReadStationState.TYPE_CHAR);
+		addDefaultBuilder(PacketSensorImpl.BUILDER, PacketSensor.class,
+				PacketSensor.TYPE_CHAR);
+		addDefaultBuilder(PacketSensorStateImpl.BUILDER, PacketSensorState.class,
+				PacketSensorState.TYPE_CHAR);
+		addDefaultBuilder(PacketSensorStateInactiveImpl.BUILDER,
+				PacketSensorStateInactive.class, PacketSensorStateInactive.TYPE_CHAR);
+		addDefaultBuilder(PacketStationInfoImpl.BUILDER, PacketStationInfo.class,
+				PacketStationInfo.TYPE_CHAR);
+		addDefaultBuilder(PacketStoreSettingsImpl.BUILDER, PacketStoreSettings.class,
+				PacketStoreSettings.TYPE_CHAR);
+		addDefaultBuilder(PacketTrackPowerOffImpl.BUILDER, PacketTrackPowerOff.class,
+				PacketTrackPowerOff.TYPE_CHAR);
+		addDefaultBuilder(PacketTrackPowerOnImpl.BUILDER, PacketTrackPowerOn.class,
+				PacketTrackPowerOn.TYPE_CHAR);
+		addDefaultBuilder(PacketTrackPowerStateImpl.BUILDER, PacketTrackPowerState.class,
+				PacketTrackPowerState.TYPE_CHAR);
+		addDefaultBuilder(PacketTurnoutImpl.BUILDER, PacketTurnout.class,
+				PacketTurnout.TYPE_CHAR);
+		addDefaultBuilder(PacketTurnoutStateImpl.BUILDER, PacketTurnoutState.class,
+				PacketTurnoutState.TYPE_CHAR);
+		// Sub packets
+		addDefaultBuilder(PacketOutputPinListImpl.BUILDER, PacketOutputPinList.class,
+				PacketOutputPin.TYPE_CHAR, 0);
+		addDefaultBuilder(PacketOutputPinDeleteImpl.BUILDER, PacketOutputPinDelete.class,
+				PacketOutputPin.TYPE_CHAR, 1);
+		addDefaultBuilder(PacketOutputPinSetStateImpl.BUILDER,
+				PacketOutputPinSetState.class, PacketOutputPin.TYPE_CHAR, 2);
+		addDefaultBuilder(PacketOutputPinDefineImpl.BUILDER, PacketOutputPinDefine.class,
+				PacketOutputPin.TYPE_CHAR, 3);
+		addDefaultBuilder(PacketSensorListImpl.BUILDER, PacketSensorList.class,
+				PacketSensor.TYPE_CHAR, 0);
+		addDefaultBuilder(PacketSensorDeleteImpl.BUILDER, PacketSensorDelete.class,
+				PacketSensor.TYPE_CHAR, 1);
+		addDefaultBuilder(PacketSensorDefineImpl.BUILDER, PacketSensorDefine.class,
+				PacketSensor.TYPE_CHAR, 3);
+		addDefaultBuilder(PacketSensorStateListImpl.BUILDER, PacketSensorStateList.class,
+				PacketSensorState.TYPE_CHAR, 0);
+		addDefaultBuilder(PacketSensorStateActiveImpl.BUILDER,
+				PacketSensorStateActive.class, PacketSensorState.TYPE_CHAR, 1);
+		addDefaultBuilder(PacketSensorDataImpl.BUILDER, PacketSensorData.class,
+				PacketSensorState.TYPE_CHAR, 2);
+		addDefaultBuilder(PacketTurnoutListImpl.BUILDER, PacketTurnoutList.class,
+				PacketTurnout.TYPE_CHAR, 0);
+		addDefaultBuilder(PacketTurnoutDeleteImpl.BUILDER, PacketTurnoutDelete.class,
+				PacketTurnout.TYPE_CHAR, 1);
+		addDefaultBuilder(PacketTurnoutThrowImpl.BUILDER, PacketTurnoutThrow.class,
+				PacketTurnout.TYPE_CHAR, 2);
+		addDefaultBuilder(PacketTurnoutDefineImpl.BUILDER, PacketTurnoutDefine.class,
+				PacketTurnout.TYPE_CHAR, 3);
+	}
+
+	private static void addDefaultBuilder(PacketBuilder<? extends Packet> builder,
+			Class<? extends Packet> clazz, char typeChar) {
+		addDefaultBuilder(builder, clazz, typeChar, -1);
+	}
+
+	private static void addDefaultBuilder(PacketBuilder<? extends Packet> builder,
+			Class<? extends Packet> clazz, char typeChar, int parameterCount) {
+		DEFAULT_PACKET_BUILDERS.add(builder);
+		DEFAULT_PACKET_BUILDER_CLASSES.add(clazz);
+		DEFAULT_PACKET_BUILDER_CHARS.add(typeChar);
+		DEFAULT_PACKET_BUILDER_PARAMETER_COUNTS.add(parameterCount);
+	}
+
+	/**
+	 * Registers {@link PacketBuilder}s for the following {@link Packet} types
+	 * for a {@link PacketFactory} using
+	 * {@link PacketFactory#registerBuilder(PacketBuilder, Class, char)}.
+	 * <code>Packet</code> types that are already registered are ignored:<br>
+	 * {@link PacketAccessoryOperate}, {@link PacketClearSettings},
+	 * {@link PacketEngineThrottle}, {@link PacketTrainFunction},
+	 * {@link PacketListBitContents}, {@link PacketOperationFailed},
+	 * {@link PacketOperationSuccessful}, {@link PacketOutputPin} (with sub
+	 * packets: {@link PacketOutputPinDefine}, {@link PacketOutputPinDelete},
+	 * {@link PacketOutputPinList}, {@link PacketOutputPinSetState}),
+	 * {@link PacketReadConfigurationByte}, {@link PacketReadCurrent},
+	 * {@link PacketReadStationState}, {@link PacketSensor} (with sub packets:
+	 * {@link PacketSensorDefine}, {@link PacketSensorDelete},
+	 * {@link PacketSensorList}), {@link PacketSensorState} (with sub packets:
+	 * {@link PacketSensorStateActive}, {@link PacketSensorStateList}),
+	 * {@link PacketSensorStateInactive}, @{@link PacketStationInfo},
+	 * {@link PacketStoreSettings}, {@link PacketTrackPowerOff},
+	 * {@link PacketTrackPowerOn}, {@link PacketTrackPowerState},
+	 * {@link PacketTurnout} (with sub packets {@link PacketTurnoutDefine},
+	 * {@link PacketTurnoutDelete}, {@link PacketTurnoutList},
+	 * {@link PacketTurnoutThrow}). The sub packets are registered using
+	 * {@link PacketFactory#registerBuilder(PacketBuilder, Class, char, int)},
+	 * so they are built directly by the factory.
+	 * 
+	 * @param factory
+	 *            The packet factory to register the packets for.
+	 */
+	@SuppressWarnings("unchecked")
+	public static void regiserDefaultPackets(PacketFactory factory) {
+		int parameterCount;
+		for (int i = 0; i < DEFAULT_PACKET_BUILDERS.size(); i++) {
+			parameterCount = DEFAULT_PACKET_BUILDER_PARAMETER_COUNTS.get(i);
+			try {
+				if (parameterCount < 0) {
+					factory.registerBuilder(
+							(PacketBuilder<Packet>) DEFAULT_PACKET_BUILDERS.get(i),
+							(Class<Packet>) DEFAULT_PACKET_BUILDER_CLASSES.get(i),
+							DEFAULT_PACKET_BUILDER_CHARS.get(i));
+				}
+				else {
+					factory.registerBuilder(
+							(PacketBuilder<Packet>) DEFAULT_PACKET_BUILDERS.get(i),
+							(Class<Packet>) DEFAULT_PACKET_BUILDER_CLASSES.get(i),
+							DEFAULT_PACKET_BUILDER_CHARS.get(i), parameterCount);
+				}
+			}
+			catch (IllegalStateException ex) {}
+		}
+	}
+
+	// Type chars are ASCII chars
+	private static final int TYPE_CHAR_COUNT = 128;
+
+	private final Map<Class<?>, PacketBuilder<?>> BUILDERS_BY_CLASS = new HashMap<>();
+	private final PacketBuilder<?>[] BUILDERS_BY_CHAR = new PacketBuilder<?>[TYPE_CHAR_COUNT];
+	// Sub packet builders by type char, indexed by the registered parameter count
+	private final PacketBuilder<?>[][] SUB_BUILDERS_BY_CHAR = new PacketBuilder<?>[TYPE_CHAR_COUNT][];
+	// Sub packet builders by type char, resolved for each parameter count
+	private final PacketBuilder<?>[][] RESOLVED_SUB_BUILDERS_BY_CHAR = new PacketBuilder<?>[TYPE_CHAR_COUNT][];
+
+	/**
+	 * {@inheritDoc} Only ASCII type chars (0-127) are supported.
+	 */
+	@Override
+	public <P extends Packet> void registerBuilder(PacketBuilder<P> builder,
+			Class<P> clazz, char typeChar) {
+		Objects.requireNonNull(builder, "builder");
+		Objects.requireNonNull(clazz, "clazz");
+		checkTypeChar(typeChar);
+		if (BUILDERS_BY_CLASS.containsKey(clazz)) {
+			throw new IllegalStateException(
+					"builder for class " + clazz.getName() + " already exists");
+		}
+		if (BUILDERS_BY_CHAR[typeChar] != null) {
+			throw new IllegalStateException(
+					"builder for char '" + typeChar + "' already exists");
+		}
+		BUILDERS_BY_CLASS.put(clazz, builder);
+		BUILDERS_BY_CHAR[typeChar] = builder;
+	}
+
+	/**
+	 * {@inheritDoc} Only ASCII type chars (0-127) are supported.
+	 */
+	@Override
+	public <P extends Packet> void registerBuilder(PacketBuilder<P> builder,
+			Class<P> clazz, char typeChar, int parameterCount) {
+		Objects.requireNonNull(builder, "builder");
+		Objects.requireNonNull(clazz, "clazz");
+		checkTypeChar(typeChar);
+		if (parameterCount < 0) {
+			throw new IllegalArgumentException(
+					"parameter count value out of valid range: " + parameterCount);
+		}
+		if (BUILDERS_BY_CLASS.containsKey(clazz)) {
+			throw new IllegalStateException(
+					"builder for class " + clazz.getName() + " already exists");
+		}
+		PacketBuilder<?>[] subBuilders = SUB_BUILDERS_BY_CHAR[typeChar];
+		if (subBuilders == null) {
+			subBuilders = new PacketBuilder<?>[parameterCount + 1];
+		}
+		else if (parameterCount < subBuilders.length) {
+			if (subBuilders[parameterCount] != null) {
+				throw new IllegalStateException("builder for char '" + typeChar
+						+ "' with " + parameterCount + " parameters already exists");
+			}
+		}
+		else {
+			subBuilders = Arrays.copyOf(subBuilders, parameterCount + 1);
+		}
+		subBuilders[parameterCount] = builder;
+		// Resolve builder for each parameter count: Use the builder with the
+		// greatest registered parameter count <= the parameter count
+		PacketBuilder<?>[] resolved = new PacketBuilder<?>[subBuilders.length];
+		PacketBuilder<?> current = null;
+		for (int i = 0; i < subBuilders.length; i++) {
+			if (subBuilders[i] != null) {
+				current = subBuilders[i];
+			}
+			resolved[i] = current;
+		}
+		BUILDERS_BY_CLASS.put(clazz, builder);
+		SUB_BUILDERS_BY_CHAR[typeChar] = subBuilders;
+		RESOLVED_SUB_BUILDERS_BY_CHAR[typeChar] = resolved;
+	}
+
+	private static void checkTypeChar(char typeChar) {
+		if (typeChar >= TYPE_CHAR_COUNT) {
+			throw new IllegalArgumentException("type char out of valid range: " + typeChar);
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <P extends Packet> P buildPacket(Class<P> packetClass,
+			List<String> parameters) {
+		PacketBuilder<P> builder = (PacketBuilder<P>) BUILDERS_BY_CLASS.get(packetClass);
+		if (builder != null) {
+			return builder.build(parameters);
+		}
+		return null;
+	}
+
+	@Override
+	public Packet buildPacket(char typeChar, List<String> parameters) {
+		if (typeChar >= TYPE_CHAR_COUNT) {
+			return null;
+		}
+		PacketBuilder<?> builder = null;
+		PacketBuilder<?>[] subBuilders = RESOLVED_SUB_BUILDERS_BY_CHAR[typeChar];
+		if (subBuilders != null) {
+			builder = subBuilders[Math.min(parameters.size(), subBuilders.length - 1)];
+		}
+		if (builder == null) {
+			builder = BUILDERS_BY_CHAR[typeChar];
+		}
+		if (builder != null) {
+			return builder.build(parameters);
+		}
+		return null;
+	}
+
+}
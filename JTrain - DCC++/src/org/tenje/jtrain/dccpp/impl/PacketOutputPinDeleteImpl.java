@@ -1,87 +1,87 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp.impl;
-
-import java.util.Arrays;
-import java.util.List;
-
-import org.tenje.jtrain.dccpp.PacketBuilder;
-import org.tenje.jtrain.dccpp.PacketOutputPinDelete;
-
-/**
- * This class is a concrete implementation of the {@link PacketOutputPinDelete}
- * interface.
- * 
- * @author Jonas Tenni
- */
-public class PacketOutputPinDeleteImpl extends PacketOutputPinImpl implements PacketOutputPinDelete {
-
-	/**
-	 * {@link PacketBuilder} to build a {@link PacketOutputPinDelete}.
-	 */
-	public static final PacketBuilder<PacketOutputPinDelete> BUILDER = new PacketBuilder<PacketOutputPinDelete>() {
-		@Override
-		public PacketOutputPinDelete build(List<String> parameters) {
-			return new PacketOutputPinDeleteImpl(parameters);
-		}
-	};
-
-	private final int id;
-
-	/**
-	 * Constructs a new {@link PacketOutputPinDeleteImpl} with the raw packet
-	 * data containing the id.
-	 * 
-	 * @param parameters
-	 *            The raw packet parameters. The first index (0) is the id.
-	 * @throws IllegalArgumentException
-	 *             Thrown if id does not lay in range (0-32767).
-	 * @throws NumberFormatException
-	 *             Thrown if the first index (0) is not a number or is
-	 *             <code>null</code>.
-	 * @throws IndexOutOfBoundsException
-	 *             Thrown if <code>parameters</code> is empty.
-	 */
-	public PacketOutputPinDeleteImpl(List<String> parameters) {
-		super(parameters);
-		id = Integer.parseInt(parameters.get(0));
-		if (id < 0 || id > 32767) {
-			throw new IllegalArgumentException("id value out of valid range: " + id);
-		}
-	}
-
-	/**
-	 * Constructs a new {@link PacketOutputPinDeleteImpl} with the specified id.
-	 * 
-	 * @param id
-	 *            The ID in range (0-32767).
-	 * @throws IllegalArgumentException
-	 *             Thrown if <code>id</code> does not lay in range (0-32767).
-	 */
-	public PacketOutputPinDeleteImpl(int id) {
-		super(Arrays.asList(String.valueOf(id)));
-		if (id < 0 || id > 32767) {
-			throw new IllegalArgumentException("id value out of valid range: " + id);
-		}
-		this.id = id;
-	}
-
-	@Override
-	public int getId() {
-		return id;
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.tenje.jtrain.dccpp.PacketBuilder;
+import org.tenje.jtrain.dccpp.PacketOutputPinDelete;
+
+/**
+ * This class is a concrete implementation of the {@link PacketOutputPinDelete}
+ * interface.
+ * 
+ * @author Jonas Tennié
+ */
+public class PacketOutputPinDeleteImpl extends PacketOutputPinImpl implements PacketOutputPinDelete {
+
+	/**
+	 * {@link PacketBuilder} to build a {@link PacketOutputPinDelete}.
+	 */
+	public static final PacketBuilder<PacketOutputPinDelete> BUILDER = new PacketBuilder<PacketOutputPinDelete>() {
+		@Override
+		public PacketOutputPinDelete build(List<String> parameters) {
+			return new PacketOutputPinDeleteImpl(parameters);
+		}
+	};
+
+	private final int id;
+
+	/**
+	 * Constructs a new {@link PacketOutputPinDeleteImpl} with the raw packet
+	 * data containing the id.
+	 * 
+	 * @param parameters
+	 *            The raw packet parameters. The first index (0) is the id.
+	 * @throws IllegalArgumentException
+	 *             Thrown if id does not lay in range (0-32767).
+	 * @throws NumberFormatException
+	 *             Thrown if the first index (0) is not a number or is
+	 *             <code>null</code>.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>parameters</code> is empty.
+	 */
+	public PacketOutputPinDeleteImpl(List<String> parameters) {
+		super(parameters);
+		id = Integer.parseInt(parameters.get(0));
+		if (id < 0 || id > 32767) {
+			throw new IllegalArgumentException("id value out of valid range: " + id);
+		}
+	}
+
+	/**
+	 * Constructs a new {@link PacketOutputPinDeleteImpl} with the specified id.
+	 * 
+	 * @param id
+	 *            The ID in range (0-32767).
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>id</code> does not lay in range (0-32767).
+	 */
+	public PacketOutputPinDeleteImpl(int id) {
+		super(Arrays.asList(String.valueOf(id)));
+		if (id < 0 || id > 32767) {
+			throw new IllegalArgumentException("id value out of valid range: " + id);
+		}
+		this.id = id;
+	}
+
+	@Override
+	public int getId() {
+		return id;
+	}
+
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import org.tenje.jtrain.dccpp.Packet;
+
+/**
+ * An immutable list of raw packet parameters (see
+ * {@link Packet#getRawParameters()}) backed by the bytes of a received frame.
+ * The {@link String}s of the parameters are only created when they are
+ * accessed using {@link #get(int)}. Numeric parameters can be read without
+ * creating a <code>String</code> using {@link #getInt(int)}.
+ * <p>
+ * {@link AbstractPacket} does not copy lists of this type.
+ * 
+ * @author Jonas Tennié
+ */
+public class PacketParameterList extends AbstractList<String> implements RandomAccess {
+
+	private final byte[] data;
+	// Start and end index of each parameter in data
+	private final int[] bounds;
+	private final String[] strings;
+
+	/**
+	 * Constructs a new {@link PacketParameterList}. The bytes of the parameters
+	 * are copied.
+	 * 
+	 * @param data
+	 *            The array containing the parameters as ASCII chars.
+	 * @param starts
+	 *            The start index (inclusive) of each parameter in
+	 *            <code>data</code>.
+	 * @param ends
+	 *            The end index (exclusive) of each parameter in
+	 *            <code>data</code>.
+	 * @param size
+	 *            The number of parameters.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if one of the indexes is out of range.
+	 */
+	public PacketParameterList(byte[] data, int[] starts, int[] ends, int size) {
+		int from = size == 0 ? 0 : starts[0];
+		int to = size == 0 ? 0 : ends[size - 1];
+		this.data = Arrays.copyOfRange(data, from, to);
+		bounds = new int[size * 2];
+		for (int i = 0; i < size; i++) {
+			bounds[i * 2] = starts[i] - from;
+			bounds[i * 2 + 1] = ends[i] - from;
+		}
+		strings = new String[size];
+	}
+
+	@Override
+	public String get(int index) {
+		String string = strings[index];
+		if (string == null) {
+			string = new String(data, bounds[index * 2],
+					bounds[index * 2 + 1] - bounds[index * 2], StandardCharsets.ISO_8859_1);
+			strings[index] = string;
+		}
+		return string;
+	}
+
+	@Override
+	public int size() {
+		return strings.length;
+	}
+
+	/**
+	 * Parses the parameter at the specified index as signed decimal integer
+	 * without creating a {@link String}.
+	 * 
+	 * @param index
+	 *            The index of the parameter.
+	 * @return The parsed integer.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>index</code> does not lay in range
+	 *             (0-({@link #size()}-1)).
+	 * @throws NumberFormatException
+	 *             Thrown if the parameter is not a valid integer.
+	 * @see Integer#parseInt(String)
+	 */
+	public int getInt(int index) {
+		checkIndex(index);
+		return parseInt(data, bounds[index * 2], bounds[index * 2 + 1]);
+	}
+
+	/**
+	 * Returns <code>true</code> if the parameter at the specified index equals
+	 * the specified value. No {@link String} is created.
+	 * 
+	 * @param index
+	 *            The index of the parameter.
+	 * @param value
+	 *            The value to compare.
+	 * @return <code>true</code> if the parameter equals <code>value</code>,
+	 *         otherwise <code>false</code>.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>index</code> does not lay in range
+	 *             (0-({@link #size()}-1)).
+	 */
+	public boolean equals(int index, String value) {
+		checkIndex(index);
+		int from = bounds[index * 2];
+		int length = bounds[index * 2 + 1] - from;
+		if (length != value.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if ((data[from + i] & 0xFF) != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= strings.length) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Size: " + strings.length);
+		}
+	}
+
+	/**
+	 * Parses the ASCII chars in the specified range as signed decimal integer.
+	 * 
+	 * @param data
+	 *            The array containing the chars.
+	 * @param from
+	 *            The start index (inclusive).
+	 * @param to
+	 *            The end index (exclusive).
+	 * @return The parsed integer.
+	 * @throws NumberFormatException
+	 *             Thrown if the chars are not a valid integer.
+	 * @see Integer#parseInt(String)
+	 */
+	public static int parseInt(byte[] data, int from, int to) {
+		int index = from;
+		boolean negative = false;
+		if (index < to && (data[index] == '-' || data[index] == '+')) {
+			negative = data[index] == '-';
+			index++;
+		}
+		if (index == to) {
+			throw numberFormatException(data, from, to);
+		}
+		long value = 0;
+		int digit;
+		for (; index < to; index++) {
+			digit = data[index] - '0';
+			if (digit < 0 || digit > 9) {
+				throw numberFormatException(data, from, to);
+			}
+			value = value * 10 + digit;
+			if (value > (long) Integer.MAX_VALUE + 1) {
+				throw numberFormatException(data, from, to);
+			}
+		}
+		if (negative) {
+			value = -value;
+		}
+		if (value > Integer.MAX_VALUE) {
+			throw numberFormatException(data, from, to);
+		}
+		return (int) value;
+	}
+
+	private static NumberFormatException numberFormatException(byte[] data, int from,
+			int to) {
+		return new NumberFormatException("For input string: \""
+				+ new String(data, from, to - from, StandardCharsets.ISO_8859_1) + "\"");
+	}
+
+}
@@ -1,205 +1,440 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp.impl;
-
-import java.io.IOException;
-import java.util.Map.Entry;
-import java.util.Objects;
-
-import org.tenje.jtrain.AbstractInputRegistry;
-import org.tenje.jtrain.AccessoryDecoderAddress;
-import org.tenje.jtrain.Address;
-import org.tenje.jtrain.AddressRegistry;
-import org.tenje.jtrain.InputRegistry;
-import org.tenje.jtrain.Sensor;
-import org.tenje.jtrain.SensorListener;
-import org.tenje.jtrain.SimpleAddressRegistry;
-import org.tenje.jtrain.dccpp.LocalPacketBroker;
-import org.tenje.jtrain.dccpp.Packet;
-import org.tenje.jtrain.dccpp.PacketBroker;
-import org.tenje.jtrain.dccpp.PacketListeningRegistry;
-import org.tenje.jtrain.dccpp.PacketSensor;
-import org.tenje.jtrain.dccpp.PacketSensorDefine;
-import org.tenje.jtrain.dccpp.PacketSensorDelete;
-import org.tenje.jtrain.dccpp.PacketSensorList;
-import org.tenje.jtrain.dccpp.PacketSensorStateActive;
-import org.tenje.jtrain.dccpp.PacketSensorStateInactive;
-import org.tenje.jtrain.dccpp.PacketSensorStateList;
-
-/**
- * An {@link InputRegistry} and {@link PacketListeningRegistry} for
- * {@link Sensor}s. Listens (and responds) to the following {@link Packet}s:
- * {@link PacketSensorDefine}, {@link PacketSensorDelete},
- * {@link PacketSensorList}, {@link PacketSensorStateList}.<br />
- * Also listens to sensor state changes of all registered sensors and sends
- * {@link PacketSensorStateActive} and {@link PacketSensorStateInactive} on
- * state change.
- * 
- * @author Jonas Tenni
- */
-public class PacketSensorRegistry extends AbstractInputRegistry<Sensor>
-		implements PacketListeningRegistry, SensorListener {
-
-	private final AddressRegistry addressRegistry = new SimpleAddressRegistry();
-	private LocalPacketBroker sender;
-	private PacketBroker receiver;
-
-	/**
-	 * Constructs a new {@link PacketSensorRegistry} with the defined packet
-	 * sender and receiver to send sensor state packets.
-	 * 
-	 * @param sender
-	 *            The sender to send the sensor state packets.
-	 * @param receiver
-	 *            The receiver to receive sensor state packets.
-	 */
-	public PacketSensorRegistry(LocalPacketBroker sender, PacketBroker receiver) {
-		this.sender = Objects.requireNonNull(sender, "sender");
-		this.receiver = Objects.requireNonNull(receiver, "receiver");
-	}
-
-	@Override
-	public void packetReceived(Packet packet, PacketBroker sender,
-			LocalPacketBroker receiver) throws IOException {
-		if (packet instanceof PacketSensor) {
-			if (packet instanceof PacketSensorDefine) {
-				getAddressRegistry().defineAddress(((PacketSensorDefine) packet).getId(),
-						((PacketSensorDefine) packet).getAddress());
-				// Always successful
-				receiver.sendPacket(new PacketOperationSuccessfulImpl(), sender);
-			}
-			else if (packet instanceof PacketSensorDelete) {
-				// false if already defined
-				if (getAddressRegistry()
-						.defineAddress(((PacketSensorDelete) packet).getId(), null)) {
-					receiver.sendPacket(new PacketOperationSuccessfulImpl(), sender);
-				}
-				else {
-					receiver.sendPacket(new PacketOperationFailedImpl(), sender);
-				}
-			}
-			else if (packet instanceof PacketSensorList) {
-				Sensor sensor;
-				for (Entry<Integer, Address> entry : getAddressRegistry()
-						.getRegistrations().entrySet()) {
-					sensor = getEntries().get(entry.getValue());
-					if (sensor != null) {
-						receiver.sendPacket(new PacketSensorDataImpl(entry.getKey(),
-								(AccessoryDecoderAddress) entry.getValue(),
-								sensor.isTriggered()), sender);
-					}
-				}
-			}
-		}
-		else if (packet instanceof PacketSensorStateList) {
-			Sensor sensor;
-			for (Entry<Integer, Address> entry : getAddressRegistry().getRegistrations()
-					.entrySet()) {
-				sensor = getEntries().get(entry.getValue());
-				if (sensor != null) {
-					if (sensor.isTriggered()) {
-						receiver.sendPacket(
-								new PacketSensorStateActiveImpl(entry.getKey()), sender);
-					}
-					else {
-						receiver.sendPacket(
-								new PacketSensorStateInactiveImpl(entry.getKey()),
-								sender);
-					}
-				}
-			}
-		}
-	}
-
-	@Override
-	public AddressRegistry getAddressRegistry() {
-		return addressRegistry;
-	}
-
-	@Override
-	public Sensor register(Sensor object) {
-		object.addSensorListener(this);
-		return super.register(object);
-	}
-
-	@Override
-	public boolean remove(Sensor object) {
-		object.removeSensorListener(this);
-		return super.remove(object);
-	}
-
-	@Override
-	public void sensorStateChanged(Sensor sensor) {
-		int id = addressRegistry.getId(sensor.getAddress());
-		if (id >= 0) {
-			if (sensor.isTriggered()) {
-				try {
-					sender.sendPacket(new PacketSensorStateActiveImpl(id), receiver);
-				}
-				catch (IOException ex) {}
-			}
-			else {
-				try {
-					sender.sendPacket(new PacketSensorStateInactiveImpl(id), receiver);
-				}
-				catch (IOException ex) {}
-			}
-		}
-	}
-
-	/**
-	 * Returns the sender.
-	 * 
-	 * @return The sender.
-	 */
-	public LocalPacketBroker getSender() {
-		return sender;
-	}
-
-	/**
-	 * Sets the sender.
-	 * 
-	 * @param sender
-	 *            The sender to set.
-	 * @throws NullPointerException
-	 *             Thrown if <code>sender</code> is <code>null<code>.
-	 */
-	public void setSender(LocalPacketBroker sender) {
-		this.sender = Objects.requireNonNull(sender, "sender");
-	}
-
-	/**
-	 * Returns the receiver.
-	 * 
-	 * @return The receiver.
-	 */
-	public PacketBroker getReceiver() {
-		return receiver;
-	}
-
-	/**
-	 * Sets the receiver.
-	 * 
-	 * @param receiver
-	 *            The receiver to set.
-	 * @throws NullPointerException
-	 *             Thrown if <code>receiver</code> is <code>null<code>.
-	 */
-	public void setReceiver(PacketBroker receiver) {
-		this.receiver = Objects.requireNonNull(receiver, "receiver");
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.tenje.jtrain.AbstractInputRegistry;
+import org.tenje.jtrain.AccessoryDecoderAddress;
+import org.tenje.jtrain.Address;
+import org.tenje.jtrain.AddressRegistry;
+import org.tenje.jtrain.ConcurrentAddressRegistry;
+import org.tenje.jtrain.InputRegistry;
+import org.tenje.jtrain.Sensor;
+import org.tenje.jtrain.SensorListener;
+import org.tenje.jtrain.dccpp.LocalPacketBroker;
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketListeningRegistry;
+import org.tenje.jtrain.dccpp.PacketSensor;
+import org.tenje.jtrain.dccpp.PacketSensorDefine;
+import org.tenje.jtrain.dccpp.PacketSensorDelete;
+import org.tenje.jtrain.dccpp.PacketSensorList;
+import org.tenje.jtrain.dccpp.PacketSensorStateActive;
+import org.tenje.jtrain.dccpp.PacketSensorStateInactive;
+import org.tenje.jtrain.dccpp.PacketSensorStateList;
+
+/**
+ * An {@link InputRegistry} and {@link PacketListeningRegistry} for
+ * {@link Sensor}s. Listens (and responds) to the following {@link Packet}s:
+ * {@link PacketSensorDefine}, {@link PacketSensorDelete},
+ * {@link PacketSensorList}, {@link PacketSensorStateList}.<br />
+ * Also listens to sensor state changes of all registered sensors and sends
+ * {@link PacketSensorStateActive} and {@link PacketSensorStateInactive} on
+ * state change.
+ * <p>
+ * By default, every state change is sent immediately. To reduce the number
+ * of packets sent for noisy sensors (e.g. reed contacts), a debounce time can
+ * be set for each sensor and state (see
+ * {@link #setDebounceTime(Sensor, long, long)}): A state is only reported once
+ * the sensor stayed in this state for the debounce time. Changes which are
+ * reverted within the debounce time are not reported at all. With a
+ * {@link #setBatchTime(long) batch time}, reports are delayed by this time and
+ * all reports which are due meanwhile are sent together with one call of
+ * {@link LocalPacketBroker#sendPackets(Iterable, PacketBroker)}.
+ * <p>
+ * The registry is thread safe: Packets may be received by multiple threads
+ * while sensors change their states.
+ * 
+ * @author Jonas Tennié
+ */
+public class PacketSensorRegistry extends AbstractInputRegistry<Sensor>
+		implements PacketListeningRegistry, SensorListener {
+
+	private final AddressRegistry addressRegistry = new ConcurrentAddressRegistry();
+	// Reused for every state change, guarded by itself
+	private final MutablePacketSensorState statePacket = new MutablePacketSensorState(0,
+			false);
+	// Guarded by itself
+	private final Map<Sensor, SensorReport> reports = new LinkedHashMap<>();
+	private long defaultActiveDebounceTime, defaultInactiveDebounceTime, batchTime;
+	private Timer reportTimer;
+	private TimerTask reportTask;
+	private long reportTaskTime;
+	private LocalPacketBroker sender;
+	private PacketBroker receiver;
+
+	/**
+	 * Constructs a new {@link PacketSensorRegistry} with the defined packet
+	 * sender and receiver to send sensor state packets.
+	 * 
+	 * @param sender
+	 *            The sender to send the sensor state packets.
+	 * @param receiver
+	 *            The receiver to receive sensor state packets.
+	 */
+	public PacketSensorRegistry(LocalPacketBroker sender, PacketBroker receiver) {
+		super(new ConcurrentHashMap<Address, Sensor>());
+		this.sender = Objects.requireNonNull(sender, "sender");
+		this.receiver = Objects.requireNonNull(receiver, "receiver");
+	}
+
+	@Override
+	public void packetReceived(Packet packet, PacketBroker sender,
+			LocalPacketBroker receiver) throws IOException {
+		if (packet instanceof PacketSensor) {
+			if (packet instanceof PacketSensorDefine) {
+				getAddressRegistry().defineAddress(((PacketSensorDefine) packet).getId(),
+						((PacketSensorDefine) packet).getAddress());
+				// Always successful
+				receiver.sendPacket(PreEncodedPackets.OPERATION_SUCCESSFUL, sender);
+			}
+			else if (packet instanceof PacketSensorDelete) {
+				// false if already defined
+				if (getAddressRegistry()
+						.defineAddress(((PacketSensorDelete) packet).getId(), null)) {
+					receiver.sendPacket(PreEncodedPackets.OPERATION_SUCCESSFUL, sender);
+				}
+				else {
+					receiver.sendPacket(PreEncodedPackets.OPERATION_FAILED, sender);
+				}
+			}
+			else if (packet instanceof PacketSensorList) {
+				Sensor sensor;
+				for (Entry<Integer, Address> entry : getAddressRegistry()
+						.getRegistrations().entrySet()) {
+					sensor = getEntries().get(entry.getValue());
+					if (sensor != null) {
+						receiver.sendPacket(new PacketSensorDataImpl(entry.getKey(),
+								(AccessoryDecoderAddress) entry.getValue(),
+								sensor.isTriggered()), sender);
+					}
+				}
+			}
+		}
+		else if (packet instanceof PacketSensorStateList) {
+			Sensor sensor;
+			for (Entry<Integer, Address> entry : getAddressRegistry().getRegistrations()
+					.entrySet()) {
+				sensor = getEntries().get(entry.getValue());
+				if (sensor != null) {
+					if (sensor.isTriggered()) {
+						receiver.sendPacket(
+								new PacketSensorStateActiveImpl(entry.getKey()), sender);
+					}
+					else {
+						receiver.sendPacket(
+								new PacketSensorStateInactiveImpl(entry.getKey()),
+								sender);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public AddressRegistry getAddressRegistry() {
+		return addressRegistry;
+	}
+
+	@Override
+	public Sensor register(Sensor object) {
+		object.addSensorListener(this);
+		return super.register(object);
+	}
+
+	@Override
+	public boolean remove(Sensor object) {
+		object.removeSensorListener(this);
+		synchronized (reports) {
+			reports.remove(object);
+		}
+		return super.remove(object);
+	}
+
+	@Override
+	public void sensorStateChanged(Sensor sensor) {
+		int id = addressRegistry.getId(sensor.getAddress());
+		if (id < 0) {
+			return;
+		}
+		boolean triggered = sensor.isTriggered();
+		synchronized (reports) {
+			SensorReport report = reports.get(sensor);
+			if (report == null) {
+				report = new SensorReport(!triggered);
+				reports.put(sensor, report);
+			}
+			report.id = id;
+			report.state = triggered;
+			report.changeTime = System.nanoTime();
+			report.pending = triggered != report.reportedState;
+			long debounceTime = getDebounceTime(report, triggered);
+			if (!report.pending || debounceTime > 0 || batchTime > 0) {
+				if (report.pending) {
+					scheduleReport(report.changeTime
+							+ TimeUnit.MILLISECONDS.toNanos(debounceTime + batchTime));
+				}
+				return; // Reported later or change reverted
+			}
+			report.reportedState = triggered;
+			report.pending = false;
+		}
+		synchronized (statePacket) {
+			try {
+				sender.sendPacket(statePacket.set(id, triggered), receiver);
+			}
+			catch (IOException ex) {}
+		}
+	}
+
+	private long getDebounceTime(SensorReport report, boolean triggered) {
+		if (triggered) {
+			return report.activeDebounceTime >= 0 ? report.activeDebounceTime
+					: defaultActiveDebounceTime;
+		}
+		return report.inactiveDebounceTime >= 0 ? report.inactiveDebounceTime
+				: defaultInactiveDebounceTime;
+	}
+
+	/**
+	 * Schedules sending the due reports at the specified time (see
+	 * {@link System#nanoTime()}), unless they are already sent earlier. Must
+	 * be called while holding the lock of <code>reports</code>.
+	 */
+	private void scheduleReport(long time) {
+		if (reportTask != null) {
+			if (reportTaskTime - time <= 0) {
+				return; // Reschedules itself if necessary
+			}
+			reportTask.cancel();
+		}
+		if (reportTimer == null) {
+			reportTimer = new Timer("PacketSensorRegistry report", true);
+		}
+		reportTask = new TimerTask() {
+			@Override
+			public void run() {
+				sendReports(this);
+			}
+		};
+		reportTaskTime = time;
+		long delay = Math.max(0, time - System.nanoTime());
+		// Round up, the reports must be due when the task runs
+		reportTimer.schedule(reportTask,
+				TimeUnit.NANOSECONDS.toMillis(delay + TimeUnit.MILLISECONDS.toNanos(1) - 1));
+	}
+
+	private void sendReports(TimerTask task) {
+		List<Packet> packets = new ArrayList<>();
+		synchronized (reports) {
+			if (reportTask != task) {
+				return; // Canceled meanwhile
+			}
+			reportTask = null;
+			long now = System.nanoTime();
+			long nextDelay = Long.MAX_VALUE;
+			for (SensorReport report : reports.values()) {
+				if (report.pending) {
+					long delay = report.changeTime - now + TimeUnit.MILLISECONDS
+							.toNanos(getDebounceTime(report, report.state));
+					if (delay <= 0) {
+						packets.add(report.state ? new PacketSensorStateActiveImpl(report.id)
+								: new PacketSensorStateInactiveImpl(report.id));
+						report.reportedState = report.state;
+						report.pending = false;
+					}
+					else {
+						nextDelay = Math.min(nextDelay, delay);
+					}
+				}
+			}
+			if (nextDelay != Long.MAX_VALUE) {
+				scheduleReport(now + nextDelay + TimeUnit.MILLISECONDS.toNanos(batchTime));
+			}
+		}
+		if (!packets.isEmpty()) {
+			try {
+				sender.sendPackets(packets, receiver);
+			}
+			catch (IOException ex) {}
+		}
+	}
+
+	/**
+	 * Sets the time a registered sensor must stay in a new state until the
+	 * state is reported. Changes which are reverted within this time are not
+	 * reported. Different times for both states allow a hysteresis, e.g. to
+	 * report an occupied track immediately but to report it as free only
+	 * after some time.
+	 * 
+	 * @param sensor
+	 *            The sensor.
+	 * @param activeDebounceTime
+	 *            The debounce time in milliseconds for changes to the
+	 *            triggered state. <code>-1</code> to use the
+	 *            {@link #setDefaultDebounceTime(long, long) default}.
+	 * @param inactiveDebounceTime
+	 *            The debounce time in milliseconds for changes to the not
+	 *            triggered state. <code>-1</code> to use the
+	 *            {@link #setDefaultDebounceTime(long, long) default}.
+	 * @throws NullPointerException
+	 *             Thrown if <code>sensor</code> is <code>null</code>.
+	 * @throws IllegalArgumentException
+	 *             Thrown if one of the debounce times is less than
+	 *             <code>-1</code>.
+	 */
+	public void setDebounceTime(Sensor sensor, long activeDebounceTime,
+			long inactiveDebounceTime) {
+		Objects.requireNonNull(sensor, "sensor");
+		checkTime("active debounce time", activeDebounceTime, -1);
+		checkTime("inactive debounce time", inactiveDebounceTime, -1);
+		synchronized (reports) {
+			SensorReport report = reports.get(sensor);
+			if (report == null) {
+				report = new SensorReport(sensor.isTriggered());
+				reports.put(sensor, report);
+			}
+			report.activeDebounceTime = activeDebounceTime;
+			report.inactiveDebounceTime = inactiveDebounceTime;
+		}
+	}
+
+	/**
+	 * Sets the debounce times of all sensors without own debounce times (see
+	 * {@link #setDebounceTime(Sensor, long, long)}). <code>0</code> by default.
+	 * 
+	 * @param activeDebounceTime
+	 *            The debounce time in milliseconds for changes to the
+	 *            triggered state.
+	 * @param inactiveDebounceTime
+	 *            The debounce time in milliseconds for changes to the not
+	 *            triggered state.
+	 * @throws IllegalArgumentException
+	 *             Thrown if one of the debounce times is negative.
+	 */
+	public void setDefaultDebounceTime(long activeDebounceTime,
+			long inactiveDebounceTime) {
+		checkTime("active debounce time", activeDebounceTime, 0);
+		checkTime("inactive debounce time", inactiveDebounceTime, 0);
+		synchronized (reports) {
+			defaultActiveDebounceTime = activeDebounceTime;
+			defaultInactiveDebounceTime = inactiveDebounceTime;
+		}
+	}
+
+	/**
+	 * Sets the time reports are delayed to send them together with other
+	 * reports. <code>0</code> by default.
+	 * 
+	 * @param batchTime
+	 *            The batch time in milliseconds. <code>0</code> to send each
+	 *            report as soon as it is due.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>batchTime</code> is negative.
+	 */
+	public void setBatchTime(long batchTime) {
+		checkTime("batch time", batchTime, 0);
+		synchronized (reports) {
+			this.batchTime = batchTime;
+		}
+	}
+
+	/**
+	 * Returns the time reports are delayed to send them together with other
+	 * reports.
+	 * 
+	 * @return The batch time in milliseconds.
+	 */
+	public long getBatchTime() {
+		synchronized (reports) {
+			return batchTime;
+		}
+	}
+
+	private static void checkTime(String name, long time, long min) {
+		if (time < min) {
+			throw new IllegalArgumentException(
+					name + " value out of valid range: " + time);
+		}
+	}
+
+	/**
+	 * Returns the sender.
+	 * 
+	 * @return The sender.
+	 */
+	public LocalPacketBroker getSender() {
+		return sender;
+	}
+
+	/**
+	 * Sets the sender.
+	 * 
+	 * @param sender
+	 *            The sender to set.
+	 * @throws NullPointerException
+	 *             Thrown if <code>sender</code> is <code>null<code>.
+	 */
+	public void setSender(LocalPacketBroker sender) {
+		this.sender = Objects.requireNonNull(sender, "sender");
+	}
+
+	/**
+	 * Returns the receiver.
+	 * 
+	 * @return The receiver.
+	 */
+	public PacketBroker getReceiver() {
+		return receiver;
+	}
+
+	/**
+	 * Sets the receiver.
+	 * 
+	 * @param receiver
+	 *            The receiver to set.
+	 * @throws NullPointerException
+	 *             Thrown if <code>receiver</code> is <code>null<code>.
+	 */
+	public void setReceiver(PacketBroker receiver) {
+		this.receiver = Objects.requireNonNull(receiver, "receiver");
+	}
+
+	private static class SensorReport {
+
+		private int id;
+		private boolean state, reportedState, pending;
+		private long changeTime;
+		private long activeDebounceTime = -1, inactiveDebounceTime = -1;
+
+		private SensorReport(boolean reportedState) {
+			this.reportedState = reportedState;
+		}
+
+	}
+
+}
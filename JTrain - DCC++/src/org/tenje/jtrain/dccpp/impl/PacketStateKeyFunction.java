@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.util.List;
+
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketEngineThrottle;
+import org.tenje.jtrain.dccpp.PacketKeyFunction;
+import org.tenje.jtrain.dccpp.PacketOutputPinSetState;
+import org.tenje.jtrain.dccpp.PacketSensorStateActive;
+import org.tenje.jtrain.dccpp.PacketSensorStateInactive;
+import org.tenje.jtrain.dccpp.PacketTrainFunction;
+import org.tenje.jtrain.dccpp.PacketTurnoutState;
+import org.tenje.jtrain.dccpp.PacketTurnoutThrow;
+
+/**
+ * A {@link PacketKeyFunction} for packets which set or report a state. Packets
+ * setting or reporting the state of the same object get equal keys:
+ * <ul>
+ * <li>{@link PacketEngineThrottle}: Train address.</li>
+ * <li>{@link PacketTrainFunction}: Train address and function group.</li>
+ * <li>{@link PacketTurnoutThrow}, {@link PacketTurnoutState}: Turnout id (one
+ * key for each type).</li>
+ * <li>{@link PacketOutputPinSetState}: Output pin id.</li>
+ * <li>{@link PacketSensorStateActive}, {@link PacketSensorStateInactive},
+ * {@link MutablePacketSensorState}: Sensor id (same key for active and
+ * inactive).</li>
+ * </ul>
+ * Packets which do not implement one of these interfaces (e.g. raw frames
+ * forwarded by a station) are keyed by their type char and raw parameters
+ * the same way. All other packets (e.g. defines or deletes) have no key and
+ * are never replaced.
+ * 
+ * @author Jonas Tennié
+ */
+public class PacketStateKeyFunction implements PacketKeyFunction {
+
+	/**
+	 * The shared instance of this stateless function.
+	 */
+	public static final PacketStateKeyFunction INSTANCE = new PacketStateKeyFunction();
+
+	/**
+	 * Constructs a new {@link PacketStateKeyFunction}. Prefer the shared
+	 * {@link #INSTANCE}.
+	 */
+	public PacketStateKeyFunction() {}
+
+	@Override
+	public Object getKey(Packet packet) {
+		if (packet instanceof PacketEngineThrottle) {
+			return key(PacketEngineThrottle.TYPE_CHAR, 0,
+					((PacketEngineThrottle) packet).getAddress().getAddress());
+		}
+		else if (packet instanceof PacketTrainFunction) {
+			PacketTrainFunction function = (PacketTrainFunction) packet;
+			return key(PacketTrainFunction.TYPE_CHAR,
+					PacketTrainFunctionImpl.getFirstFunction(function.getFirstByte()),
+					function.getAddress().getAddress());
+		}
+		else if (packet instanceof PacketTurnoutThrow) {
+			return key(PacketTurnoutThrow.TYPE_CHAR, 0,
+					((PacketTurnoutThrow) packet).getId());
+		}
+		else if (packet instanceof PacketTurnoutState) {
+			return key(PacketTurnoutState.TYPE_CHAR, 0,
+					((PacketTurnoutState) packet).getId());
+		}
+		else if (packet instanceof PacketOutputPinSetState) {
+			return key(PacketOutputPinSetState.TYPE_CHAR, 0,
+					((PacketOutputPinSetState) packet).getId());
+		}
+		else if (packet instanceof PacketSensorStateActive) {
+			return key(PacketSensorStateActive.TYPE_CHAR, 0,
+					((PacketSensorStateActive) packet).getId());
+		}
+		else if (packet instanceof PacketSensorStateInactive) {
+			return key(PacketSensorStateActive.TYPE_CHAR, 0,
+					((PacketSensorStateInactive) packet).getId());
+		}
+		else if (packet instanceof MutablePacketSensorState) {
+			return key(PacketSensorStateActive.TYPE_CHAR, 0,
+					((MutablePacketSensorState) packet).getId());
+		}
+		return getRawKey(packet);
+	}
+
+	private static Object getRawKey(Packet packet) {
+		List<String> parameters = packet.getRawParameters();
+		try {
+			switch (packet.getTypeChar()) {
+				case PacketEngineThrottle.TYPE_CHAR: // <t REGISTER CAB SPEED DIRECTION>
+					if (parameters.size() == 4) {
+						return key(PacketEngineThrottle.TYPE_CHAR, 0,
+								getInt(parameters, 1));
+					}
+				break;
+				case PacketTrainFunction.TYPE_CHAR: // <f CAB BYTE1 [BYTE2]>
+					if (parameters.size() == 2 || parameters.size() == 3) {
+						int firstFunction = PacketTrainFunctionImpl
+								.getFirstFunction(getInt(parameters, 1));
+						if (firstFunction >= 0) {
+							return key(PacketTrainFunction.TYPE_CHAR, firstFunction,
+									getInt(parameters, 0));
+						}
+					}
+				break;
+				case PacketTurnoutThrow.TYPE_CHAR: // <T ID THROW>
+				case PacketTurnoutState.TYPE_CHAR: // <H ID THROW>
+				case PacketOutputPinSetState.TYPE_CHAR: // <Z ID STATE>
+					if (parameters.size() == 2) {
+						return key(packet.getTypeChar(), 0, getInt(parameters, 0));
+					}
+				break;
+				case PacketSensorStateActive.TYPE_CHAR: // <Q ID>
+				case PacketSensorStateInactive.TYPE_CHAR: // <q ID>
+					if (parameters.size() == 1) {
+						return key(PacketSensorStateActive.TYPE_CHAR, 0,
+								getInt(parameters, 0));
+					}
+				break;
+			}
+		}
+		catch (NumberFormatException ex) {} // Invalid packet, never replaced
+		return null;
+	}
+
+	private static int getInt(List<String> parameters, int index) {
+		if (parameters instanceof PacketParameterList) { // Without a String
+			return ((PacketParameterList) parameters).getInt(index);
+		}
+		return Integer.parseInt(parameters.get(index));
+	}
+
+	private static Long key(char typeChar, int group, int id) {
+		return (long) typeChar << 48 | (long) (group & 0xFFFF) << 32 | id & 0xFFFFFFFFL;
+	}
+
+}
@@ -1,71 +1,143 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp.impl;
-
-import java.io.IOException;
-import java.util.Map.Entry;
-
-import org.tenje.jtrain.AbstractOutputRegistry;
-import org.tenje.jtrain.OutputRegistry;
-import org.tenje.jtrain.Train;
-import org.tenje.jtrain.TrainFunction;
-import org.tenje.jtrain.dccpp.LocalPacketBroker;
-import org.tenje.jtrain.dccpp.Packet;
-import org.tenje.jtrain.dccpp.PacketBroker;
-import org.tenje.jtrain.dccpp.PacketEngineThrottle;
-import org.tenje.jtrain.dccpp.PacketListener;
-import org.tenje.jtrain.dccpp.PacketTrainFunction;
-
-import java.util.Set;
-
-/**
- * An {@link OutputRegistry} and {@link PacketListener} for {@link Train}s.
- * Listens (and responds) to the following {@link Packet}s:
- * {@link PacketEngineThrottle}, {@link PacketTrainFunction}.
- * 
- * @author Jonas Tenni
- */
-public class PacketTrainRegistry extends AbstractOutputRegistry<Train> implements PacketListener {
-
-	@Override
-	public void packetReceived(Packet packet, PacketBroker sender, LocalPacketBroker receiver) throws IOException {
-		if (packet instanceof PacketEngineThrottle) {
-			Set<Train> trains = getEntries().get(((PacketEngineThrottle) packet).getAddress());
-			if (trains != null) {
-				for (Train train : trains) {
-					train.setDirection(((PacketEngineThrottle) packet).getDirection());
-					train.setSpeed(((PacketEngineThrottle) packet).getSpeed(), false);
-				}
-			}
-		}
-		else if (packet instanceof PacketTrainFunction) {
-			Set<Train> trains = getEntries().get(((PacketTrainFunction) packet).getAddress());
-			if (trains != null) {
-				TrainFunction function;
-				for (Train train : trains) {
-					for (Entry<Integer, Boolean> entry : ((PacketTrainFunction) packet).getFunctionValues()
-							.entrySet()) {
-						function = train.getFunction(entry.getKey());
-						if (function != null) {
-							function.setSwitched(entry.getValue());
-						}
-					}
-				}
-			}
-		}
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.tenje.jtrain.AbstractOutputRegistry;
+import org.tenje.jtrain.Address;
+import org.tenje.jtrain.ArrayOutputRegistry;
+import org.tenje.jtrain.OutputRegistry;
+import org.tenje.jtrain.Train;
+import org.tenje.jtrain.dccpp.LocalPacketBroker;
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketEngineThrottle;
+import org.tenje.jtrain.dccpp.PacketListener;
+import org.tenje.jtrain.dccpp.PacketTrainFunction;
+
+/**
+ * An {@link OutputRegistry} and {@link PacketListener} for {@link Train}s.
+ * Listens (and responds) to the following {@link Packet}s:
+ * {@link PacketEngineThrottle}, {@link PacketTrainFunction}.
+ * <p>
+ * The registered trains are stored in an {@link OutputRegistry} which is
+ * specified at construction. An {@link ArrayOutputRegistry} allows handling
+ * packets without locks and without creating iterators.
+ * 
+ * @author Jonas Tennié
+ */
+public class PacketTrainRegistry implements OutputRegistry<Train>, PacketListener {
+
+	private final OutputRegistry<Train> outputRegistry;
+	private final ArrayOutputRegistry<Train> arrayOutputRegistry;
+
+	/**
+	 * Constructs a new {@link PacketTrainRegistry} with no entries which stores
+	 * the registered trains in an {@link AbstractOutputRegistry}.
+	 */
+	public PacketTrainRegistry() {
+		this(new AbstractOutputRegistry<Train>() {});
+	}
+
+	/**
+	 * Constructs a new {@link PacketTrainRegistry} which stores the registered
+	 * trains in the specified {@link OutputRegistry}.
+	 * 
+	 * @param outputRegistry
+	 *            The registry which stores the trains (e.g. an
+	 *            {@link ArrayOutputRegistry}).
+	 * @throws NullPointerException
+	 *             Thrown if <code>outputRegistry</code> is <code>null</code>.
+	 */
+	public PacketTrainRegistry(OutputRegistry<Train> outputRegistry) {
+		this.outputRegistry = Objects.requireNonNull(outputRegistry, "outputRegistry");
+		arrayOutputRegistry = outputRegistry instanceof ArrayOutputRegistry
+				? (ArrayOutputRegistry<Train>) outputRegistry : null;
+	}
+
+	@Override
+	public void packetReceived(Packet packet, PacketBroker sender, LocalPacketBroker receiver) throws IOException {
+		if (packet instanceof PacketEngineThrottle) {
+			PacketEngineThrottle throttle = (PacketEngineThrottle) packet;
+			if (arrayOutputRegistry != null) { // No iterator required
+				List<Train> trains = arrayOutputRegistry.getOutputs(throttle.getAddress());
+				for (int i = 0; i < trains.size(); i++) {
+					setThrottle(trains.get(i), throttle);
+				}
+			}
+			else {
+				Set<Train> trains = getEntries().get(throttle.getAddress());
+				if (trains != null) {
+					for (Train train : trains) {
+						setThrottle(train, throttle);
+					}
+				}
+			}
+		}
+		else if (packet instanceof PacketTrainFunction) {
+			PacketTrainFunction function = (PacketTrainFunction) packet;
+			if (arrayOutputRegistry != null) {
+				List<Train> trains = arrayOutputRegistry.getOutputs(function.getAddress());
+				for (int i = 0; i < trains.size(); i++) {
+					setFunctions(trains.get(i), function);
+				}
+			}
+			else {
+				Set<Train> trains = getEntries().get(function.getAddress());
+				if (trains != null) {
+					for (Train train : trains) {
+						setFunctions(train, function);
+					}
+				}
+			}
+		}
+	}
+
+	private static void setThrottle(Train train, PacketEngineThrottle packet) {
+		train.setDirection(packet.getDirection());
+		train.setSpeed(packet.getSpeed(), false);
+	}
+
+	private static void setFunctions(Train train, PacketTrainFunction packet) {
+		train.applyFunctions(packet.getFunctionMask(), packet.getFunctionGroupMask());
+	}
+
+	@Override
+	public Map<Address, Set<Train>> getEntries() {
+		return outputRegistry.getEntries();
+	}
+
+	@Override
+	public boolean register(Train object) {
+		return outputRegistry.register(object);
+	}
+
+	@Override
+	public boolean remove(Train object) {
+		return outputRegistry.remove(object);
+	}
+
+	@Override
+	public void clearAddressRegistrations(Address address) {
+		outputRegistry.clearAddressRegistrations(address);
+	}
+
+}
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.PacketOperationFailed;
+import org.tenje.jtrain.dccpp.PacketOperationSuccessful;
+import org.tenje.jtrain.dccpp.PacketOutputPinList;
+import org.tenje.jtrain.dccpp.PacketReadCurrent;
+import org.tenje.jtrain.dccpp.PacketReadStationState;
+import org.tenje.jtrain.dccpp.PacketSensorList;
+import org.tenje.jtrain.dccpp.PacketSensorStateList;
+import org.tenje.jtrain.dccpp.PacketTrackPowerOff;
+import org.tenje.jtrain.dccpp.PacketTrackPowerOn;
+import org.tenje.jtrain.dccpp.PacketTrackPowerState;
+import org.tenje.jtrain.dccpp.PacketTurnoutList;
+import org.tenje.jtrain.dccpp.PreEncodedPacket;
+
+/**
+ * Canonical immutable instances of parameterless and fixed {@link Packet}s.
+ * Every instance is a {@link PreEncodedPacket} which holds its encoded frame,
+ * so a {@link PacketEncoder} copies the frame with a single bulk copy. The
+ * instances should be used instead of constructing a new packet for every
+ * request or response. The builders of the parameterless packets return these
+ * instances, too.
+ * 
+ * @author Jonas Tennié
+ */
+public final class PreEncodedPackets {
+
+	/**
+	 * <i>&lt;O&gt;</i>: The operation was successful.
+	 */
+	public static final PacketOperationSuccessful OPERATION_SUCCESSFUL = new OperationSuccessful();
+	/**
+	 * <i>&lt;X&gt;</i>: The operation failed.
+	 */
+	public static final PacketOperationFailed OPERATION_FAILED = new OperationFailed();
+	/**
+	 * <i>&lt;1&gt;</i>: Turn on the track power.
+	 */
+	public static final PacketTrackPowerOn TRACK_POWER_ON = new TrackPowerOn();
+	/**
+	 * <i>&lt;0&gt;</i>: Turn off the track power.
+	 */
+	public static final PacketTrackPowerOff TRACK_POWER_OFF = new TrackPowerOff();
+	/**
+	 * <i>&lt;p 1&gt;</i>: The tracks are powered.
+	 */
+	public static final PacketTrackPowerState TRACK_POWERED = new TrackPowerState(true);
+	/**
+	 * <i>&lt;p 0&gt;</i>: The tracks are not powered.
+	 */
+	public static final PacketTrackPowerState TRACK_UNPOWERED = new TrackPowerState(false);
+	/**
+	 * <i>&lt;s&gt;</i>: Request the station state.
+	 */
+	public static final PacketReadStationState READ_STATION_STATE = new ReadStationState();
+	/**
+	 * <i>&lt;c&gt;</i>: Request the current on the main track.
+	 */
+	public static final PacketReadCurrent READ_CURRENT = new ReadCurrent();
+	/**
+	 * <i>&lt;T&gt;</i>: List all defined turnouts.
+	 */
+	public static final PacketTurnoutList TURNOUT_LIST = new TurnoutList();
+	/**
+	 * <i>&lt;Z&gt;</i>: List all defined output pins.
+	 */
+	public static final PacketOutputPinList OUTPUT_PIN_LIST = new OutputPinList();
+	/**
+	 * <i>&lt;S&gt;</i>: List all defined sensors.
+	 */
+	public static final PacketSensorList SENSOR_LIST = new SensorList();
+	/**
+	 * <i>&lt;Q&gt;</i>: List the states of all defined sensors.
+	 */
+	public static final PacketSensorStateList SENSOR_STATE_LIST = new SensorStateList();
+
+	private PreEncodedPackets() {}
+
+	/**
+	 * Returns {@link #TRACK_POWERED} or {@link #TRACK_UNPOWERED}.
+	 * 
+	 * @param powered
+	 *            The power state of the tracks.
+	 * @return The track power state packet.
+	 */
+	public static PacketTrackPowerState getTrackPowerState(boolean powered) {
+		return powered ? TRACK_POWERED : TRACK_UNPOWERED;
+	}
+
+	/**
+	 * A constant packet which encodes itself once on construction. Subclasses
+	 * only specify the packet type they represent.
+	 */
+	private abstract static class Constant extends AbstractPacket implements PreEncodedPacket {
+
+		// Initialized after the parameters are set by the super constructor
+		private final byte[] encoded = encode();
+
+		Constant(char typeChar) {
+			super(typeChar);
+		}
+
+		Constant(char typeChar, List<String> parameters) {
+			super(typeChar, parameters);
+		}
+
+		private byte[] encode() {
+			StringBuilder builder = new StringBuilder();
+			builder.append('<').append(getTypeChar());
+			for (String parameter : getRawParameters()) {
+				builder.append(' ').append(parameter);
+			}
+			builder.append('>');
+			return builder.toString().getBytes(StandardCharsets.ISO_8859_1);
+		}
+
+		@Override
+		public int getEncodedLength() {
+			return encoded.length;
+		}
+
+		@Override
+		public void getEncoded(byte[] dst, int off) {
+			System.arraycopy(encoded, 0, dst, off, encoded.length);
+		}
+
+	}
+
+	private static final class OperationSuccessful extends Constant implements PacketOperationSuccessful {
+
+		OperationSuccessful() {
+			super(PacketOperationSuccessful.TYPE_CHAR);
+		}
+
+	}
+
+	private static final class OperationFailed extends Constant implements PacketOperationFailed {
+
+		OperationFailed() {
+			super(PacketOperationFailed.TYPE_CHAR);
+		}
+
+	}
+
+	private static final class TrackPowerOn extends Constant implements PacketTrackPowerOn {
+
+		TrackPowerOn() {
+			super(PacketTrackPowerOn.TYPE_CHAR);
+		}
+
+	}
+
+	private static final class TrackPowerOff extends Constant implements PacketTrackPowerOff {
+
+		TrackPowerOff() {
+			super(PacketTrackPowerOff.TYPE_CHAR);
+		}
+
+	}
+
+	private static final class TrackPowerState extends Constant implements PacketTrackPowerState {
+
+		private final boolean powered;
+
+		TrackPowerState(boolean powered) {
+			super(PacketTrackPowerState.TYPE_CHAR, Arrays.asList(powered ? "1" : "0"));
+			this.powered = powered;
+		}
+
+		@Override
+		public boolean isPowered() {
+			return powered;
+		}
+
+	}
+
+	private static final class ReadStationState extends Constant implements PacketReadStationState {
+
+		ReadStationState() {
+			super(PacketReadStationState.TYPE_CHAR);
+		}
+
+	}
+
+	private static final class ReadCurrent extends Constant implements PacketReadCurrent {
+
+		ReadCurrent() {
+			super(PacketReadCurrent.TYPE_CHAR);
+		}
+
+	}
+
+	private static final class TurnoutList extends Constant implements PacketTurnoutList {
+
+		TurnoutList() {
+			super(PacketTurnoutList.TYPE_CHAR);
+		}
+
+	}
+
+	private static final class OutputPinList extends Constant implements PacketOutputPinList {
+
+		OutputPinList() {
+			super(PacketOutputPinList.TYPE_CHAR);
+		}
+
+	}
+
+	private static final class SensorList extends Constant implements PacketSensorList {
+
+		SensorList() {
+			super(PacketSensorList.TYPE_CHAR);
+		}
+
+	}
+
+	private static final class SensorStateList extends Constant implements PacketSensorStateList {
+
+		SensorStateList() {
+			super(PacketSensorStateList.TYPE_CHAR);
+		}
+
+	}
+
+}
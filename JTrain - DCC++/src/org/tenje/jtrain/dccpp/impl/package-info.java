@@ -1,23 +1,23 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-/**
- * This class provides concrete implementations of all interfaces placed in
- * {@link org.tenje.jtrain.dccpp}. {@link org.tenje.jtrain.AddressRegistry}
- * implementations for {@link org.tenje.jtrain.dccpp.PacketOutputPin},
- * {@link org.tenje.jtrain.dccpp.PacketSensor} and
- * {@link org.tenje.jtrain.dccpp.PacketTurnout} are also included.
- */
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+/**
+ * This class provides concrete implementations of all interfaces placed in
+ * {@link org.tenje.jtrain.dccpp}. {@link org.tenje.jtrain.AddressRegistry}
+ * implementations for {@link org.tenje.jtrain.dccpp.PacketOutputPin},
+ * {@link org.tenje.jtrain.dccpp.PacketSensor} and
+ * {@link org.tenje.jtrain.dccpp.PacketTurnout} are also included.
+ */
 package org.tenje.jtrain.dccpp.impl;
\ No newline at end of file
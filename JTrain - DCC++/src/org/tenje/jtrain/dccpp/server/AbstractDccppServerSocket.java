@@ -0,0 +1,341 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.util.Objects;
+import java.util.Set;
+
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.PacketFactory;
+import org.tenje.jtrain.dccpp.PacketKeyFunction;
+
+/**
+ * An abstract server socket for the DCC++ protocol which accepts connections
+ * of multiple {@link SocketPacketBroker}s.
+ * <p>
+ * Sending a packet to a broker does not wait until the broker received it.
+ * The encoded packet is put into a bounded outbound queue of the connection,
+ * which is drained by the I/O layer. So a slow broker does not delay sending
+ * to other brokers. If the queue of a broker is full, the
+ * {@link #getBackpressurePolicy() backpressure policy} decides whether the
+ * sender waits, the packet is rejected or the broker is disconnected.
+ * <p>
+ * With a {@link #setCoalescingKeyFunction(PacketKeyFunction) coalescing key
+ * function} (e.g. {@link org.tenje.jtrain.dccpp.impl.PacketStateKeyFunction}),
+ * a packet replaces a queued packet with the same key which has not been sent,
+ * yet (latest value wins), unless a packet without a key was queued in
+ * between. A slow broker then receives the current states instead of their
+ * whole history. All other packets keep their order.
+ * <p>
+ * A {@link #setSnapshotProvider(SnapshotProvider) snapshot provider} may
+ * provide packets which are queued for a connecting broker before the
+ * connection receives any broadcast packet.
+ * 
+ * @author Jonas Tennié
+ */
+public abstract class AbstractDccppServerSocket extends AbstractDccppSocket {
+
+	private static final ThreadLocal<PacketEncoder> BROADCAST_ENCODER = new ThreadLocal<PacketEncoder>() {
+		@Override
+		protected PacketEncoder initialValue() {
+			return new PacketEncoder();
+		}
+	};
+
+	/**
+	 * The default capacity of the outbound queue of a connection in bytes.
+	 */
+	public static final int DEFAULT_OUTBOUND_QUEUE_CAPACITY = 64 * 1024;
+
+	private volatile int outboundQueueCapacity = DEFAULT_OUTBOUND_QUEUE_CAPACITY;
+	private volatile BackpressurePolicy backpressurePolicy = BackpressurePolicy.DISCONNECT;
+	private volatile PacketKeyFunction coalescingKeyFunction;
+	private volatile SnapshotProvider snapshotProvider;
+	// Held while broadcasting and while a connection is opened
+	private final Object broadcastLock = new Object();
+
+	/**
+	 * Constructs a new {@link AbstractDccppServerSocket} with the specified
+	 * <code>address</code> and <code>port</code>.
+	 * 
+	 * @param address
+	 *            The address.
+	 * @param port
+	 *            The port.
+	 * @param packetFactory
+	 *            The packet factory to use. <code>null</code> to create a new
+	 *            object.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> is <code>null</code>.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>port</code> does not lay in range (0-65535).
+	 */
+	public AbstractDccppServerSocket(InetAddress address, int port,
+			PacketFactory packetFactory) {
+		super(address, port, packetFactory);
+	}
+
+	/**
+	 * Returns an unmodifiable {@link Set} containing all connected
+	 * {@link SocketPacketBroker}s. The set always represents the currently
+	 * connected brokers.
+	 * 
+	 * @return An unmodifiable set containing all registered brokers.
+	 */
+	public abstract Set<SocketPacketBroker> getConnectedBrokers();
+
+	/**
+	 * Sends already encoded packets to the specified receiver with a single
+	 * write. The data is passed to the network unchanged, so it must consist
+	 * of complete frames. A new connection is opened like by
+	 * {@link #sendPacket(Packet, PacketBroker)}.
+	 * 
+	 * @param data
+	 *            The array containing the encoded packets.
+	 * @param off
+	 *            The index of the first byte to send.
+	 * @param len
+	 *            The number of bytes to send.
+	 * @param receiver
+	 *            The receiver of the packets.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while sending the data.
+	 * @throws NullPointerException
+	 *             Thrown if <code>data</code> or <code>receiver</code> is
+	 *             <code>null</code>.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>off</code> or <code>len</code> is out of
+	 *             range.
+	 */
+	public abstract void sendEncoded(byte[] data, int off, int len,
+			PacketBroker receiver) throws IOException;
+
+	/**
+	 * Returns the maximum number of bytes which may be queued for a single
+	 * connection until the {@link #getBackpressurePolicy() backpressure
+	 * policy} is applied.
+	 * 
+	 * @return The outbound queue capacity in bytes.
+	 */
+	public int getOutboundQueueCapacity() {
+		return outboundQueueCapacity;
+	}
+
+	/**
+	 * Sets the maximum number of bytes which may be queued for a single
+	 * connection until the {@link #getBackpressurePolicy() backpressure
+	 * policy} is applied. Applies to all existing and future connections.
+	 * 
+	 * @param outboundQueueCapacity
+	 *            The outbound queue capacity in bytes.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>outboundQueueCapacity</code> is less than 1.
+	 */
+	public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+		if (outboundQueueCapacity < 1) {
+			throw new IllegalArgumentException(
+					"outbound queue capacity value out of valid range: "
+							+ outboundQueueCapacity);
+		}
+		this.outboundQueueCapacity = outboundQueueCapacity;
+	}
+
+	/**
+	 * Returns what happens if a packet is sent to a broker whose outbound
+	 * queue is full. {@link BackpressurePolicy#DISCONNECT} by default.
+	 * 
+	 * @return The backpressure policy.
+	 */
+	public BackpressurePolicy getBackpressurePolicy() {
+		return backpressurePolicy;
+	}
+
+	/**
+	 * Sets what happens if a packet is sent to a broker whose outbound queue
+	 * is full. Applies to all existing and future connections.
+	 * 
+	 * @param backpressurePolicy
+	 *            The backpressure policy to set.
+	 * @throws NullPointerException
+	 *             Thrown if <code>backpressurePolicy</code> is
+	 *             <code>null</code>.
+	 */
+	public void setBackpressurePolicy(BackpressurePolicy backpressurePolicy) {
+		this.backpressurePolicy = Objects.requireNonNull(backpressurePolicy,
+				"backpressurePolicy");
+	}
+
+	/**
+	 * Returns the function which determines the packets replacing queued
+	 * packets with the same key.
+	 * 
+	 * @return The key function or <code>null</code> if queued packets are
+	 *         never replaced (default).
+	 */
+	public PacketKeyFunction getCoalescingKeyFunction() {
+		return coalescingKeyFunction;
+	}
+
+	/**
+	 * Sets the function which determines the packets replacing queued packets
+	 * with the same key. A sent packet with a key replaces a packet with the
+	 * same key in the outbound queue of the receiving connection, as long as
+	 * the queued packet has not been passed to the network. Applies to all
+	 * existing and future connections.
+	 * 
+	 * @param keyFunction
+	 *            The key function. <code>null</code> to never replace queued
+	 *            packets.
+	 * @see PacketOutputStream#setKeyFunction(PacketKeyFunction)
+	 */
+	public void setCoalescingKeyFunction(PacketKeyFunction keyFunction) {
+		coalescingKeyFunction = keyFunction;
+		for (PacketOutputStream out : getPacketOutputStreams()) {
+			out.setKeyFunction(keyFunction);
+		}
+	}
+
+	/**
+	 * Returns the provider of the packets sent to connecting brokers.
+	 * 
+	 * @return The snapshot provider or <code>null</code> if no snapshot is
+	 *         sent (default).
+	 */
+	public SnapshotProvider getSnapshotProvider() {
+		return snapshotProvider;
+	}
+
+	/**
+	 * Sets the provider of the packets sent to connecting brokers. The
+	 * snapshot is queued for a connection before it is
+	 * {@link #getConnectedBrokers() connected}, so a packet
+	 * {@link #broadcastPacket(Packet) broadcast} concurrently is either
+	 * received after the snapshot or contained in the snapshot (if the
+	 * provider was updated before), but never overtakes it. Applies to
+	 * future connections.
+	 * 
+	 * @param snapshotProvider
+	 *            The snapshot provider. <code>null</code> to not send a
+	 *            snapshot.
+	 */
+	public void setSnapshotProvider(SnapshotProvider snapshotProvider) {
+		this.snapshotProvider = snapshotProvider;
+	}
+
+	/**
+	 * Opens a new connection: Writes the {@link #getSnapshotProvider()
+	 * snapshot} to its output stream and then runs the task which registers
+	 * the connection, so it is returned by {@link #getPacketOutputStreams()}.
+	 * No packet is broadcast meanwhile.
+	 * 
+	 * @param broker
+	 *            The connecting broker.
+	 * @param out
+	 *            The output stream of the connection.
+	 * @param registerTask
+	 *            The task which registers the connection.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while writing the snapshot.
+	 *             The connection is not registered then.
+	 */
+	protected void openConnection(SocketPacketBroker broker, PacketOutputStream out,
+			Runnable registerTask) throws IOException {
+		synchronized (broadcastLock) {
+			SnapshotProvider provider = snapshotProvider;
+			if (provider != null) {
+				byte[] snapshot = provider.getSnapshot(broker);
+				if (snapshot.length > 0) {
+					out.write(snapshot, 0, snapshot.length);
+				}
+			}
+			registerTask.run();
+		}
+	}
+
+	/**
+	 * {@inheritDoc} The stream uses the {@link #getCoalescingKeyFunction()
+	 * coalescing key function} of this server.
+	 */
+	@Override
+	protected PacketOutputStream createPacketOutputStream(OutputStream handle) {
+		PacketOutputStream out = super.createPacketOutputStream(handle);
+		out.setKeyFunction(coalescingKeyFunction);
+		return out;
+	}
+
+	/**
+	 * Sends the specified packet to all {@link #getConnectedBrokers() connected
+	 * brokers}. The packet is encoded only once (a {@link PacketFrame} is not
+	 * encoded at all, its original bytes are used). The same bytes are then
+	 * written to the output stream of every connection, so the cost per
+	 * additional connection is a single copy into its outbound queue.
+	 * Connections which reject the packet (see {@link BackpressurePolicy})
+	 * are skipped, connections which fail to write are
+	 * {@link #closeConnection(PacketOutputStream) closed}.
+	 * 
+	 * @param packet
+	 *            The packet to send.
+	 * @return The number of connections the packet was written to.
+	 * @throws NullPointerException
+	 *             Thrown if <code>packet</code> is <code>null</code>.
+	 */
+	public int broadcastPacket(Packet packet) {
+		Objects.requireNonNull(packet, "packet");
+		PacketEncoder encoder = BROADCAST_ENCODER.get();
+		encoder.reset();
+		encoder.encode(packet);
+		PacketKeyFunction keyFunction = coalescingKeyFunction;
+		Object key = keyFunction == null ? null : keyFunction.getKey(packet);
+		int sent = 0;
+		synchronized (broadcastLock) {
+			for (PacketOutputStream out : getPacketOutputStreams()) {
+				try {
+					out.writeEncoded(encoder, key);
+					sent++;
+				}
+				catch (BackpressureException ex) {} // Rejected, keep connection
+				catch (IOException ex) {
+					closeConnection(out);
+				}
+			}
+		}
+		return sent;
+	}
+
+	/**
+	 * Closes the connection of the specified output stream after writing to
+	 * it failed, so it is not {@link #getConnectedBrokers() connected}
+	 * anymore. Does nothing if the connection is already closed. The default
+	 * implementation only closes the output stream, subclasses should also
+	 * unregister the connection.
+	 * 
+	 * @param out
+	 *            The output stream of the failed connection.
+	 * @see #getPacketOutputStreams()
+	 */
+	protected void closeConnection(PacketOutputStream out) {
+		try {
+			out.close();
+		}
+		catch (IOException ex) {} // Already failed
+	}
+
+}
@@ -1,238 +1,590 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp.server;
-
-import java.io.IOException;
-import java.net.InetAddress;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
-
-import org.tenje.jtrain.dccpp.LocalPacketBroker;
-import org.tenje.jtrain.dccpp.Packet;
-import org.tenje.jtrain.dccpp.PacketBroker;
-import org.tenje.jtrain.dccpp.PacketBuilder;
-import org.tenje.jtrain.dccpp.PacketFactory;
-import org.tenje.jtrain.dccpp.PacketListener;
-import org.tenje.jtrain.dccpp.impl.PacketFactoryImpl;
-
-/**
- * An abstract server used for the DCC++ protocol. Implements parts of the
- * following interfaces: {@link AutoCloseable}, {@link LocalPacketBroker} and
- * {@link SocketPacketBroker}. Uses a {@link PacketFactoryImpl} as
- * {@link PacketFactory} by default.
- * 
- * @author Jonas Tenni
- */
-public abstract class AbstractDccppSocket
-		implements AutoCloseable, LocalPacketBroker, SocketPacketBroker {
-
-	private final InetAddress address;
-	private final int port;
-	private final Set<SocketListener> socketListeners = new HashSet<>();
-	private final Set<PacketListener> packetListeners = new HashSet<>();
-	private final Set<PacketListener> unmodifiablePacketListeners = Collections
-			.unmodifiableSet(packetListeners);
-	private PacketFactory packetFactory;
-
-	/**
-	 * Constructs a new {@link AbstractDccppSocket} with the specified
-	 * <code>address</code> and <code>port</code>. Creates a new
-	 * {@link PacketFactory} object.
-	 * 
-	 * @param address
-	 *            The address.
-	 * @param port
-	 *            The port.
-	 * @throws NullPointerException
-	 *             Thrown if <code>address</code> is <code>null</code>.
-	 * @throws IllegalArgumentException
-	 *             Thrown if <code>port</code> does not lay in range (0-65535).
-	 */
-	public AbstractDccppSocket(InetAddress address, int port) {
-		this(address, port, null);
-	}
-
-	/**
-	 * Constructs a new {@link AbstractDccppSocket} with the specified
-	 * <code>address</code> and <code>port</code>.
-	 * 
-	 * @param address
-	 *            The address.
-	 * @param port
-	 *            The port.
-	 * @param packetFactory
-	 *            The packet factory to use. <code>null</code> to create a new
-	 *            object.
-	 * @throws NullPointerException
-	 *             Thrown if <code>address</code> is <code>null</code>.
-	 * @throws IllegalArgumentException
-	 *             Thrown if <code>port</code> does not lay in range (0-65535).
-	 */
-	public AbstractDccppSocket(InetAddress address, int port,
-			PacketFactory packetFactory) {
-		this.address = Objects.requireNonNull(address, "address");
-		if (port < 0 || port > 65535) {
-			throw new IllegalArgumentException("port value out of valid range: " + port);
-		}
-		this.port = port;
-		this.packetFactory = packetFactory == null ? new PacketFactoryImpl()
-				: packetFactory;
-	}
-
-	@Override
-	public void close() throws IOException {
-		fireEvent(SocketEventType.SOCKET_CLOSE, null);
-		packetListeners.clear();
-	}
-
-	/**
-	 * Fires a {@link SocketEvent} for all registered listeners.
-	 * 
-	 * @param type
-	 *            The event type.
-	 * @param broker
-	 *            The broker. May be <code>null</code> if <code>type</code> is
-	 *            {@link SocketEventType#SOCKET_CLOSE}.
-	 * @throws NullPointerException
-	 *             Thrown if <code>type</code>is <code>null</code> or if
-	 *             <code>broker</code> is <code>null</code>, but type is not
-	 *             <code>SOCKET_CLOSE</code>.
-	 * 
-	 */
-	protected void fireEvent(final SocketEventType type, final PacketBroker broker) {
-		Objects.requireNonNull(type, "type");
-		if (type != SocketEventType.SOCKET_CLOSE) {
-			Objects.requireNonNull(broker, "broker");
-		}
-		SocketEvent event = new SocketEvent() {
-			@Override
-			public SocketEventType getType() {
-				return type;
-			}
-
-			@Override
-			public PacketBroker getBroker() {
-				return broker;
-			}
-		};
-		for (SocketListener listener : socketListeners) {
-			listener.socketEvent(event);
-		}
-	}
-
-	/**
-	 * Registers a socket listener for this server.
-	 * 
-	 * @param listener
-	 *            The listener to register.
-	 * @return <code>true</code> if the listener was registered successfully,
-	 *         <code>false</code> if the listener was already registered.
-	 * @throws NullPointerException
-	 *             Thrown if <code>listener</code> is <code>null</code>.
-	 */
-	public boolean addSocketListener(SocketListener listener) {
-		Objects.requireNonNull(listener, "listener");
-		return socketListeners.add(listener);
-	}
-
-	/**
-	 * Removes a socket listener from this server.
-	 * 
-	 * @param listener
-	 *            The listener to remove. Ignores <code>null</code>-values.
-	 * @return <code>true</code> if the listener was removed, <code>false</code>
-	 *         if the listener was not registered or <code>null</code> was
-	 *         passed.
-	 */
-	public boolean removeSocketListener(SocketListener listener) {
-		return socketListeners.remove(listener);
-	}
-
-	/**
-	 * Registers a packet listener for this server.
-	 * 
-	 * @param listener
-	 *            The listener to register.
-	 * @return <code>true</code> if the listener was registered successfully,
-	 *         <code>false</code> if the listener was already registered.
-	 * @throws NullPointerException
-	 *             Thrown if <code>listener</code> is <code>null</code>.
-	 */
-	public boolean addPacketListener(PacketListener listener) {
-		Objects.requireNonNull(listener, "listener");
-		return packetListeners.add(listener);
-	}
-
-	/**
-	 * Removes a packet listener from this server.
-	 * 
-	 * @param listener
-	 *            The listener to remove. Ignores <code>null</code>-values.
-	 * @return <code>true</code> if the listener was removed, <code>false</code>
-	 *         if the listener was not registered or <code>null</code> was
-	 *         passed.
-	 */
-	public boolean removePacketListener(PacketListener listener) {
-		return packetListeners.remove(listener);
-	}
-
-	/**
-	 * Returns an unmodifiable set containing all registered listeners.
-	 * 
-	 * @return An unmodifiable set containing all registered listeners.
-	 */
-	public Set<PacketListener> getListeners() {
-		return unmodifiablePacketListeners;
-	}
-
-	/**
-	 * Returns the packet factory used by this server to build the
-	 * {@link Packet}s read from an input stream. Packets can be registered
-	 * using {@link PacketFactory#registerBuilder(PacketBuilder, Class, char)}
-	 * to allow this server to read packets of a specified type.
-	 * 
-	 * @return The packet factory used by this server.
-	 */
-	public PacketFactory getPacketFactory() {
-		return packetFactory;
-	}
-
-	/**
-	 * Returns the packet factory used by this server to build the
-	 * {@link Packet}s read from an input stream.
-	 * 
-	 * @param factory
-	 *            The factory to set.
-	 * @throws NullPointerException
-	 *             Thrown if <code>factory</code> is <code>null</code>.
-	 */
-	public void setPacketFactory(PacketFactory factory) {
-		this.packetFactory = Objects.requireNonNull(factory, "factory");
-	}
-
-	@Override
-	public InetAddress getInetAddress() {
-		return address;
-	}
-
-	@Override
-	public int getPort() {
-		return port;
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+
+import org.tenje.jtrain.dccpp.LocalPacketBroker;
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketBuilder;
+import org.tenje.jtrain.dccpp.PacketFactory;
+import org.tenje.jtrain.dccpp.PacketListener;
+import org.tenje.jtrain.dccpp.impl.PacketFactoryImpl;
+
+/**
+ * An abstract server used for the DCC++ protocol. Implements parts of the
+ * following interfaces: {@link AutoCloseable}, {@link LocalPacketBroker} and
+ * {@link SocketPacketBroker}. Uses a {@link PacketFactoryImpl} as
+ * {@link PacketFactory} by default.
+ * 
+ * @author Jonas Tennié
+ */
+public abstract class AbstractDccppSocket
+		implements AutoCloseable, LocalPacketBroker, SocketPacketBroker {
+
+	private final InetAddress address;
+	private final int port;
+	private final Set<SocketListener> socketListeners = new HashSet<>();
+	// Guarded by itself, the dispatch table is rebuilt on every change
+	private final Map<PacketListener, PacketDispatchTable.Registration> packetListeners = new LinkedHashMap<>();
+	private final Set<PacketListener> unmodifiablePacketListeners = Collections
+			.unmodifiableSet(packetListeners.keySet());
+	private volatile PacketDispatchTable dispatchTable = PacketDispatchTable.EMPTY;
+	private final CopyOnWriteArrayList<PacketFrameListener> frameListeners = new CopyOnWriteArrayList<>();
+	private PacketFactory packetFactory;
+	private int maxFrameLength = PacketFrameDecoder.DEFAULT_MAX_FRAME_LENGTH;
+	private int flushThreshold;
+	private ThreadFactory threadFactory = DccppThreadFactory.platform("DCC++ ");
+	private long flushDelay;
+
+	/**
+	 * Constructs a new {@link AbstractDccppSocket} with the specified
+	 * <code>address</code> and <code>port</code>. Creates a new
+	 * {@link PacketFactory} object.
+	 * 
+	 * @param address
+	 *            The address.
+	 * @param port
+	 *            The port.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> is <code>null</code>.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>port</code> does not lay in range (0-65535).
+	 */
+	public AbstractDccppSocket(InetAddress address, int port) {
+		this(address, port, null);
+	}
+
+	/**
+	 * Constructs a new {@link AbstractDccppSocket} with the specified
+	 * <code>address</code> and <code>port</code>.
+	 * 
+	 * @param address
+	 *            The address.
+	 * @param port
+	 *            The port.
+	 * @param packetFactory
+	 *            The packet factory to use. <code>null</code> to create a new
+	 *            object.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code> is <code>null</code>.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>port</code> does not lay in range (0-65535).
+	 */
+	public AbstractDccppSocket(InetAddress address, int port,
+			PacketFactory packetFactory) {
+		this.address = Objects.requireNonNull(address, "address");
+		if (port < 0 || port > 65535) {
+			throw new IllegalArgumentException("port value out of valid range: " + port);
+		}
+		this.port = port;
+		this.packetFactory = packetFactory == null ? new PacketFactoryImpl()
+				: packetFactory;
+	}
+
+	@Override
+	public void close() throws IOException {
+		fireEvent(SocketEventType.SOCKET_CLOSE, null);
+		synchronized (packetListeners) {
+			packetListeners.clear();
+			dispatchTable = PacketDispatchTable.EMPTY;
+		}
+		frameListeners.clear();
+	}
+
+	/**
+	 * Fires a {@link SocketEvent} for all registered listeners.
+	 * 
+	 * @param type
+	 *            The event type.
+	 * @param broker
+	 *            The broker. May be <code>null</code> if <code>type</code> is
+	 *            {@link SocketEventType#SOCKET_CLOSE}.
+	 * @throws NullPointerException
+	 *             Thrown if <code>type</code>is <code>null</code> or if
+	 *             <code>broker</code> is <code>null</code>, but type is not
+	 *             <code>SOCKET_CLOSE</code>.
+	 * 
+	 */
+	protected void fireEvent(final SocketEventType type, final PacketBroker broker) {
+		Objects.requireNonNull(type, "type");
+		if (type != SocketEventType.SOCKET_CLOSE) {
+			Objects.requireNonNull(broker, "broker");
+		}
+		SocketEvent event = new SocketEvent() {
+			@Override
+			public SocketEventType getType() {
+				return type;
+			}
+
+			@Override
+			public PacketBroker getBroker() {
+				return broker;
+			}
+		};
+		for (SocketListener listener : socketListeners) {
+			listener.socketEvent(event);
+		}
+	}
+
+	/**
+	 * Passes the specified raw packet to all {@link PacketFrameListener}s if it
+	 * is a {@link PacketFrame}. Then builds a {@link Packet} from the raw
+	 * packet using the {@link #getPacketFactory() packet factory} and passes it
+	 * to all
+	 * {@link PacketListener}s registered for its type char or packet type. The
+	 * packet is not built if no listener is registered for its type char. Raw
+	 * packets which cannot be built are ignored.
+	 * Exceptions thrown by listeners are printed, except of
+	 * {@link IOException}s which are re-thrown.
+	 * 
+	 * @param rawPacket
+	 *            The raw packet (e.g. a {@link PacketFrame}).
+	 * @param sender
+	 *            The broker which sent the packet.
+	 * @throws IOException
+	 *             Thrown if a listener throws an {@link IOException}. The
+	 *             connection to the sender should be closed then.
+	 */
+	protected void dispatchPacket(Packet rawPacket, PacketBroker sender)
+			throws IOException {
+		if (rawPacket instanceof PacketFrame) {
+			for (PacketFrameListener l : frameListeners) {
+				try {
+					l.frameReceived((PacketFrame) rawPacket, sender, this);
+				}
+				catch (IOException ex) {
+					throw ex;
+				}
+				catch (Exception ex) {
+					System.err.println("Listener failed to handle frame:");
+					ex.printStackTrace();
+				}
+			}
+		}
+		PacketDispatchTable.Route[] routes = dispatchTable
+				.getRoutes(rawPacket.getTypeChar());
+		if (routes.length == 0) {
+			return;
+		}
+		Packet packet;
+		try {
+			packet = packetFactory.buildPacket(rawPacket.getTypeChar(),
+					rawPacket.getRawParameters());
+		}
+		catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+			ex.printStackTrace();
+			return;
+		}
+		if (packet != null) {
+			for (PacketDispatchTable.Route route : routes) {
+				if (!route.accepts(packet)) {
+					continue;
+				}
+				try {
+					route.getListener().packetReceived(packet, sender, this);
+				}
+				catch (IOException ex) {
+					throw ex;
+				}
+				catch (Exception ex) {
+					System.err.println("Listener failed to handle packet:");
+					ex.printStackTrace();
+				}
+			}
+		}
+		else {
+			System.err.println(
+					"Unknown packet: " + rawPacket.getTypeChar() + ". Ignoring it...");
+		}
+	}
+
+	/**
+	 * Registers a socket listener for this server.
+	 * 
+	 * @param listener
+	 *            The listener to register.
+	 * @return <code>true</code> if the listener was registered successfully,
+	 *         <code>false</code> if the listener was already registered.
+	 * @throws NullPointerException
+	 *             Thrown if <code>listener</code> is <code>null</code>.
+	 */
+	public boolean addSocketListener(SocketListener listener) {
+		Objects.requireNonNull(listener, "listener");
+		return socketListeners.add(listener);
+	}
+
+	/**
+	 * Removes a socket listener from this server.
+	 * 
+	 * @param listener
+	 *            The listener to remove. Ignores <code>null</code>-values.
+	 * @return <code>true</code> if the listener was removed, <code>false</code>
+	 *         if the listener was not registered or <code>null</code> was
+	 *         passed.
+	 */
+	public boolean removeSocketListener(SocketListener listener) {
+		return socketListeners.remove(listener);
+	}
+
+	/**
+	 * Registers a packet listener for this server. The listener receives all
+	 * packets.
+	 * 
+	 * @param listener
+	 *            The listener to register.
+	 * @return <code>true</code> if the listener was registered successfully,
+	 *         <code>false</code> if the listener was already registered for
+	 *         all packets.
+	 * @throws NullPointerException
+	 *             Thrown if <code>listener</code> is <code>null</code>.
+	 */
+	public boolean addPacketListener(PacketListener listener) {
+		Objects.requireNonNull(listener, "listener");
+		synchronized (packetListeners) {
+			return updateDispatchTable(getRegistration(listener).addAllPackets());
+		}
+	}
+
+	/**
+	 * Registers a packet listener for this server. The listener only receives
+	 * packets with one of the specified type chars. Registering an already
+	 * registered listener adds the type chars to its registration.
+	 * 
+	 * @param listener
+	 *            The listener to register.
+	 * @param typeChars
+	 *            The type chars of the packets to receive.
+	 * @return <code>true</code> if the registration changed,
+	 *         <code>false</code> if the listener was already registered for
+	 *         all specified type chars.
+	 * @throws IllegalArgumentException
+	 *             Thrown if a type char does not lay in range (0-127).
+	 * @throws NullPointerException
+	 *             Thrown if <code>listener</code> or <code>typeChars</code> is
+	 *             <code>null</code>.
+	 */
+	public boolean addPacketListener(PacketListener listener, char... typeChars) {
+		Objects.requireNonNull(listener, "listener");
+		Objects.requireNonNull(typeChars, "typeChars");
+		for (char typeChar : typeChars) {
+			if (typeChar > 127) {
+				throw new IllegalArgumentException(
+						"type char value out of valid range: " + (int) typeChar);
+			}
+		}
+		synchronized (packetListeners) {
+			PacketDispatchTable.Registration registration = getRegistration(listener);
+			boolean changed = false;
+			for (char typeChar : typeChars) {
+				changed |= registration.addTypeChar(typeChar);
+			}
+			return updateDispatchTable(changed);
+		}
+	}
+
+	/**
+	 * Registers a packet listener for this server. The listener only receives
+	 * packets which are an instance of the specified type (e.g.
+	 * {@link org.tenje.jtrain.dccpp.PacketSensor PacketSensor}). Packets are
+	 * routed by the <code>TYPE_CHAR</code> constant of the type, so only
+	 * packets with this type char are built and checked. Registering an
+	 * already registered listener adds the type to its registration.
+	 * 
+	 * @param listener
+	 *            The listener to register.
+	 * @param packetType
+	 *            The type of the packets to receive.
+	 * @return <code>true</code> if the registration changed,
+	 *         <code>false</code> if the listener was already registered for
+	 *         the type.
+	 * @throws NullPointerException
+	 *             Thrown if <code>listener</code> or <code>packetType</code> is
+	 *             <code>null</code>.
+	 */
+	public boolean addPacketListener(PacketListener listener,
+			Class<? extends Packet> packetType) {
+		Objects.requireNonNull(listener, "listener");
+		Objects.requireNonNull(packetType, "packetType");
+		synchronized (packetListeners) {
+			return updateDispatchTable(
+					getRegistration(listener).addPacketType(packetType));
+		}
+	}
+
+	/**
+	 * Removes a packet listener from this server. All registrations of the
+	 * listener are removed.
+	 * 
+	 * @param listener
+	 *            The listener to remove. Ignores <code>null</code>-values.
+	 * @return <code>true</code> if the listener was removed, <code>false</code>
+	 *         if the listener was not registered or <code>null</code> was
+	 *         passed.
+	 */
+	public boolean removePacketListener(PacketListener listener) {
+		synchronized (packetListeners) {
+			return updateDispatchTable(packetListeners.remove(listener) != null);
+		}
+	}
+
+	private PacketDispatchTable.Registration getRegistration(PacketListener listener) {
+		PacketDispatchTable.Registration registration = packetListeners.get(listener);
+		if (registration == null) {
+			registration = new PacketDispatchTable.Registration();
+			packetListeners.put(listener, registration);
+		}
+		return registration;
+	}
+
+	private boolean updateDispatchTable(boolean changed) {
+		if (changed) {
+			dispatchTable = new PacketDispatchTable(packetListeners);
+		}
+		return changed;
+	}
+
+	/**
+	 * Registers a frame listener for this server. Frame listeners are called
+	 * before the packet listeners.
+	 * 
+	 * @param listener
+	 *            The listener to register.
+	 * @return <code>true</code> if the listener was registered successfully,
+	 *         <code>false</code> if the listener was already registered.
+	 * @throws NullPointerException
+	 *             Thrown if <code>listener</code> is <code>null</code>.
+	 */
+	public boolean addFrameListener(PacketFrameListener listener) {
+		Objects.requireNonNull(listener, "listener");
+		return frameListeners.addIfAbsent(listener);
+	}
+
+	/**
+	 * Removes a frame listener from this server.
+	 * 
+	 * @param listener
+	 *            The listener to remove. Ignores <code>null</code>-values.
+	 * @return <code>true</code> if the listener was removed, <code>false</code>
+	 *         if the listener was not registered or <code>null</code> was
+	 *         passed.
+	 */
+	public boolean removeFrameListener(PacketFrameListener listener) {
+		return frameListeners.remove(listener);
+	}
+
+	/**
+	 * Returns an unmodifiable set containing all registered listeners.
+	 * 
+	 * @return An unmodifiable set containing all registered listeners.
+	 */
+	public Set<PacketListener> getListeners() {
+		return unmodifiablePacketListeners;
+	}
+
+	/**
+	 * Returns the packet factory used by this server to build the
+	 * {@link Packet}s read from an input stream. Packets can be registered
+	 * using {@link PacketFactory#registerBuilder(PacketBuilder, Class, char)}
+	 * to allow this server to read packets of a specified type.
+	 * 
+	 * @return The packet factory used by this server.
+	 */
+	public PacketFactory getPacketFactory() {
+		return packetFactory;
+	}
+
+	/**
+	 * Returns the packet factory used by this server to build the
+	 * {@link Packet}s read from an input stream.
+	 * 
+	 * @param factory
+	 *            The factory to set.
+	 * @throws NullPointerException
+	 *             Thrown if <code>factory</code> is <code>null</code>.
+	 */
+	public void setPacketFactory(PacketFactory factory) {
+		this.packetFactory = Objects.requireNonNull(factory, "factory");
+	}
+
+	/**
+	 * Returns the maximum number of chars between the delimiters of a frame
+	 * read by this server. Longer frames are skipped.
+	 * 
+	 * @return The maximum frame length.
+	 */
+	public int getMaxFrameLength() {
+		return maxFrameLength;
+	}
+
+	/**
+	 * Sets the maximum number of chars between the delimiters of a frame read
+	 * by this server. Longer frames are skipped. Only affects connections
+	 * established after this method was called.
+	 * 
+	 * @param maxFrameLength
+	 *            The maximum frame length.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>maxFrameLength</code> is less than 1.
+	 */
+	public void setMaxFrameLength(int maxFrameLength) {
+		if (maxFrameLength < 1) {
+			throw new IllegalArgumentException(
+					"max frame length value out of valid range: " + maxFrameLength);
+		}
+		this.maxFrameLength = maxFrameLength;
+	}
+
+	/**
+	 * Returns the factory used to create the threads of this server (e.g. to
+	 * read from connections). Packet listeners are called by these threads.
+	 * 
+	 * @return The thread factory.
+	 * @see DccppThreadFactory
+	 */
+	public ThreadFactory getThreadFactory() {
+		return threadFactory;
+	}
+
+	/**
+	 * Sets the factory used to create the threads of this server. Only affects
+	 * threads created after this method was called.
+	 * 
+	 * @param threadFactory
+	 *            The thread factory to set.
+	 * @throws NullPointerException
+	 *             Thrown if <code>threadFactory</code> is <code>null</code>.
+	 * @see DccppThreadFactory
+	 */
+	public void setThreadFactory(ThreadFactory threadFactory) {
+		this.threadFactory = Objects.requireNonNull(threadFactory, "threadFactory");
+	}
+
+	/**
+	 * Sets when packets sent by this server are passed to the network. The
+	 * policy is applied to all existing and future connections.
+	 * 
+	 * @param flushThreshold
+	 *            The number of buffered bytes which causes the buffer of a
+	 *            connection to be flushed. <code>0</code> to send every packet
+	 *            immediately (default).
+	 * @param flushDelay
+	 *            The time in milliseconds after which buffered packets are sent
+	 *            although the threshold has not been reached. <code>0</code>
+	 *            to wait until the threshold is reached or {@link #flush()} is
+	 *            called.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>flushThreshold</code> or
+	 *             <code>flushDelay</code> is negative.
+	 * @see PacketOutputStream#setFlushPolicy(int, long)
+	 */
+	public void setFlushPolicy(int flushThreshold, long flushDelay) {
+		if (flushThreshold < 0) {
+			throw new IllegalArgumentException(
+					"flush threshold value out of valid range: " + flushThreshold);
+		}
+		if (flushDelay < 0) {
+			throw new IllegalArgumentException(
+					"flush delay value out of valid range: " + flushDelay);
+		}
+		this.flushThreshold = flushThreshold;
+		this.flushDelay = flushDelay;
+		for (PacketOutputStream out : getPacketOutputStreams()) {
+			out.setFlushPolicy(flushThreshold, flushDelay);
+		}
+	}
+
+	/**
+	 * Sends all buffered packets of all connections.
+	 * 
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while sending the packets.
+	 */
+	public void flush() throws IOException {
+		for (PacketOutputStream out : getPacketOutputStreams()) {
+			out.flush();
+		}
+	}
+
+	/**
+	 * Creates a new {@link PacketOutputStream} for a connection using the flush
+	 * policy of this server.
+	 * 
+	 * @param handle
+	 *            The output stream of the connection.
+	 * @return The created stream.
+	 * @throws NullPointerException
+	 *             Thrown if <code>handle</code> is <code>null</code>.
+	 */
+	protected PacketOutputStream createPacketOutputStream(OutputStream handle) {
+		PacketOutputStream out = new PacketOutputStream(handle);
+		out.setFlushPolicy(flushThreshold, flushDelay);
+		return out;
+	}
+
+	/**
+	 * Returns the {@link PacketOutputStream}s of all current connections.
+	 * 
+	 * @return The output streams of all connections.
+	 */
+	protected abstract Collection<PacketOutputStream> getPacketOutputStreams();
+
+	/**
+	 * Sends multiple packets to the specified receiver. The packets are passed
+	 * to the network together if possible.
+	 * 
+	 * @param packets
+	 *            The packets to send.
+	 * @param receiver
+	 *            The receiver of the packets.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while sending the packets.
+	 * @throws NullPointerException
+	 *             Thrown if <code>packets</code> is or contains
+	 *             <code>null</code>.
+	 * @see #sendPacket(Packet, PacketBroker)
+	 */
+	@Override
+	public void sendPackets(Iterable<? extends Packet> packets, PacketBroker receiver)
+			throws IOException {
+		for (Packet packet : packets) {
+			sendPacket(packet, receiver);
+		}
+	}
+
+	@Override
+	public InetAddress getInetAddress() {
+		return address;
+	}
+
+	@Override
+	public int getPort() {
+		return port;
+	}
+
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.io.IOException;
+
+/**
+ * Thrown if data could not be sent to a broker because its outbound queue is
+ * full and the {@link BackpressurePolicy} is {@link BackpressurePolicy#REJECT}.
+ * The connection to the broker is still open.
+ * 
+ * @author Jonas Tennié
+ */
+public class BackpressureException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs a new {@link BackpressureException} with the specified detail
+	 * message.
+	 * 
+	 * @param message
+	 *            The detail message.
+	 */
+	public BackpressureException(String message) {
+		super(message);
+	}
+
+}
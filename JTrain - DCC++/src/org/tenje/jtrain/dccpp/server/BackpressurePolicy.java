@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+/**
+ * Defines what happens if a packet is sent to a broker whose outbound queue
+ * is full, because the broker does not read the sent data as fast as it is
+ * sent.
+ * 
+ * @author Jonas Tennié
+ * @see AbstractDccppServerSocket#setBackpressurePolicy(BackpressurePolicy)
+ */
+public enum BackpressurePolicy {
+
+	/**
+	 * The sending thread waits until the queue has space. Note that a single
+	 * slow broker then also stops the sending thread from sending to other
+	 * brokers.
+	 */
+	BLOCK,
+
+	/**
+	 * The packet is not sent and a {@link BackpressureException} is thrown.
+	 * The connection stays open.
+	 */
+	REJECT,
+
+	/**
+	 * The broker is disconnected (a {@link SocketEventType#BROKER_DISCONNECT}
+	 * event is fired) and an {@link java.io.IOException IOException} is
+	 * thrown.
+	 */
+	DISCONNECT;
+
+}
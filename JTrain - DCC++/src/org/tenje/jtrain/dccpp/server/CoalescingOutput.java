@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.io.IOException;
+
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.PacketKeyFunction;
+
+/**
+ * The output of a connection which is able to coalesce queued packets (see
+ * {@link OutboundBuffer}). Used as handle of a {@link PacketOutputStream}.
+ *
+ * @author Jonas Tennié
+ */
+interface CoalescingOutput {
+
+	/**
+	 * Queues an encoded packet. A queued packet with the same key is replaced.
+	 * 
+	 * @param encoded
+	 *            The encoder containing exactly one packet.
+	 * @param key
+	 *            The key of the packet (see {@link PacketKeyFunction}).
+	 * @throws IOException
+	 *             Thrown if the packet could not be queued.
+	 */
+	void write(PacketEncoder encoded, Object key) throws IOException;
+
+}
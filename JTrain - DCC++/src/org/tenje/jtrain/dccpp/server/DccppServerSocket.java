@@ -1,202 +1,363 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp.server;
-
-import java.io.IOException;
-import java.net.InetAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-
-import org.tenje.jtrain.dccpp.Packet;
-import org.tenje.jtrain.dccpp.PacketBroker;
-import org.tenje.jtrain.dccpp.PacketBuilder;
-import org.tenje.jtrain.dccpp.PacketFactory;
-import org.tenje.jtrain.dccpp.PacketListener;
-
-/**
- * A server socket to communicate with a control station, trains and other DCC++
- * components using the DCC++ protocol. The server reads the {@link Packet}s
- * from the connected sockets and passes them to specified
- * {@link PacketListener}. These listeners then handle the packet (and send
- * return packets).
- * 
- * @author Jonas Tenni
- */
-public class DccppServerSocket extends AbstractDccppSocket {
-
-	private final ServerSocket server;
-	private final Map<SocketPacketBroker, Socket> socketsByBroker = new HashMap<>();
-	private final Map<Socket, PacketOutputStream> socketOuts = new HashMap<>();
-	private final Set<SocketPacketBroker> unmodifiableBrokers = Collections
-			.unmodifiableSet(socketsByBroker.keySet());
-
-	/**
-	 * Creates a server socket, bound to the specified port. The server's
-	 * {@link PacketFactory} has no registered {@link PacketBuilder}s by
-	 * default. Creates a new {@link PacketFactory} object.
-	 * 
-	 * @param port
-	 *            The port number, or 0 to use a port number that is
-	 *            automatically allocated.
-	 * @throws IOException
-	 *             Thrown if an I/O error occurs when opening the socket.
-	 * @throws IllegalArgumentException
-	 *             Thrown if the port parameter is outside the specified range
-	 *             of valid port values, which is between 0 and 65535,
-	 *             inclusive.
-	 * @throws SecurityException
-	 *             Thrown if a security manager exists and its
-	 *             {@code SecurityManager#checkConnect(String, int)} method
-	 *             doesn't allow the operation.
-	 * @see ServerSocket#ServerSocket(int)
-	 */
-	public DccppServerSocket(int port) throws IOException {
-		this(port, null);
-	}
-
-	/**
-	 * Creates a server socket, bound to the specified port. The server's
-	 * {@link PacketFactory} has no registered {@link PacketBuilder}s by
-	 * default.
-	 * 
-	 * @param port
-	 *            The port number, or 0 to use a port number that is
-	 *            automatically allocated.
-	 * @param packetFactory
-	 *            The packet factory to use. <code>null</code> to create a new
-	 *            object.
-	 * @throws IOException
-	 *             Thrown if an I/O error occurs when opening the socket.
-	 * @throws IllegalArgumentException
-	 *             Thrown if the port parameter is outside the specified range
-	 *             of valid port values, which is between 0 and 65535,
-	 *             inclusive.
-	 * @throws SecurityException
-	 *             Thrown if a security manager exists and its
-	 *             {@code SecurityManager#checkConnect(String, int)} method
-	 *             doesn't allow the operation.
-	 * @see ServerSocket#ServerSocket(int)
-	 */
-	public DccppServerSocket(int port, PacketFactory packetFactory) throws IOException {
-		super(InetAddress.getLocalHost(), port, packetFactory);
-		server = new ServerSocket(port);
-		new Thread() {
-			@Override
-			public void run() {
-				while (!Thread.interrupted()) {
-					try {
-						handleSocket(server.accept(), null);
-					}
-					catch (IOException e) {}
-				}
-			};
-		}.start();
-	}
-
-	private void handleSocket(final Socket socket, SocketPacketBroker connectedBroker)
-			throws IOException {
-		if (connectedBroker == null) {
-			connectedBroker = new SocketPacketBroker() {
-				@Override
-				public int getPort() {
-					return socket.getPort();
-				}
-
-				@Override
-				public InetAddress getInetAddress() {
-					return socket.getInetAddress();
-				}
-			};
-		}
-		socketsByBroker.put(connectedBroker, socket);
-		socketOuts.put(socket, new PacketOutputStream(socket.getOutputStream()));
-		fireEvent(SocketEventType.BROKER_CONNECT, connectedBroker);
-		new DccppListeningThread(this, connectedBroker, socket.getInputStream(), null)
-				.start();
-	}
-
-	/**
-	 * Closes this server socket and clears the set of registered
-	 * {@link PacketListener}s.
-	 */
-	// All socket handler threads will end as an IOException is thrown when
-	// closing the socket which causes the thread to finish
-	@Override
-	public void close() throws IOException {
-		super.close();
-		server.close();
-		socketsByBroker.clear();
-	}
-
-	/**
-	 * {@inheritDoc} If no connection exists with the <code>receiver</code>'s
-	 * data, then this method will try to open a new socket to the specified
-	 * <code>receiver</code>. Therefore <code>receiver</code> must be an
-	 * instance of {@link SocketPacketBroker}. The <code>receiver</code> must be
-	 * a server socket to accept the connection. This method may also be used to
-	 * create a new connection to an other server socket.<br />
-	 * If an {@link IOException} occurs while sending the data, then the
-	 * connection will be closed. An the exception will be re-thrown.
-	 */
-	@Override
-	public void sendPacket(Packet packet, PacketBroker receiver) throws IOException {
-		Objects.requireNonNull(packet, "packet");
-		Objects.requireNonNull(receiver, "receiver");
-		synchronized (receiver) {
-			Socket socket = socketsByBroker.get(receiver);
-			if (socket == null || socket.isClosed()) { // No such socket
-				SocketPacketBroker socketReceiver = (SocketPacketBroker) receiver;
-				// Throws ClassCastException if receiver is no
-				// SocketPacketBroker
-				socket = new Socket(socketReceiver.getInetAddress(),
-						socketReceiver.getPort());
-				handleSocket(socket, socketReceiver);
-			}
-			PacketOutputStream out = socketOuts.get(socket);
-			try {
-				out.writePacket(packet);
-			}
-			catch (IOException ex) {
-				try {
-					socket.close();
-				}
-				// Ignore. Only thrown if data to send still in socket buffer
-				catch (IOException ex2) {}
-				socketsByBroker.remove(receiver);
-				socketOuts.remove(socket);
-				fireEvent(SocketEventType.BROKER_DISCONNECT, receiver);
-				throw ex;
-			}
-		}
-	}
-
-	/**
-	 * Returns an unmodifiable {@link Set} containing all connected
-	 * {@link SocketPacketBroker}s. The set always represents the currently
-	 * connected brokers.
-	 * 
-	 * @return An unmodifiable set containing all registered brokers.
-	 */
-	public Set<SocketPacketBroker> getConnectedBrokers() {
-		return unmodifiableBrokers;
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketBuilder;
+import org.tenje.jtrain.dccpp.PacketFactory;
+import org.tenje.jtrain.dccpp.PacketListener;
+
+/**
+ * A server socket to communicate with a control station, trains and other DCC++
+ * components using the DCC++ protocol. The server reads the {@link Packet}s
+ * from the connected sockets and passes them to specified
+ * {@link PacketListener}. These listeners then handle the packet (and send
+ * return packets).
+ * <p>
+ * Every connection uses a thread reading from and a thread writing to the
+ * connection. Sent packets are put into the bounded outbound queue of the
+ * connection and written by its writing thread, so sending does not wait for
+ * the receiver (see {@link BackpressurePolicy}).
+ * 
+ * @author Jonas Tennié
+ */
+public class DccppServerSocket extends AbstractDccppServerSocket {
+
+	private final ServerSocket server;
+	private final Map<SocketPacketBroker, Socket> socketsByBroker = new ConcurrentHashMap<>();
+	private final Map<Socket, PacketOutputStream> socketOuts = new ConcurrentHashMap<>();
+	private final Map<Socket, OutboundQueue> socketQueues = new ConcurrentHashMap<>();
+	private final Set<SocketPacketBroker> unmodifiableBrokers = Collections
+			.unmodifiableSet(socketsByBroker.keySet());
+
+	/**
+	 * Creates a server socket, bound to the specified port. The server's
+	 * {@link PacketFactory} has no registered {@link PacketBuilder}s by
+	 * default. Creates a new {@link PacketFactory} object.
+	 * 
+	 * @param port
+	 *            The port number, or 0 to use a port number that is
+	 *            automatically allocated.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs when opening the socket.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the port parameter is outside the specified range
+	 *             of valid port values, which is between 0 and 65535,
+	 *             inclusive.
+	 * @throws SecurityException
+	 *             Thrown if a security manager exists and its
+	 *             {@code SecurityManager#checkConnect(String, int)} method
+	 *             doesn't allow the operation.
+	 * @see ServerSocket#ServerSocket(int)
+	 */
+	public DccppServerSocket(int port) throws IOException {
+		this(port, null);
+	}
+
+	/**
+	 * Creates a server socket, bound to the specified port. The server's
+	 * {@link PacketFactory} has no registered {@link PacketBuilder}s by
+	 * default.
+	 * 
+	 * @param port
+	 *            The port number, or 0 to use a port number that is
+	 *            automatically allocated.
+	 * @param packetFactory
+	 *            The packet factory to use. <code>null</code> to create a new
+	 *            object.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs when opening the socket.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the port parameter is outside the specified range
+	 *             of valid port values, which is between 0 and 65535,
+	 *             inclusive.
+	 * @throws SecurityException
+	 *             Thrown if a security manager exists and its
+	 *             {@code SecurityManager#checkConnect(String, int)} method
+	 *             doesn't allow the operation.
+	 * @see ServerSocket#ServerSocket(int)
+	 */
+	public DccppServerSocket(int port, PacketFactory packetFactory) throws IOException {
+		this(port, packetFactory, null);
+	}
+
+	/**
+	 * Creates a server socket, bound to the specified port. The server's
+	 * {@link PacketFactory} has no registered {@link PacketBuilder}s by
+	 * default.
+	 * 
+	 * @param port
+	 *            The port number, or 0 to use a port number that is
+	 *            automatically allocated.
+	 * @param packetFactory
+	 *            The packet factory to use. <code>null</code> to create a new
+	 *            object.
+	 * @param threadFactory
+	 *            The factory to create the accept thread and the threads
+	 *            reading from the connections. <code>null</code> to use
+	 *            platform threads.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs when opening the socket.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the port parameter is outside the specified range
+	 *             of valid port values, which is between 0 and 65535,
+	 *             inclusive.
+	 * @throws SecurityException
+	 *             Thrown if a security manager exists and its
+	 *             {@code SecurityManager#checkConnect(String, int)} method
+	 *             doesn't allow the operation.
+	 * @see ServerSocket#ServerSocket(int)
+	 * @see DccppThreadFactory
+	 */
+	public DccppServerSocket(int port, PacketFactory packetFactory,
+			ThreadFactory threadFactory) throws IOException {
+		super(InetAddress.getLocalHost(), port, packetFactory);
+		if (threadFactory != null) {
+			setThreadFactory(threadFactory);
+		}
+		server = new ServerSocket(port);
+		getThreadFactory().newThread(new Runnable() {
+			@Override
+			public void run() {
+				while (!server.isClosed()) {
+					try {
+						handleSocket(server.accept(), null);
+					}
+					catch (IOException e) {}
+				}
+			};
+		}).start();
+	}
+
+	private void handleSocket(final Socket socket, SocketPacketBroker connectedBroker)
+			throws IOException {
+		if (connectedBroker == null) {
+			connectedBroker = new SocketPacketBroker() {
+				@Override
+				public int getPort() {
+					return socket.getPort();
+				}
+
+				@Override
+				public InetAddress getInetAddress() {
+					return socket.getInetAddress();
+				}
+			};
+		}
+		final SocketPacketBroker broker = connectedBroker;
+		Runnable disconnectTask = new Runnable() {
+			@Override
+			public void run() {
+				disconnect(socket, broker);
+			}
+		};
+		OutboundQueue queue = new OutboundQueue(this, socket.getOutputStream(),
+				disconnectTask);
+		final PacketOutputStream out = createPacketOutputStream(queue);
+		socketQueues.put(socket, queue);
+		getThreadFactory().newThread(queue).start();
+		try {
+			openConnection(broker, out, new Runnable() {
+				@Override
+				public void run() {
+					socketsByBroker.put(broker, socket);
+					socketOuts.put(socket, out);
+				}
+			});
+		}
+		catch (IOException ex) { // Snapshot not queued, never connected
+			socket.close();
+			OutboundQueue failed = socketQueues.remove(socket);
+			if (failed != null) {
+				failed.close();
+			}
+			throw ex;
+		}
+		fireEvent(SocketEventType.BROKER_CONNECT, broker);
+		getThreadFactory().newThread(new DccppListeningTask(this, broker,
+				socket.getInputStream(), disconnectTask)).start();
+	}
+
+	/**
+	 * Closes this server socket and clears the set of registered
+	 * {@link PacketListener}s.
+	 */
+	// All socket handler threads will end as an IOException is thrown when
+	// closing the socket which causes the thread to finish
+	@Override
+	public void close() throws IOException {
+		super.close();
+		server.close();
+		socketsByBroker.clear();
+		for (OutboundQueue queue : socketQueues.values()) {
+			queue.close();
+		}
+		socketQueues.clear();
+	}
+
+	/**
+	 * {@inheritDoc} If no connection exists with the <code>receiver</code>'s
+	 * data, then this method will try to open a new socket to the specified
+	 * <code>receiver</code>. Therefore <code>receiver</code> must be an
+	 * instance of {@link SocketPacketBroker}. The <code>receiver</code> must be
+	 * a server socket to accept the connection. This method may also be used to
+	 * create a new connection to an other server socket.<br />
+	 * The packet is encoded and put into the outbound queue of the connection,
+	 * this method does not wait until it was sent (unless the queue is full
+	 * and the policy is {@link BackpressurePolicy#BLOCK}). If an
+	 * {@link IOException} occurs while sending the data, then the connection
+	 * will be closed. An the exception will be re-thrown. A
+	 * {@link BackpressureException} does not close the connection.
+	 */
+	@Override
+	public void sendPacket(Packet packet, PacketBroker receiver) throws IOException {
+		Objects.requireNonNull(packet, "packet");
+		Objects.requireNonNull(receiver, "receiver");
+		synchronized (receiver) {
+			Socket socket = getSocket(receiver);
+			try {
+				socketOuts.get(socket).writePacket(packet);
+			}
+			catch (BackpressureException ex) {
+				throw ex;
+			}
+			catch (IOException ex) {
+				disconnect(socket, receiver);
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc} The packets are written with one call to the socket (if
+	 * the flush threshold is not exceeded). A new connection is opened like
+	 * by {@link #sendPacket(Packet, PacketBroker)}.
+	 */
+	@Override
+	public void sendPackets(Iterable<? extends Packet> packets, PacketBroker receiver)
+			throws IOException {
+		Objects.requireNonNull(packets, "packets");
+		Objects.requireNonNull(receiver, "receiver");
+		synchronized (receiver) {
+			Socket socket = getSocket(receiver);
+			try {
+				socketOuts.get(socket).writePackets(packets);
+			}
+			catch (BackpressureException ex) {
+				throw ex;
+			}
+			catch (IOException ex) {
+				disconnect(socket, receiver);
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc} The connection is handled like by
+	 * {@link #sendPacket(Packet, PacketBroker)}.
+	 */
+	@Override
+	public void sendEncoded(byte[] data, int off, int len, PacketBroker receiver)
+			throws IOException {
+		Objects.requireNonNull(data, "data");
+		Objects.requireNonNull(receiver, "receiver");
+		synchronized (receiver) {
+			Socket socket = getSocket(receiver);
+			try {
+				socketOuts.get(socket).write(data, off, len);
+			}
+			catch (BackpressureException ex) {
+				throw ex;
+			}
+			catch (IOException ex) {
+				disconnect(socket, receiver);
+				throw ex;
+			}
+		}
+	}
+
+	private Socket getSocket(PacketBroker receiver) throws IOException {
+		Socket socket = socketsByBroker.get(receiver);
+		if (socket == null || socket.isClosed()) { // No such socket
+			SocketPacketBroker socketReceiver = (SocketPacketBroker) receiver;
+			// Throws ClassCastException if receiver is no
+			// SocketPacketBroker
+			socket = new Socket(socketReceiver.getInetAddress(),
+					socketReceiver.getPort());
+			handleSocket(socket, socketReceiver);
+		}
+		return socket;
+	}
+
+	private void disconnect(Socket socket, PacketBroker receiver) {
+		try {
+			socket.close();
+		}
+		// Ignore. Only thrown if data to send still in socket buffer
+		catch (IOException ex2) {}
+		OutboundQueue queue = socketQueues.remove(socket);
+		if (queue != null) {
+			queue.close();
+		}
+		socketOuts.remove(socket);
+		// Reading and writing thread may both detect the disconnect
+		if (socketsByBroker.remove(receiver, socket)) {
+			fireEvent(SocketEventType.BROKER_DISCONNECT, receiver);
+		}
+	}
+
+	@Override
+	protected void closeConnection(PacketOutputStream out) {
+		for (Map.Entry<Socket, PacketOutputStream> socketOut : socketOuts.entrySet()) {
+			if (socketOut.getValue() == out) {
+				Socket socket = socketOut.getKey();
+				for (Map.Entry<SocketPacketBroker, Socket> broker : socketsByBroker
+						.entrySet()) {
+					if (broker.getValue() == socket) {
+						disconnect(socket, broker.getKey());
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	protected Collection<PacketOutputStream> getPacketOutputStreams() {
+		return new ArrayList<>(socketOuts.values());
+	}
+
+	@Override
+	public Set<SocketPacketBroker> getConnectedBrokers() {
+		return unmodifiableBrokers;
+	}
+
+}
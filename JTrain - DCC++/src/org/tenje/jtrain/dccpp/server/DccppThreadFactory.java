@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ThreadFactory} used by the DCC++ sockets to create the accept thread
+ * and the threads reading from the connections. Packet listeners are called
+ * by these reading threads.
+ * <p>
+ * Two modes are supported: {@link #platform(String) Platform threads} (one
+ * operating system thread per connection) and {@link #virtual(String) virtual
+ * threads}, which are available since Java 21. Virtual threads allow the
+ * blocking sockets to handle thousands of connections without changing the
+ * programming model. Virtual threads are always daemon threads, so the JVM
+ * does not wait for a socket using them.
+ * 
+ * @author Jonas Tennié
+ */
+public class DccppThreadFactory implements ThreadFactory {
+
+	private final String namePrefix;
+	private final boolean virtual;
+	private final ThreadFactory virtualFactory;
+	private final AtomicInteger threadNumber = new AtomicInteger();
+
+	private DccppThreadFactory(String namePrefix, boolean virtual) {
+		this.namePrefix = Objects.requireNonNull(namePrefix, "namePrefix");
+		this.virtual = virtual;
+		this.virtualFactory = virtual ? createVirtualThreadFactory(namePrefix) : null;
+		if (virtual && virtualFactory == null) {
+			throw new UnsupportedOperationException(
+					"virtual threads are not supported by this JVM");
+		}
+	}
+
+	/**
+	 * Returns a factory which creates platform threads.
+	 * 
+	 * @param namePrefix
+	 *            The prefix of the names of the created threads.
+	 * @return The created factory.
+	 * @throws NullPointerException
+	 *             Thrown if <code>namePrefix</code> is <code>null</code>.
+	 */
+	public static DccppThreadFactory platform(String namePrefix) {
+		return new DccppThreadFactory(namePrefix, false);
+	}
+
+	/**
+	 * Returns a factory which creates virtual threads.
+	 * 
+	 * @param namePrefix
+	 *            The prefix of the names of the created threads.
+	 * @return The created factory.
+	 * @throws NullPointerException
+	 *             Thrown if <code>namePrefix</code> is <code>null</code>.
+	 * @throws UnsupportedOperationException
+	 *             Thrown if the JVM does not support virtual threads.
+	 * @see #isVirtualSupported()
+	 */
+	public static DccppThreadFactory virtual(String namePrefix) {
+		return new DccppThreadFactory(namePrefix, true);
+	}
+
+	/**
+	 * Returns a factory which creates virtual threads if supported by the JVM
+	 * and platform threads otherwise.
+	 * 
+	 * @param namePrefix
+	 *            The prefix of the names of the created threads.
+	 * @return The created factory.
+	 * @throws NullPointerException
+	 *             Thrown if <code>namePrefix</code> is <code>null</code>.
+	 */
+	public static DccppThreadFactory virtualIfSupported(String namePrefix) {
+		return new DccppThreadFactory(namePrefix, isVirtualSupported());
+	}
+
+	/**
+	 * Returns <code>true</code> if the JVM supports virtual threads.
+	 * 
+	 * @return <code>true</code> if virtual threads are supported, otherwise
+	 *         <code>false</code>.
+	 */
+	public static boolean isVirtualSupported() {
+		return createVirtualThreadFactory("") != null;
+	}
+
+	/**
+	 * Creates a virtual thread factory using
+	 * <code>Thread.ofVirtual().name(namePrefix, 0).factory()</code>. Uses
+	 * reflection as this library does not require Java 21.
+	 * 
+	 * @return The factory or <code>null</code> if virtual threads are not
+	 *         supported.
+	 */
+	private static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class)
+					.invoke(builder, namePrefix, 0L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		}
+		catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException
+				| InvocationTargetException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if this factory creates virtual threads.
+	 * 
+	 * @return <code>true</code> if virtual threads are created,
+	 *         <code>false</code> if platform threads are created.
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		if (virtual) {
+			return virtualFactory.newThread(runnable);
+		}
+		return new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+	}
+
+}
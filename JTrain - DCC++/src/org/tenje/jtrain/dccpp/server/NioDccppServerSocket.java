@@ -0,0 +1,758 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketBuilder;
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.PacketFactory;
+import org.tenje.jtrain.dccpp.PacketListener;
+
+/**
+ * A server socket to communicate with a control station, trains and other DCC++
+ * components using the DCC++ protocol. Unlike {@link DccppServerSocket}, this
+ * server does not use a thread per connection. All connections are handled
+ * with non-blocking I/O by a fixed number of event loop threads, each using
+ * its own {@link Selector}. The server reads the {@link Packet}s from the
+ * connected sockets and passes them to specified {@link PacketListener}s on the
+ * event loop thread of the connection. Listeners should therefore not block.
+ * <p>
+ * The event loop threads are created on construction by the thread factory
+ * passed to the constructor (see {@link DccppThreadFactory}). This server
+ * creates no other threads, so {@link #setThreadFactory(ThreadFactory)} has
+ * no effect on it.
+ * <p>
+ * Sending a packet does not block: Data which cannot be written to the socket
+ * immediately is queued and written by the event loop as soon as the socket
+ * is writable again. The queue of a connection is bounded by the
+ * {@link #getOutboundQueueCapacity() outbound queue capacity}, if it is full
+ * the {@link BackpressurePolicy} is applied. With
+ * {@link BackpressurePolicy#BLOCK}, event loop threads never wait, they
+ * exceed the capacity instead. Queued packets may be replaced by newer ones
+ * (see {@link #setCoalescingKeyFunction(org.tenje.jtrain.dccpp.PacketKeyFunction)}).
+ * 
+ * @author Jonas Tennié
+ */
+public class NioDccppServerSocket extends AbstractDccppServerSocket {
+
+	/**
+	 * The default number of event loop threads.
+	 */
+	public static final int DEFAULT_IO_THREADS = Math.min(2,
+			Runtime.getRuntime().availableProcessors());
+
+	private final ServerSocketChannel server;
+	private final EventLoop[] loops;
+	private final AtomicInteger nextLoop = new AtomicInteger();
+	private final Map<SocketPacketBroker, Connection> connections = new ConcurrentHashMap<>();
+	private final Set<SocketPacketBroker> unmodifiableBrokers = Collections
+			.unmodifiableSet(connections.keySet());
+	private volatile boolean closed;
+
+	/**
+	 * Creates a server socket, bound to the specified port, using
+	 * {@link #DEFAULT_IO_THREADS} event loop threads. The server's
+	 * {@link PacketFactory} has no registered {@link PacketBuilder}s by
+	 * default. Creates a new {@link PacketFactory} object.
+	 * 
+	 * @param port
+	 *            The port number, or 0 to use a port number that is
+	 *            automatically allocated.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs when opening the socket.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the port parameter is outside the specified range
+	 *             of valid port values, which is between 0 and 65535,
+	 *             inclusive.
+	 * @throws SecurityException
+	 *             Thrown if a security manager exists and its
+	 *             {@code SecurityManager#checkListen(int)} method doesn't
+	 *             allow the operation.
+	 */
+	public NioDccppServerSocket(int port) throws IOException {
+		this(port, null);
+	}
+
+	/**
+	 * Creates a server socket, bound to the specified port, using
+	 * {@link #DEFAULT_IO_THREADS} event loop threads. The server's
+	 * {@link PacketFactory} has no registered {@link PacketBuilder}s by
+	 * default.
+	 * 
+	 * @param port
+	 *            The port number, or 0 to use a port number that is
+	 *            automatically allocated.
+	 * @param packetFactory
+	 *            The packet factory to use. <code>null</code> to create a new
+	 *            object.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs when opening the socket.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the port parameter is outside the specified range
+	 *             of valid port values, which is between 0 and 65535,
+	 *             inclusive.
+	 * @throws SecurityException
+	 *             Thrown if a security manager exists and its
+	 *             {@code SecurityManager#checkListen(int)} method doesn't
+	 *             allow the operation.
+	 */
+	public NioDccppServerSocket(int port, PacketFactory packetFactory)
+			throws IOException {
+		this(port, packetFactory, DEFAULT_IO_THREADS);
+	}
+
+	/**
+	 * Creates a server socket, bound to the specified port, using the specified
+	 * number of event loop threads. The server's {@link PacketFactory} has no
+	 * registered {@link PacketBuilder}s by default.
+	 * 
+	 * @param port
+	 *            The port number, or 0 to use a port number that is
+	 *            automatically allocated.
+	 * @param packetFactory
+	 *            The packet factory to use. <code>null</code> to create a new
+	 *            object.
+	 * @param ioThreads
+	 *            The number of event loop threads.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs when opening the socket.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the port parameter is outside the specified range
+	 *             of valid port values, which is between 0 and 65535,
+	 *             inclusive, or if <code>ioThreads</code> is less than 1.
+	 * @throws SecurityException
+	 *             Thrown if a security manager exists and its
+	 *             {@code SecurityManager#checkListen(int)} method doesn't
+	 *             allow the operation.
+	 */
+	public NioDccppServerSocket(int port, PacketFactory packetFactory, int ioThreads)
+			throws IOException {
+		this(port, packetFactory, ioThreads, null);
+	}
+
+	/**
+	 * Creates a server socket, bound to the specified port, using the specified
+	 * number of event loop threads, which are created by the specified thread
+	 * factory. The server's {@link PacketFactory} has no registered
+	 * {@link PacketBuilder}s by default.
+	 * 
+	 * @param port
+	 *            The port number, or 0 to use a port number that is
+	 *            automatically allocated.
+	 * @param packetFactory
+	 *            The packet factory to use. <code>null</code> to create a new
+	 *            object.
+	 * @param ioThreads
+	 *            The number of event loop threads.
+	 * @param threadFactory
+	 *            The factory to create the event loop threads, which also call
+	 *            the packet listeners. <code>null</code> to use platform
+	 *            threads.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs when opening the socket.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the port parameter is outside the specified range
+	 *             of valid port values, which is between 0 and 65535,
+	 *             inclusive, or if <code>ioThreads</code> is less than 1.
+	 * @throws SecurityException
+	 *             Thrown if a security manager exists and its
+	 *             {@code SecurityManager#checkListen(int)} method doesn't
+	 *             allow the operation.
+	 * @see DccppThreadFactory
+	 */
+	public NioDccppServerSocket(int port, PacketFactory packetFactory, int ioThreads,
+			ThreadFactory threadFactory) throws IOException {
+		super(InetAddress.getLocalHost(), port, packetFactory);
+		if (ioThreads < 1) {
+			throw new IllegalArgumentException(
+					"io threads value out of valid range: " + ioThreads);
+		}
+		if (threadFactory != null) {
+			setThreadFactory(threadFactory);
+		}
+		loops = new EventLoop[ioThreads];
+		server = ServerSocketChannel.open();
+		try {
+			server.bind(new InetSocketAddress(port));
+			server.configureBlocking(false);
+			for (int i = 0; i < loops.length; i++) {
+				loops[i] = new EventLoop();
+			}
+		}
+		catch (IOException ex) { // Release already opened resources
+			server.close();
+			for (EventLoop loop : loops) {
+				if (loop != null) {
+					loop.selector.close();
+				}
+			}
+			throw ex;
+		}
+		loops[0].execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					server.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+				}
+				catch (IOException ex) {
+					ex.printStackTrace();
+				}
+			}
+		});
+		for (EventLoop loop : loops) {
+			loop.thread = getThreadFactory().newThread(loop);
+			loop.thread.start();
+		}
+	}
+
+	/**
+	 * Returns the number of event loop threads handling the connections of
+	 * this server.
+	 * 
+	 * @return The number of event loop threads.
+	 */
+	public int getIoThreadCount() {
+		return loops.length;
+	}
+
+	/**
+	 * Closes this server socket, all connections and clears the set of
+	 * registered {@link PacketListener}s. The event loop threads are stopped.
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		super.close();
+		try {
+			server.close();
+		}
+		finally {
+			for (Connection connection : connections.values()) {
+				connection.closeChannel();
+			}
+			connections.clear();
+			for (EventLoop loop : loops) {
+				loop.selector.wakeup();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc} If no connection exists with the <code>receiver</code>'s
+	 * data, then this method will try to open a new connection to the
+	 * specified <code>receiver</code>. Therefore <code>receiver</code> must be
+	 * an instance of {@link SocketPacketBroker}. The <code>receiver</code> must
+	 * be a server socket to accept the connection.<br />
+	 * This method does not block while sending, data which cannot be sent
+	 * immediately is queued (see {@link BackpressurePolicy}). If an
+	 * {@link IOException} occurs while sending the data, then the connection
+	 * will be closed. An the exception will be re-thrown. A
+	 * {@link BackpressureException} does not close the connection.
+	 */
+	@Override
+	public void sendPacket(Packet packet, PacketBroker receiver) throws IOException {
+		Objects.requireNonNull(packet, "packet");
+		Connection connection = getConnection(receiver);
+		try {
+			connection.out.writePacket(packet);
+		}
+		catch (BackpressureException ex) {
+			throw ex;
+		}
+		catch (IOException ex) {
+			connection.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * {@inheritDoc} A new connection is opened like by
+	 * {@link #sendPacket(Packet, PacketBroker)}.
+	 */
+	@Override
+	public void sendPackets(Iterable<? extends Packet> packets, PacketBroker receiver)
+			throws IOException {
+		Objects.requireNonNull(packets, "packets");
+		Connection connection = getConnection(receiver);
+		try {
+			connection.out.writePackets(packets);
+		}
+		catch (BackpressureException ex) {
+			throw ex;
+		}
+		catch (IOException ex) {
+			connection.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * {@inheritDoc} The connection is handled like by
+	 * {@link #sendPacket(Packet, PacketBroker)}.
+	 */
+	@Override
+	public void sendEncoded(byte[] data, int off, int len, PacketBroker receiver)
+			throws IOException {
+		Objects.requireNonNull(data, "data");
+		Connection connection = getConnection(receiver);
+		try {
+			connection.out.write(data, off, len);
+		}
+		catch (BackpressureException ex) {
+			throw ex;
+		}
+		catch (IOException ex) {
+			connection.close();
+			throw ex;
+		}
+	}
+
+	private Connection getConnection(PacketBroker receiver) throws IOException {
+		Objects.requireNonNull(receiver, "receiver");
+		Connection connection = connections.get(receiver);
+		if (connection == null) {
+			synchronized (receiver) {
+				connection = connections.get(receiver);
+				if (connection == null) { // No such connection
+					// Throws ClassCastException if receiver is no
+					// SocketPacketBroker
+					SocketPacketBroker socketReceiver = (SocketPacketBroker) receiver;
+					SocketChannel channel = SocketChannel.open(new InetSocketAddress(
+							socketReceiver.getInetAddress(), socketReceiver.getPort()));
+					connection = new Connection(channel, socketReceiver);
+					connection.open();
+				}
+			}
+		}
+		return connection;
+	}
+
+	@Override
+	public Set<SocketPacketBroker> getConnectedBrokers() {
+		return unmodifiableBrokers;
+	}
+
+	@Override
+	protected void closeConnection(PacketOutputStream out) {
+		for (Connection connection : connections.values()) {
+			if (connection.out == out) {
+				connection.close();
+				return;
+			}
+		}
+	}
+
+	@Override
+	protected Collection<PacketOutputStream> getPacketOutputStreams() {
+		List<PacketOutputStream> outs = new ArrayList<>(connections.size());
+		for (Connection connection : connections.values()) {
+			outs.add(connection.out);
+		}
+		return outs;
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel;
+		while ((channel = server.accept()) != null) {
+			try {
+				new Connection(channel, null).open();
+			}
+			catch (IOException ex) {
+				channel.close();
+			}
+		}
+	}
+
+	private class EventLoop implements Runnable {
+
+		private final Selector selector;
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+		private Thread thread;
+
+		private EventLoop() throws IOException {
+			selector = Selector.open();
+		}
+
+		/**
+		 * Runs the specified task on this event loop thread.
+		 */
+		private void execute(Runnable task) {
+			tasks.add(task);
+			selector.wakeup();
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (!closed) {
+					selector.select();
+					Runnable task;
+					while ((task = tasks.poll()) != null) {
+						task.run();
+					}
+					Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+					while (keys.hasNext()) {
+						handle(keys.next());
+						keys.remove();
+					}
+				}
+			}
+			catch (IOException | ClosedSelectorException ex) {}
+			finally {
+				try {
+					selector.close();
+				}
+				catch (IOException ex) {}
+			}
+		}
+
+		private void handle(SelectionKey key) {
+			if (key.attachment() == null) { // Server channel
+				try {
+					if (key.isValid() && key.isAcceptable()) {
+						accept();
+					}
+				}
+				catch (IOException ex) {
+					if (!closed) {
+						ex.printStackTrace();
+					}
+				}
+				return;
+			}
+			Connection connection = (Connection) key.attachment();
+			try {
+				if (key.isValid() && key.isWritable()) {
+					connection.writePending();
+				}
+				if (key.isValid() && key.isReadable()) {
+					connection.read();
+				}
+			}
+			catch (IOException | CancelledKeyException ex) {
+				connection.close();
+			}
+		}
+
+	}
+
+	private class Connection implements SocketPacketBroker {
+
+		private final SocketChannel channel;
+		private final SocketPacketBroker broker;
+		private final InetAddress inetAddress;
+		private final int port;
+		private final EventLoop loop;
+		private final PacketFrameDecoder decoder;
+		private final PacketOutputStream out;
+		private final Runnable updateInterestTask = new Runnable() {
+			@Override
+			public void run() {
+				updateInterest();
+			}
+		};
+		// Data being written, queued data is only moved here once it is empty
+		private ByteBuffer pending = ByteBuffer.allocate(0);
+		private final OutboundBuffer queued = new OutboundBuffer();
+		private SelectionKey key;
+		private boolean closed;
+
+		/**
+		 * @param broker
+		 *            The broker which represents the remote or
+		 *            <code>null</code> to use the connection itself.
+		 */
+		private Connection(SocketChannel channel, SocketPacketBroker broker)
+				throws IOException {
+			this.channel = channel;
+			this.broker = broker == null ? this : broker;
+			channel.configureBlocking(false);
+			inetAddress = channel.socket().getInetAddress();
+			port = channel.socket().getPort();
+			loop = loops[(nextLoop.getAndIncrement() & Integer.MAX_VALUE) % loops.length];
+			decoder = new PacketFrameDecoder(getMaxFrameLength());
+			out = createPacketOutputStream(new ConnectionOutput());
+		}
+
+		private void open() throws IOException {
+			try {
+				openConnection(broker, out, new Runnable() {
+					@Override
+					public void run() {
+						connections.put(broker, Connection.this);
+					}
+				});
+			}
+			catch (IOException ex) { // Snapshot not queued, never connected
+				closeChannel();
+				throw ex;
+			}
+			loop.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						key = channel.register(loop.selector, SelectionKey.OP_READ,
+								Connection.this);
+						updateInterest();
+					}
+					catch (IOException ex) {
+						close();
+					}
+				}
+			});
+			fireEvent(SocketEventType.BROKER_CONNECT, broker);
+		}
+
+		private void read() throws IOException {
+			int read = decoder.fill(channel);
+			PacketFrame frame;
+			while ((frame = decoder.nextFrame()) != null) {
+				dispatchPacket(frame, broker);
+			}
+			if (read < 0) {
+				close();
+			}
+		}
+
+		private void write(byte[] b, int off, int len) throws IOException {
+			if (!enqueue(b, off, len)) {
+				close();
+				throw new IOException("broker too slow, disconnected");
+			}
+		}
+
+		private void write(PacketEncoder encoded, Object key) throws IOException {
+			if (!enqueue(encoded, key)) {
+				close();
+				throw new IOException("broker too slow, disconnected");
+			}
+		}
+
+		private synchronized boolean enqueue(byte[] b, int off, int len)
+				throws IOException {
+			if (!reserve(len, null)) {
+				return false;
+			}
+			if (pending.position() == 0) { // Nothing queued, try to write now
+				ByteBuffer data = ByteBuffer.wrap(b, off, len);
+				channel.write(data);
+				if (data.hasRemaining()) {
+					ensurePendingCapacity(data.remaining());
+					pending.put(data);
+					loop.execute(updateInterestTask);
+				}
+			}
+			else {
+				queued.append(b, off, len);
+			}
+			return true;
+		}
+
+		private synchronized boolean enqueue(PacketEncoder encoded, Object key)
+				throws IOException {
+			if (!reserve(encoded.size(), key)) {
+				return false;
+			}
+			queued.append(encoded, key);
+			if (pending.position() == 0) { // Nothing being written
+				writeQueued();
+			}
+			return true;
+		}
+
+		/**
+		 * Applies the backpressure policy if <code>len</code> bytes do not
+		 * fit into the queue.
+		 * 
+		 * @return <code>false</code> if the connection must be closed as the
+		 *         queue is full.
+		 */
+		private boolean reserve(int len, Object key) throws IOException {
+			checkOpen();
+			if (queued.containsKey(key)) { // Replaces a queued packet
+				return true;
+			}
+			int capacity = getOutboundQueueCapacity();
+			if (queuedBytes() > 0 && queuedBytes() + len > capacity) {
+				switch (getBackpressurePolicy()) {
+					case BLOCK:
+						// Waiting on an event loop thread would stop the loop
+						while (Thread.currentThread() != loop.thread && queuedBytes() > 0
+								&& queuedBytes() + len > capacity
+								&& !queued.containsKey(key)) {
+							try {
+								wait();
+							}
+							catch (InterruptedException ex) {
+								Thread.currentThread().interrupt();
+								throw new IOException("interrupted while waiting", ex);
+							}
+							checkOpen();
+						}
+					break;
+					case REJECT:
+						throw new BackpressureException("outbound queue full: "
+								+ queuedBytes() + " bytes queued");
+					default:
+						return false;
+				}
+			}
+			return true;
+		}
+
+		private int queuedBytes() {
+			return pending.position() + queued.size();
+		}
+
+		private void checkOpen() throws IOException {
+			if (closed) {
+				throw new IOException("connection closed");
+			}
+		}
+
+		private void ensurePendingCapacity(int length) {
+			if (pending.remaining() < length) {
+				ByteBuffer newPending = ByteBuffer.allocate(
+						Math.max(pending.capacity() * 2, pending.position() + length));
+				pending.flip();
+				newPending.put(pending);
+				pending = newPending;
+			}
+		}
+
+		/**
+		 * Moves the queued data into the empty pending buffer and tries to
+		 * write it.
+		 */
+		private void writeQueued() throws IOException {
+			int length = queued.size();
+			ensurePendingCapacity(length);
+			queued.drainTo(pending.array(), pending.arrayOffset() + pending.position());
+			pending.position(pending.position() + length);
+			pending.flip();
+			try {
+				channel.write(pending);
+			}
+			finally {
+				pending.compact();
+			}
+			if (pending.position() > 0) {
+				loop.execute(updateInterestTask);
+			}
+		}
+
+		private synchronized void writePending() throws IOException {
+			pending.flip();
+			try {
+				channel.write(pending);
+			}
+			finally {
+				pending.compact();
+				notifyAll(); // Release blocked writers
+			}
+			if (pending.position() == 0 && queued.size() > 0) {
+				writeQueued();
+			}
+			if (pending.position() == 0) {
+				updateInterest();
+			}
+		}
+
+		private synchronized void updateInterest() {
+			if (key != null && key.isValid()) {
+				key.interestOps(pending.position() == 0 ? SelectionKey.OP_READ
+						: SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			}
+		}
+
+		private synchronized boolean closeChannel() {
+			if (closed) {
+				return false;
+			}
+			closed = true;
+			queued.clear();
+			notifyAll(); // Release blocked writers
+			try {
+				channel.close();
+			}
+			catch (IOException ex) {}
+			return true;
+		}
+
+		private void close() {
+			if (closeChannel() && connections.remove(broker, this)) {
+				fireEvent(SocketEventType.BROKER_DISCONNECT, broker);
+			}
+		}
+
+		@Override
+		public InetAddress getInetAddress() {
+			return inetAddress;
+		}
+
+		@Override
+		public int getPort() {
+			return port;
+		}
+
+		private class ConnectionOutput extends OutputStream implements CoalescingOutput {
+
+			@Override
+			public void write(int b) throws IOException {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				Connection.this.write(b, off, len);
+			}
+
+			@Override
+			public void write(PacketEncoder encoded, Object key) throws IOException {
+				Connection.this.write(encoded, key);
+			}
+
+		}
+
+	}
+
+}
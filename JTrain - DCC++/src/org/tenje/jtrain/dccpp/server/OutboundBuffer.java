@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.PacketKeyFunction;
+
+/**
+ * The queued data of an outbound queue. The data is stored in segments: Raw
+ * data is appended to the last raw segment, each keyed packet (see
+ * {@link PacketKeyFunction}) is stored in its own segment. Appending a keyed
+ * packet while a packet with the same key is queued replaces the queued
+ * packet at its position (latest value wins). Unkeyed data is a barrier:
+ * only keyed packets appended after the last unkeyed data are replaced, older
+ * ones are kept and the new packet is appended. So a state never overtakes a
+ * define or delete which was queued after the replaced state. The order of
+ * all other data is kept.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Jonas Tennié
+ */
+class OutboundBuffer {
+
+	private static final int MAX_FREE_SEGMENTS = 64;
+	private static final int MAX_FREE_SEGMENT_CAPACITY = 1024;
+
+	private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+	private final Map<Object, Segment> keyedSegments = new HashMap<>();
+	private final ArrayDeque<Segment> freeSegments = new ArrayDeque<>();
+	private int size;
+	private long coalescedCount;
+
+	/**
+	 * Appends raw data.
+	 */
+	void append(byte[] b, int off, int len) {
+		keyedSegments.clear(); // Barrier
+		Segment last = segments.peekLast();
+		if (last == null || last.key != null) {
+			last = obtainSegment(null);
+		}
+		last.ensureCapacity(last.length + len);
+		System.arraycopy(b, off, last.data, last.length, len);
+		last.length += len;
+		size += len;
+	}
+
+	/**
+	 * Appends an encoded packet or replaces the queued packet with the same
+	 * key.
+	 * 
+	 * @param encoded
+	 *            The encoder containing the packet.
+	 * @param key
+	 *            The key of the packet. <code>null</code> to append it as raw
+	 *            data.
+	 */
+	void append(PacketEncoder encoded, Object key) {
+		Segment segment = null;
+		if (key == null) {
+			keyedSegments.clear(); // Barrier
+		}
+		else {
+			segment = keyedSegments.get(key);
+		}
+		if (segment != null) { // Replace stale packet
+			size -= segment.length;
+			coalescedCount++;
+		}
+		else {
+			segment = segments.peekLast();
+			if (key != null || segment == null || segment.key != null) {
+				segment = obtainSegment(key);
+			}
+		}
+		int off = key == null ? segment.length : 0;
+		segment.ensureCapacity(off + encoded.size());
+		encoded.copyTo(segment.data, off);
+		segment.length = off + encoded.size();
+		size += encoded.size();
+	}
+
+	private Segment obtainSegment(Object key) {
+		Segment segment = freeSegments.poll();
+		if (segment == null) {
+			segment = new Segment();
+		}
+		segment.key = key;
+		segment.length = 0;
+		segments.add(segment);
+		if (key != null) {
+			keyedSegments.put(key, segment);
+		}
+		return segment;
+	}
+
+	/**
+	 * Returns <code>true</code> if a packet with the specified key is queued
+	 * after the last unkeyed data, so appending it replaces the queued packet.
+	 */
+	boolean containsKey(Object key) {
+		return key != null && keyedSegments.containsKey(key);
+	}
+
+	/**
+	 * Returns the number of queued bytes.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of packets which replaced a queued packet.
+	 */
+	long getCoalescedCount() {
+		return coalescedCount;
+	}
+
+	/**
+	 * Copies all queued data into the specified array and clears this
+	 * buffer.
+	 * 
+	 * @param dst
+	 *            The array to copy to. Must have space for {@link #size()}
+	 *            bytes starting at <code>off</code>.
+	 * @param off
+	 *            The index of the first byte in <code>dst</code>.
+	 */
+	void drainTo(byte[] dst, int off) {
+		Segment segment;
+		while ((segment = segments.poll()) != null) {
+			System.arraycopy(segment.data, 0, dst, off, segment.length);
+			off += segment.length;
+			if (freeSegments.size() < MAX_FREE_SEGMENTS
+					&& segment.data.length <= MAX_FREE_SEGMENT_CAPACITY) {
+				segment.key = null;
+				freeSegments.add(segment);
+			}
+		}
+		keyedSegments.clear();
+		size = 0;
+	}
+
+	/**
+	 * Discards all queued data.
+	 */
+	void clear() {
+		segments.clear();
+		keyedSegments.clear();
+		size = 0;
+	}
+
+	private static class Segment {
+
+		private byte[] data = new byte[32];
+		private int length;
+		private Object key;
+
+		private void ensureCapacity(int capacity) {
+			if (data.length < capacity) {
+				byte[] newData = new byte[Math.max(data.length * 2, capacity)];
+				System.arraycopy(data, 0, newData, 0, length);
+				data = newData;
+			}
+		}
+
+	}
+
+}
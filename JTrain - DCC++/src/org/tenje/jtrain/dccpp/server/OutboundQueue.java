@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.tenje.jtrain.dccpp.PacketEncoder;
+
+/**
+ * A bounded outbound queue of a connection. Data written to this stream is
+ * copied into an {@link OutboundBuffer} and returns immediately. A writer
+ * thread (see {@link #run()}) drains the buffer and writes everything queued
+ * so far with a single call to the (blocking) output stream of the
+ * connection. Keyed packets (see {@link CoalescingOutput}) replace queued
+ * packets with the same key until they are drained.
+ * <p>
+ * If the queued data would exceed the capacity of the server (see
+ * {@link AbstractDccppServerSocket#getOutboundQueueCapacity()}), then its
+ * {@link BackpressurePolicy} is applied. A single write which is larger than
+ * the capacity is accepted if nothing is queued. Replacing a queued packet is
+ * always accepted.
+ * <p>
+ * The failure handler is run once if the writer thread fails to write or if
+ * the queue overflows with {@link BackpressurePolicy#DISCONNECT}. It is
+ * expected to close the connection and this queue.
+ *
+ * @author Jonas Tennié
+ */
+class OutboundQueue extends OutputStream implements CoalescingOutput, Runnable {
+
+	private final AbstractDccppServerSocket server;
+	private final OutputStream out;
+	private final Runnable failureHandler;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+	private final OutboundBuffer queued = new OutboundBuffer();
+	private byte[] writing = new byte[256];
+	private boolean closed, failed;
+
+	/**
+	 * @param server
+	 *            The server providing capacity and policy.
+	 * @param out
+	 *            The output stream of the connection.
+	 * @param failureHandler
+	 *            Called if writing fails or the queue overflows.
+	 */
+	OutboundQueue(AbstractDccppServerSocket server, OutputStream out,
+			Runnable failureHandler) {
+		this.server = Objects.requireNonNull(server, "server");
+		this.out = Objects.requireNonNull(out, "out");
+		this.failureHandler = Objects.requireNonNull(failureHandler, "failureHandler");
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		boolean overflow;
+		lock.lock();
+		try {
+			overflow = !reserve(len, null);
+			if (!overflow) {
+				queued.append(b, off, len);
+				notEmpty.signal();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+		if (overflow) {
+			failureHandler.run();
+			throw new IOException("broker too slow, disconnected");
+		}
+	}
+
+	@Override
+	public void write(PacketEncoder encoded, Object key) throws IOException {
+		boolean overflow;
+		lock.lock();
+		try {
+			overflow = !reserve(encoded.size(), key);
+			if (!overflow) {
+				queued.append(encoded, key);
+				notEmpty.signal();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+		if (overflow) {
+			failureHandler.run();
+			throw new IOException("broker too slow, disconnected");
+		}
+	}
+
+	/**
+	 * Applies the backpressure policy if <code>len</code> bytes do not fit
+	 * into the queue. Must be called while holding the lock.
+	 * 
+	 * @return <code>false</code> if the failure handler must be run.
+	 */
+	private boolean reserve(int len, Object key) throws IOException {
+		checkOpen();
+		if (queued.containsKey(key)) { // Replaces a queued packet
+			return true;
+		}
+		int capacity = server.getOutboundQueueCapacity();
+		if (queued.size() > 0 && queued.size() + len > capacity) {
+			switch (server.getBackpressurePolicy()) {
+				case BLOCK:
+					while (queued.size() > 0 && queued.size() + len > capacity
+							&& !queued.containsKey(key)) {
+						notFull.awaitUninterruptibly();
+						checkOpen();
+					}
+				break;
+				case REJECT:
+					throw new BackpressureException(
+							"outbound queue full: " + queued.size() + " bytes queued");
+				default:
+					fail(); // Not failed before as the queue was open
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private void checkOpen() throws IOException {
+		if (closed) {
+			throw new IOException("connection closed");
+		}
+	}
+
+	/**
+	 * Marks this queue as failed. Must be called while holding the lock.
+	 * 
+	 * @return <code>true</code> if the queue had not failed before.
+	 */
+	private boolean fail() {
+		closed = true;
+		notEmpty.signal();
+		notFull.signalAll();
+		if (failed) {
+			return false;
+		}
+		failed = true;
+		return true;
+	}
+
+	/**
+	 * Does nothing, queued data is written by the writer thread as soon as
+	 * possible.
+	 */
+	@Override
+	public void flush() {}
+
+	/**
+	 * Returns the number of queued bytes which have not been passed to the
+	 * connection, yet.
+	 * 
+	 * @return The number of queued bytes.
+	 */
+	int size() {
+		lock.lock();
+		try {
+			return queued.size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of queued packets which were replaced by a newer
+	 * packet with the same key.
+	 * 
+	 * @return The number of coalesced packets.
+	 */
+	long getCoalescedCount() {
+		lock.lock();
+		try {
+			return queued.getCoalescedCount();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Closes this queue. Queued data is discarded, waiting writers and the
+	 * writer thread are released.
+	 */
+	@Override
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			queued.clear();
+			failed = true; // Do not run the failure handler anymore
+			notEmpty.signal();
+			notFull.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes the queued data to the connection until this queue is closed.
+	 */
+	@Override
+	public void run() {
+		while (true) {
+			int length;
+			lock.lock();
+			try {
+				while (queued.size() == 0 && !closed) {
+					notEmpty.awaitUninterruptibly();
+				}
+				if (closed) {
+					return;
+				}
+				length = queued.size();
+				if (writing.length < length) {
+					writing = new byte[Math.max(writing.length * 2, length)];
+				}
+				queued.drainTo(writing, 0);
+				notFull.signalAll();
+			}
+			finally {
+				lock.unlock();
+			}
+			try {
+				out.write(writing, 0, length);
+				out.flush();
+			}
+			catch (IOException ex) {
+				boolean failedNow;
+				lock.lock();
+				try {
+					failedNow = fail();
+				}
+				finally {
+					lock.unlock();
+				}
+				if (failedNow) {
+					failureHandler.run();
+				}
+				return;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import org.tenje.jtrain.dccpp.PacketKeyFunction;
+
+/**
+ * Defines what happens if a packet is added to a full bounded queue.
+ * 
+ * @author Jonas Tennié
+ */
+public enum OverflowPolicy {
+
+	/**
+	 * The adding thread waits until the queue has space.
+	 */
+	BLOCK,
+
+	/**
+	 * The oldest queued packet is discarded.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * A queued packet with the same key (see {@link PacketKeyFunction}) is
+	 * replaced by the new packet, at its position in the queue. This happens
+	 * regardless of whether the queue is full. Packets without a key (e.g.
+	 * defining or deleting an accessory) are a barrier: only packets queued
+	 * after the last packet without a key are replaced, so a state never
+	 * overtakes a define or delete. If the queue is full and the new packet
+	 * does not replace a queued one, the adding thread waits like
+	 * {@link #BLOCK}. No packet is discarded.
+	 */
+	COALESCE;
+
+}
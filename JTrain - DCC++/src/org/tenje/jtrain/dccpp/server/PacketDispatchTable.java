@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketListener;
+
+/**
+ * An immutable table which maps the type char of a received packet to the
+ * {@link PacketListener}s which are interested in it. The table is built once
+ * from the listener registrations of an {@link AbstractDccppSocket} and is
+ * replaced whenever the registrations change, so dispatching a packet only
+ * requires one array lookup.
+ * <p>
+ * A listener can be registered for all packets, for specific type chars or for
+ * packet interfaces. The type char of a packet interface is taken from its
+ * <code>TYPE_CHAR</code> constant (declared or inherited by every packet
+ * interface of the <code>org.tenje.jtrain.dccpp</code> package). Interfaces
+ * without this constant are checked for every received packet.
+ * 
+ * @author Jonas Tennié
+ */
+final class PacketDispatchTable {
+
+	private static final int TYPE_CHAR_COUNT = 128;
+	private static final Route[] NO_ROUTES = new Route[0];
+
+	/**
+	 * A table without any listeners.
+	 */
+	static final PacketDispatchTable EMPTY = new PacketDispatchTable(
+			Collections.<PacketListener, Registration> emptyMap());
+
+	private final Route[][] routesByChar = new Route[TYPE_CHAR_COUNT][];
+	private final Route[] otherRoutes; // Type chars >= TYPE_CHAR_COUNT
+
+	/**
+	 * Builds a new {@link PacketDispatchTable} from the specified listener
+	 * registrations. The routes for each type char keep the iteration order of
+	 * <code>registrations</code>.
+	 * 
+	 * @param registrations
+	 *            The registrations of the listeners.
+	 */
+	PacketDispatchTable(Map<PacketListener, Registration> registrations) {
+		List<Route> routes = new ArrayList<>(registrations.size());
+		for (int typeChar = 0; typeChar < TYPE_CHAR_COUNT; typeChar++) {
+			for (Entry<PacketListener, Registration> entry : registrations.entrySet()) {
+				Route route = entry.getValue().getRoute(entry.getKey(), typeChar);
+				if (route != null) {
+					routes.add(route);
+				}
+			}
+			routesByChar[typeChar] = routes.isEmpty() ? NO_ROUTES
+					: routes.toArray(new Route[routes.size()]);
+			routes.clear();
+		}
+		for (Entry<PacketListener, Registration> entry : registrations.entrySet()) {
+			Route route = entry.getValue().getRoute(entry.getKey(), -1);
+			if (route != null) {
+				routes.add(route);
+			}
+		}
+		otherRoutes = routes.isEmpty() ? NO_ROUTES
+				: routes.toArray(new Route[routes.size()]);
+	}
+
+	/**
+	 * Returns the routes for packets with the specified type char. The returned
+	 * array must not be modified.
+	 * 
+	 * @param typeChar
+	 *            The type char of the packet.
+	 * @return The routes. An empty array if no listener is interested in the
+	 *         packets.
+	 */
+	Route[] getRoutes(char typeChar) {
+		return typeChar < TYPE_CHAR_COUNT ? routesByChar[typeChar] : otherRoutes;
+	}
+
+	/**
+	 * Returns the type char declared by the <code>TYPE_CHAR</code> constant of
+	 * the specified packet type.
+	 * 
+	 * @param packetType
+	 *            The packet type.
+	 * @return The type char or <code>-1</code> if the type does not declare or
+	 *         inherit the constant.
+	 */
+	static int getTypeChar(Class<? extends Packet> packetType) {
+		try {
+			Field field = packetType.getField("TYPE_CHAR");
+			if (field.getType() == char.class && Modifier.isStatic(field.getModifiers())) {
+				return field.getChar(null);
+			}
+		}
+		catch (NoSuchFieldException | IllegalAccessException ex) {}
+		return -1;
+	}
+
+	/**
+	 * A listener together with the packet types it is interested in.
+	 */
+	static final class Route {
+
+		private final PacketListener listener;
+		private final Class<?>[] packetTypes; // null: All packets
+
+		private Route(PacketListener listener, Class<?>[] packetTypes) {
+			this.listener = listener;
+			this.packetTypes = packetTypes;
+		}
+
+		/**
+		 * Returns the listener.
+		 * 
+		 * @return The listener.
+		 */
+		PacketListener getListener() {
+			return listener;
+		}
+
+		/**
+		 * Returns <code>true</code> if the listener is interested in the
+		 * specified packet. Only packets with a matching type char are checked.
+		 * 
+		 * @param packet
+		 *            The packet.
+		 * @return <code>true</code> if the packet must be passed to the
+		 *         listener, otherwise <code>false</code>.
+		 */
+		boolean accepts(Packet packet) {
+			if (packetTypes == null) {
+				return true;
+			}
+			for (Class<?> packetType : packetTypes) {
+				if (packetType.isInstance(packet)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+	/**
+	 * The (mutable) registration of a single listener.
+	 */
+	static final class Registration {
+
+		private boolean allPackets;
+		private final boolean[] typeChars = new boolean[TYPE_CHAR_COUNT];
+		// Packet type -> type char (-1 if unknown)
+		private final Map<Class<? extends Packet>, Integer> packetTypes = new LinkedHashMap<>();
+
+		/**
+		 * Registers the listener for all packets.
+		 * 
+		 * @return <code>true</code> if the registration changed.
+		 */
+		boolean addAllPackets() {
+			if (allPackets) {
+				return false;
+			}
+			allPackets = true;
+			return true;
+		}
+
+		/**
+		 * Registers the listener for packets with the specified type char.
+		 * 
+		 * @param typeChar
+		 *            The type char in range (0-127).
+		 * @return <code>true</code> if the registration changed.
+		 */
+		boolean addTypeChar(char typeChar) {
+			if (typeChars[typeChar]) {
+				return false;
+			}
+			typeChars[typeChar] = true;
+			return true;
+		}
+
+		/**
+		 * Registers the listener for packets implementing the specified type.
+		 * 
+		 * @param packetType
+		 *            The packet type.
+		 * @return <code>true</code> if the registration changed.
+		 */
+		boolean addPacketType(Class<? extends Packet> packetType) {
+			if (packetTypes.containsKey(packetType)) {
+				return false;
+			}
+			packetTypes.put(packetType, getTypeChar(packetType));
+			return true;
+		}
+
+		private Route getRoute(PacketListener listener, int typeChar) {
+			if (allPackets || typeChar >= 0 && typeChars[typeChar]) {
+				return new Route(listener, null);
+			}
+			List<Class<?>> matchingTypes = new ArrayList<>(packetTypes.size());
+			for (Entry<Class<? extends Packet>, Integer> entry : packetTypes.entrySet()) {
+				if (entry.getValue() == typeChar || entry.getValue() < 0) {
+					matchingTypes.add(entry.getKey());
+				}
+			}
+			if (matchingTypes.isEmpty()) {
+				return null;
+			}
+			return new Route(listener,
+					matchingTypes.toArray(new Class<?>[matchingTypes.size()]));
+		}
+
+	}
+
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.tenje.jtrain.dccpp.PreEncodedPacket;
+import org.tenje.jtrain.dccpp.impl.PacketParameterList;
+
+/**
+ * A raw DCC++ frame decoded by a {@link PacketFrameDecoder}. The frame is a
+ * view on the decoder's internal buffer and is reused for every decoded frame.
+ * Its contents are only valid until the next frame is decoded by the same
+ * decoder. The parameters can be accessed without creating any objects using
+ * {@link #getParameterLength(int)}, {@link #getParameterChar(int, int)} and
+ * {@link #getIntParameter(int)}. {@link #getRawParameters()} creates the
+ * parameter {@link String}s on demand.
+ * <p>
+ * As {@link PreEncodedPacket}, the frame provides its original bytes
+ * (including the delimiters). Sending a frame therefore copies these bytes
+ * instead of encoding the packet again, which allows forwarding received
+ * packets without decoding them.
+ *
+ * @author Jonas Tennié
+ */
+public class PacketFrame implements PreEncodedPacket {
+
+	private final int[] parameterStarts;
+	private final int[] parameterEnds;
+	private byte[] data;
+	private int start, end;
+	private char typeChar;
+	private int parameterCount;
+	private PacketParameterList rawParameters;
+
+	/**
+	 * Constructs a new empty {@link PacketFrame} which can hold up to
+	 * <code>maxParameters</code> parameters.
+	 *
+	 * @param maxParameters
+	 *            The maximum number of parameters.
+	 */
+	PacketFrame(int maxParameters) {
+		parameterStarts = new int[maxParameters];
+		parameterEnds = new int[maxParameters];
+	}
+
+	/**
+	 * Parses the frame contents between the frame delimiters. The type char
+	 * is the first non white space char, the parameters are separated by white
+	 * spaces.
+	 *
+	 * @param data
+	 *            The array containing the frame.
+	 * @param start
+	 *            The index of the opening '&lt;'.
+	 * @param end
+	 *            The index of the closing '&gt;'.
+	 * @return <code>true</code> if the frame contains a type char,
+	 *         <code>false</code> if the frame is empty.
+	 */
+	boolean parse(byte[] data, int start, int end) {
+		int index = start + 1;
+		while (index < end && isWhiteSpace(data[index])) {
+			index++;
+		}
+		if (index == end) {
+			return false;
+		}
+		this.data = data;
+		this.start = start;
+		this.end = end;
+		typeChar = (char) (data[index++] & 0xFF);
+		parameterCount = 0;
+		rawParameters = null;
+		while (index < end) {
+			if (isWhiteSpace(data[index])) {
+				index++;
+			}
+			else {
+				parameterStarts[parameterCount] = index;
+				while (index < end && !isWhiteSpace(data[index])) {
+					index++;
+				}
+				parameterEnds[parameterCount++] = index;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isWhiteSpace(byte b) {
+		return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+	}
+
+	@Override
+	public char getTypeChar() {
+		return typeChar;
+	}
+
+	/**
+	 * Returns the number of parameters in this frame.
+	 *
+	 * @return The number of parameters.
+	 */
+	public int getParameterCount() {
+		return parameterCount;
+	}
+
+	/**
+	 * Returns the number of chars of the parameter at the specified index.
+	 *
+	 * @param index
+	 *            The index of the parameter.
+	 * @return The number of chars of the parameter.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>index</code> does not lay in range
+	 *             (0-({@link #getParameterCount()}-1)).
+	 */
+	public int getParameterLength(int index) {
+		checkIndex(index);
+		return parameterEnds[index] - parameterStarts[index];
+	}
+
+	/**
+	 * Returns a char of the parameter at the specified index.
+	 *
+	 * @param index
+	 *            The index of the parameter.
+	 * @param charIndex
+	 *            The index of the char in the parameter.
+	 * @return The char.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>index</code> or <code>charIndex</code> is out
+	 *             of range.
+	 */
+	public char getParameterChar(int index, int charIndex) {
+		if (charIndex < 0 || charIndex >= getParameterLength(index)) {
+			throw new IndexOutOfBoundsException("char index: " + charIndex);
+		}
+		return (char) (data[parameterStarts[index] + charIndex] & 0xFF);
+	}
+
+	/**
+	 * Parses the parameter at the specified index as signed decimal integer
+	 * without creating a {@link String}.
+	 *
+	 * @param index
+	 *            The index of the parameter.
+	 * @return The parsed integer.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if <code>index</code> does not lay in range
+	 *             (0-({@link #getParameterCount()}-1)).
+	 * @throws NumberFormatException
+	 *             Thrown if the parameter is not a valid integer.
+	 * @see Integer#parseInt(String)
+	 */
+	public int getIntParameter(int index) {
+		checkIndex(index);
+		return PacketParameterList.parseInt(data, parameterStarts[index],
+				parameterEnds[index]);
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= parameterCount) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Size: " + parameterCount);
+		}
+	}
+
+	/**
+	 * {@inheritDoc} The list is created on the first call for the current
+	 * frame contents and stays valid after the frame was reused. It is a
+	 * {@link PacketParameterList} containing a copy of the parameter bytes,
+	 * the parameter {@link String}s are created on demand.
+	 */
+	@Override
+	public List<String> getRawParameters() {
+		if (rawParameters == null) {
+			rawParameters = new PacketParameterList(data, parameterStarts, parameterEnds,
+					parameterCount);
+		}
+		return rawParameters;
+	}
+
+	@Override
+	public int getEncodedLength() {
+		return end - start + 1;
+	}
+
+	@Override
+	public void getEncoded(byte[] dst, int off) {
+		System.arraycopy(data, start, dst, off, end - start + 1);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + "["
+				+ new String(data, start, end - start + 1, StandardCharsets.ISO_8859_1)
+				+ "]";
+	}
+
+}
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Decodes DCC++ frames (<code>&lt;T p1 p2 ...&gt;</code>) from bytes which are
+ * read in bulk into a reusable {@link ByteBuffer}. Decoding a frame does not
+ * create any objects: the returned {@link PacketFrame} is a view on the
+ * internal buffer and is reused for every frame.
+ * <p>
+ * Bytes outside of a frame are ignored. A '&lt;' inside of a frame discards the
+ * incomplete frame and starts a new one. Frames containing more than
+ * {@link #getMaxFrameLength()} chars between the delimiters are discarded.
+ * Empty frames (<code>&lt;&gt;</code>) are ignored.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Jonas Tennié
+ */
+public class PacketFrameDecoder {
+
+	/**
+	 * The default maximum number of chars between the frame delimiters.
+	 */
+	public static final int DEFAULT_MAX_FRAME_LENGTH = 256;
+	private static final int DEFAULT_BUFFER_SIZE = 4096;
+
+	private final ByteBuffer buffer;
+	private final int maxFrameLength;
+	private final PacketFrame frame;
+	private boolean inFrame;
+	private int scanned;
+
+	/**
+	 * Constructs a new {@link PacketFrameDecoder} with the
+	 * {@link #DEFAULT_MAX_FRAME_LENGTH default maximum frame length}.
+	 */
+	public PacketFrameDecoder() {
+		this(DEFAULT_MAX_FRAME_LENGTH);
+	}
+
+	/**
+	 * Constructs a new {@link PacketFrameDecoder} with the specified maximum
+	 * frame length.
+	 *
+	 * @param maxFrameLength
+	 *            The maximum number of chars between the frame delimiters.
+	 *            Longer frames are discarded.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>maxFrameLength</code> is less than 1.
+	 */
+	public PacketFrameDecoder(int maxFrameLength) {
+		if (maxFrameLength < 1) {
+			throw new IllegalArgumentException(
+					"max frame length out of valid range: " + maxFrameLength);
+		}
+		this.maxFrameLength = maxFrameLength;
+		buffer = ByteBuffer.allocate(Math.max(DEFAULT_BUFFER_SIZE, maxFrameLength + 2));
+		buffer.flip(); // Nothing to read, yet
+		frame = new PacketFrame(maxFrameLength / 2 + 1);
+	}
+
+	/**
+	 * Returns the maximum number of chars between the frame delimiters.
+	 *
+	 * @return The maximum frame length.
+	 */
+	public int getMaxFrameLength() {
+		return maxFrameLength;
+	}
+
+	/**
+	 * Decodes the next complete frame from the bytes which are currently
+	 * buffered.
+	 *
+	 * @return The decoded frame or <code>null</code> if no complete frame is
+	 *         buffered. The frame is only valid until the next call of this
+	 *         method or {@link #fill(InputStream)}.
+	 */
+	public PacketFrame nextFrame() {
+		byte[] data = buffer.array();
+		int position = buffer.position() + scanned;
+		int limit = buffer.limit();
+		int frameStart = inFrame ? buffer.position() : -1;
+		byte b;
+		while (position < limit) {
+			b = data[position];
+			if (b == '<') { // Discards an unclosed frame
+				frameStart = position;
+			}
+			else if (frameStart >= 0) {
+				if (b == '>') {
+					buffer.position(position + 1);
+					inFrame = false;
+					scanned = 0;
+					if (frame.parse(data, frameStart, position)) {
+						return frame;
+					}
+					frameStart = -1;
+				}
+				else if (position - frameStart > maxFrameLength) { // Too long
+					frameStart = -1;
+				}
+			}
+			position++;
+		}
+		if (frameStart < 0) { // Skip all bytes outside of a frame
+			buffer.position(limit);
+			inFrame = false;
+			scanned = 0;
+		}
+		else {
+			buffer.position(frameStart);
+			inFrame = true;
+			scanned = limit - frameStart;
+		}
+		return null;
+	}
+
+	/**
+	 * Reads as many bytes as available (but at least one byte) with one call of
+	 * {@link InputStream#read(byte[], int, int)} into the buffer. Bytes of an
+	 * incomplete frame are kept.
+	 *
+	 * @param in
+	 *            The stream to read from.
+	 * @return The number of bytes read or <code>-1</code> if the end of the
+	 *         stream has been reached.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while reading.
+	 */
+	public int fill(InputStream in) throws IOException {
+		buffer.compact();
+		int read;
+		try {
+			read = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(),
+					buffer.remaining());
+			if (read > 0) {
+				buffer.position(buffer.position() + read);
+			}
+		}
+		finally {
+			buffer.flip();
+		}
+		return read;
+	}
+
+	/**
+	 * Reads as many bytes as available with one call of
+	 * {@link ReadableByteChannel#read(ByteBuffer)} into the buffer. Bytes of an
+	 * incomplete frame are kept. Does not block if the channel is in
+	 * non-blocking mode.
+	 *
+	 * @param channel
+	 *            The channel to read from.
+	 * @return The number of bytes read (may be <code>0</code>) or
+	 *         <code>-1</code> if the end of the stream has been reached.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while reading.
+	 */
+	public int fill(ReadableByteChannel channel) throws IOException {
+		buffer.compact();
+		try {
+			return channel.read(buffer);
+		}
+		finally {
+			buffer.flip();
+		}
+	}
+
+	/**
+	 * Decodes the next frame. The stream is read until a complete frame has
+	 * been buffered.
+	 *
+	 * @param in
+	 *            The stream to read from.
+	 * @return The decoded frame. The frame is only valid until the next frame
+	 *         is decoded.
+	 * @throws EOFException
+	 *             Thrown if the end of the stream has been reached.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while reading.
+	 */
+	public PacketFrame readFrame(InputStream in) throws IOException {
+		PacketFrame frame;
+		while ((frame = nextFrame()) == null) {
+			if (fill(in) < 0) {
+				throw new EOFException();
+			}
+		}
+		return frame;
+	}
+
+	/**
+	 * Returns the internal buffer in read mode. Bytes between its position and
+	 * limit have not been decoded, yet.
+	 *
+	 * @return The internal buffer.
+	 */
+	ByteBuffer getBuffer() {
+		return buffer;
+	}
+
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.io.IOException;
+
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketListener;
+
+/**
+ * A listener to listen to raw {@link PacketFrame}s read by an
+ * {@link AbstractDccppSocket}. Unlike a {@link PacketListener}, it receives
+ * every frame before (and even if no) packet is built from it, so it can
+ * inspect and forward packets without decoding them.
+ * 
+ * @author Jonas Tennié
+ */
+public interface PacketFrameListener {
+
+	/**
+	 * Called when a frame was received. The frame is only valid until this
+	 * method returns. Sending the frame (as {@link org.tenje.jtrain.dccpp.Packet
+	 * Packet}) while this method is executed writes its original bytes.
+	 * 
+	 * @param frame
+	 *            The received frame.
+	 * @param sender
+	 *            An object that represents the frame sender.
+	 * @param receiver
+	 *            The socket that received the frame.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while handling the frame.
+	 */
+	void frameReceived(PacketFrame frame, PacketBroker sender,
+			AbstractDccppSocket receiver) throws IOException;
+
+}
@@ -0,0 +1,472 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.tenje.jtrain.dccpp.LocalPacketBroker;
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketKeyFunction;
+import org.tenje.jtrain.dccpp.PacketListener;
+import org.tenje.jtrain.dccpp.impl.PacketStateKeyFunction;
+
+/**
+ * A {@link PacketListener} which decouples an other (slow) listener from the
+ * thread which reads the packets. Received packets are put into a bounded
+ * queue (the mailbox) and passed to the handled listener by an own worker
+ * thread, so for example actuating hardware does not stop reading from the
+ * connection. The handled listener receives the packets in the order they were
+ * received, except of packets which were dropped or coalesced according to
+ * the {@link OverflowPolicy}.
+ * <p>
+ * The mailbox is registered at a socket instead of the handled listener
+ * (e.g. {@link AbstractDccppSocket#addPacketListener(PacketListener, char...)}).
+ * The worker thread is started on construction and stopped by
+ * {@link #close()}. Exceptions thrown by the handled listener are printed.
+ * <p>
+ * The metrics (queue depth, wait time, dropped and coalesced packets) can be
+ * read at any time and are reset by {@link #resetMetrics()}.
+ * 
+ * @author Jonas Tennié
+ */
+public class PacketListenerMailbox implements PacketListener, AutoCloseable {
+
+	/**
+	 * The default capacity of a mailbox.
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+
+	private final PacketListener listener;
+	private final int capacity;
+	private final OverflowPolicy overflowPolicy;
+	private final PacketKeyFunction keyFunction;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+	private final ArrayDeque<Entry> queue;
+	private final Map<Object, Entry> queuedKeys;
+	private final Thread worker;
+	private boolean closed;
+	// Metrics, guarded by lock
+	private int maxQueueDepth;
+	private long deliveredCount, droppedCount, coalescedCount;
+	private long totalWaitTime, maxWaitTime;
+
+	/**
+	 * Constructs a new {@link PacketListenerMailbox} with the
+	 * {@link #DEFAULT_CAPACITY default capacity} and
+	 * {@link OverflowPolicy#BLOCK}.
+	 * 
+	 * @param listener
+	 *            The handled listener.
+	 * @throws NullPointerException
+	 *             Thrown if <code>listener</code> is <code>null</code>.
+	 */
+	public PacketListenerMailbox(PacketListener listener) {
+		this(listener, DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * Constructs a new {@link PacketListenerMailbox} with the specified
+	 * capacity and overflow policy. {@link OverflowPolicy#COALESCE} uses the
+	 * {@link PacketStateKeyFunction}. The worker thread is a daemon platform
+	 * thread.
+	 * 
+	 * @param listener
+	 *            The handled listener.
+	 * @param capacity
+	 *            The maximum number of queued packets.
+	 * @param overflowPolicy
+	 *            The policy used if the mailbox is full.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>capacity</code> is less than 1.
+	 * @throws NullPointerException
+	 *             Thrown if <code>listener</code> or
+	 *             <code>overflowPolicy</code> is <code>null</code>.
+	 */
+	public PacketListenerMailbox(PacketListener listener, int capacity,
+			OverflowPolicy overflowPolicy) {
+		this(listener, capacity, overflowPolicy, PacketStateKeyFunction.INSTANCE,
+				DccppThreadFactory.platform("DCC++ mailbox "));
+	}
+
+	/**
+	 * Constructs a new {@link PacketListenerMailbox} with the specified
+	 * capacity, overflow policy, key function and thread factory.
+	 * 
+	 * @param listener
+	 *            The handled listener.
+	 * @param capacity
+	 *            The maximum number of queued packets.
+	 * @param overflowPolicy
+	 *            The policy used if the mailbox is full.
+	 * @param keyFunction
+	 *            The function to get the keys of the packets to coalesce. Only
+	 *            used by {@link OverflowPolicy#COALESCE}.
+	 * @param threadFactory
+	 *            The factory to create the worker thread. Platform threads are
+	 *            made daemon threads.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>capacity</code> is less than 1.
+	 * @throws NullPointerException
+	 *             Thrown if <code>listener</code>, <code>overflowPolicy</code>,
+	 *             <code>keyFunction</code> or <code>threadFactory</code> is
+	 *             <code>null</code>.
+	 */
+	public PacketListenerMailbox(PacketListener listener, int capacity,
+			OverflowPolicy overflowPolicy, PacketKeyFunction keyFunction,
+			ThreadFactory threadFactory) {
+		this.listener = Objects.requireNonNull(listener, "listener");
+		if (capacity < 1) {
+			throw new IllegalArgumentException(
+					"capacity value out of valid range: " + capacity);
+		}
+		this.capacity = capacity;
+		this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+		this.keyFunction = Objects.requireNonNull(keyFunction, "keyFunction");
+		Objects.requireNonNull(threadFactory, "threadFactory");
+		queue = new ArrayDeque<>(capacity);
+		queuedKeys = overflowPolicy == OverflowPolicy.COALESCE ? new HashMap<Object, Entry>()
+				: null;
+		worker = threadFactory.newThread(new Runnable() {
+			@Override
+			public void run() {
+				deliverPackets();
+			}
+		});
+		if (!worker.isDaemon()) {
+			worker.setDaemon(true);
+		}
+		worker.start();
+	}
+
+	/**
+	 * Puts the packet into the mailbox. Blocks if the mailbox is full and the
+	 * overflow policy is {@link OverflowPolicy#BLOCK}, or
+	 * {@link OverflowPolicy#COALESCE} and the packet does not replace a queued
+	 * one. Packets received after the mailbox was closed are ignored.
+	 */
+	@Override
+	public void packetReceived(Packet packet, PacketBroker sender,
+			LocalPacketBroker receiver) {
+		Object key = null;
+		if (queuedKeys != null) {
+			try {
+				key = keyFunction.getKey(packet);
+			}
+			catch (RuntimeException ex) { // Invalid packet, let the listener fail
+			}
+		}
+		long time = System.nanoTime();
+		lock.lock();
+		try {
+			if (key != null) {
+				Entry entry = queuedKeys.get(key);
+				if (entry != null) { // Replace packet, keep position
+					entry.packet = packet;
+					entry.sender = sender;
+					entry.receiver = receiver;
+					coalescedCount++;
+					return;
+				}
+			}
+			while (!closed && queue.size() >= capacity) {
+				if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+					removeFirst();
+					droppedCount++;
+				}
+				else { // Coalescing never drops an other packet
+					notFull.awaitUninterruptibly();
+				}
+			}
+			if (closed) {
+				return;
+			}
+			Entry entry = new Entry(packet, sender, receiver, key, time);
+			queue.addLast(entry);
+			if (key != null) {
+				queuedKeys.put(key, entry);
+			}
+			else if (queuedKeys != null) {
+				// Barrier, a state must not overtake a define or delete
+				queuedKeys.clear();
+			}
+			maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+			notEmpty.signal();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private Entry removeFirst() {
+		Entry entry = queue.pollFirst();
+		if (entry != null && entry.key != null && queuedKeys.get(entry.key) == entry) {
+			queuedKeys.remove(entry.key);
+		}
+		notFull.signal();
+		return entry;
+	}
+
+	private void deliverPackets() {
+		Entry entry;
+		long waitTime;
+		while (true) {
+			lock.lock();
+			try {
+				while (!closed && queue.isEmpty()) {
+					notEmpty.awaitUninterruptibly();
+				}
+				if (closed) {
+					return;
+				}
+				entry = removeFirst();
+				waitTime = System.nanoTime() - entry.time;
+				totalWaitTime += waitTime;
+				maxWaitTime = Math.max(maxWaitTime, waitTime);
+				deliveredCount++;
+			}
+			finally {
+				lock.unlock();
+			}
+			try {
+				listener.packetReceived(entry.packet, entry.sender, entry.receiver);
+			}
+			catch (Exception ex) {
+				System.err.println("Listener failed to handle packet:");
+				ex.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Closes this mailbox. Queued packets are discarded, the worker thread
+	 * stops after the handled listener returned. Threads blocked by
+	 * {@link #packetReceived(Packet, PacketBroker, LocalPacketBroker)}
+	 * return.
+	 */
+	@Override
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			queue.clear();
+			if (queuedKeys != null) {
+				queuedKeys.clear();
+			}
+			notEmpty.signalAll();
+			notFull.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the handled listener.
+	 * 
+	 * @return The handled listener.
+	 */
+	public PacketListener getListener() {
+		return listener;
+	}
+
+	/**
+	 * Returns the maximum number of queued packets.
+	 * 
+	 * @return The capacity.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the overflow policy.
+	 * 
+	 * @return The overflow policy.
+	 */
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * Returns the number of currently queued packets.
+	 * 
+	 * @return The queue depth.
+	 */
+	public int getQueueDepth() {
+		lock.lock();
+		try {
+			return queue.size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the maximum number of queued packets since construction or the
+	 * last {@link #resetMetrics() reset}.
+	 * 
+	 * @return The maximum queue depth.
+	 */
+	public int getMaxQueueDepth() {
+		lock.lock();
+		try {
+			return maxQueueDepth;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of packets passed to the handled listener.
+	 * 
+	 * @return The number of delivered packets.
+	 */
+	public long getDeliveredCount() {
+		lock.lock();
+		try {
+			return deliveredCount;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of packets discarded because the mailbox was full.
+	 * 
+	 * @return The number of dropped packets.
+	 */
+	public long getDroppedCount() {
+		lock.lock();
+		try {
+			return droppedCount;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of queued packets which were replaced by a newer
+	 * packet with the same key.
+	 * 
+	 * @return The number of coalesced packets.
+	 */
+	public long getCoalescedCount() {
+		lock.lock();
+		try {
+			return coalescedCount;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the average time the delivered packets have been queued. For
+	 * coalesced packets the time since the replaced packet was queued is used.
+	 * 
+	 * @param unit
+	 *            The unit of the returned time.
+	 * @return The average wait time.
+	 * @throws NullPointerException
+	 *             Thrown if <code>unit</code> is <code>null</code>.
+	 */
+	public long getAverageWaitTime(TimeUnit unit) {
+		Objects.requireNonNull(unit, "unit");
+		lock.lock();
+		try {
+			return deliveredCount == 0 ? 0
+					: unit.convert(totalWaitTime / deliveredCount, TimeUnit.NANOSECONDS);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the maximum time a delivered packet has been queued.
+	 * 
+	 * @param unit
+	 *            The unit of the returned time.
+	 * @return The maximum wait time.
+	 * @throws NullPointerException
+	 *             Thrown if <code>unit</code> is <code>null</code>.
+	 */
+	public long getMaxWaitTime(TimeUnit unit) {
+		Objects.requireNonNull(unit, "unit");
+		lock.lock();
+		try {
+			return unit.convert(maxWaitTime, TimeUnit.NANOSECONDS);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Resets all metrics except of the current queue depth.
+	 */
+	public void resetMetrics() {
+		lock.lock();
+		try {
+			maxQueueDepth = queue.size();
+			deliveredCount = droppedCount = coalescedCount = 0;
+			totalWaitTime = maxWaitTime = 0;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + "[listener=" + listener + ", capacity=" + capacity
+				+ ", overflowPolicy=" + overflowPolicy + "]";
+	}
+
+	private static class Entry {
+
+		private Packet packet;
+		private PacketBroker sender;
+		private LocalPacketBroker receiver;
+		private final Object key;
+		private final long time;
+
+		private Entry(Packet packet, PacketBroker sender, LocalPacketBroker receiver,
+				Object key, long time) {
+			this.packet = packet;
+			this.sender = sender;
+			this.receiver = receiver;
+			this.key = key;
+			this.time = time;
+		}
+
+	}
+
+}
@@ -1,87 +1,354 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.dccpp.server;
-
-import java.io.IOException;
-import java.io.OutputStream;
-import java.util.List;
-import java.util.Objects;
-
-import org.tenje.jtrain.dccpp.Packet;
-
-/**
- * An {@link OutputStream} which writes {@link Packet}s to an other underlying
- * (handled) output stream.
- * 
- * @author Jonas Tenni
- */
-public class PacketOutputStream extends OutputStream {
-
-	private OutputStream handle;
-
-	/**
-	 * Constructs a new {@link PacketOutputStream} with the specified handled
-	 * output stream.
-	 * 
-	 * @param handle
-	 *            The handled output stream.
-	 * @throws NullPointerException
-	 *             Thrown if <code>handle</code> is <code>null</code>.
-	 */
-	public PacketOutputStream(OutputStream handle) {
-		this.handle = Objects.requireNonNull(handle, "handle");
-	}
-
-	@Override
-	public void write(byte[] b, int off, int len) throws IOException {
-		handle.write(b, off, len);
-	}
-
-	@Override
-	public void write(int b) throws IOException {
-		handle.write(b);
-	}
-
-	/**
-	 * Writes a {@link Packet} to the output stream using the following format:
-	 * <i>&lt;t PARAM0 PARAM1&gt;</i>, where 't' is the type char and
-	 * <i>PARAM0</i> and <i>PARAM1</i> are some packet parameters.
-	 * 
-	 * @param packet
-	 *            The packet to write.
-	 * @throws IOException
-	 *             Thrown if an I/O error occurs while writing to the underlying
-	 *             output stream.
-	 * @throws NullPointerException
-	 *             Thrown if <code>packet</code> is <code>null</code>.
-	 */
-	public void writePacket(Packet packet) throws IOException {
-		Objects.requireNonNull(packet, "packet");
-		List<String> parameters = packet.getRawParameters();
-		String parameter;
-		write('<');
-		write(packet.getTypeChar());
-		for (int i = 0; i < parameters.size(); i++) {
-			write(' ');
-			parameter = parameters.get(i);
-			for (int j = 0; j < parameter.length(); j++) {
-				write(parameter.charAt(j));
-			}
-		}
-		write('>');
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.tenje.jtrain.dccpp.EncodablePacket;
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.PacketKeyFunction;
+
+/**
+ * An {@link OutputStream} which writes {@link Packet}s to an other underlying
+ * (handled) output stream. Written data is encoded by a {@link PacketEncoder}
+ * into an internal buffer and passed to the handled stream with a single call
+ * of {@link OutputStream#write(byte[], int, int)} when this stream is flushed.
+ * <p>
+ * By default the buffer is flushed after every packet (see
+ * {@link #writePacket(Packet)}) or batch of packets (see
+ * {@link #writePackets(Iterable)}). With {@link #setFlushPolicy(int, long)},
+ * multiple packets can be coalesced: The buffer is then flushed once it
+ * contains at least the specified number of bytes or once the oldest buffered
+ * byte is older than the specified delay. Calling {@link #flush()} always
+ * flushes the buffer immediately.
+ * <p>
+ * {@link EncodablePacket}s are encoded without creating any objects. Since a
+ * packet is encoded completely before the write method returns, reusable
+ * (mutable) packets may be modified and written again afterwards.
+ * <p>
+ * If a {@link #setKeyFunction(PacketKeyFunction) key function} is set and the
+ * handled stream is the outbound queue of a server connection, packets with a
+ * key are passed to the queue separately. A queued packet which has not been
+ * sent, yet, is then replaced by a newer packet with the same key, unless
+ * a packet without a key was queued in between.
+ * <p>
+ * All write methods of this class are thread safe.
+ * 
+ * @author Jonas Tennié
+ */
+public class PacketOutputStream extends OutputStream {
+
+	private static final Timer FLUSH_TIMER = new Timer("PacketOutputStream flush",
+			true);
+
+	private final PacketEncoder encoder = new PacketEncoder();
+	private OutputStream handle;
+	private int flushThreshold;
+	private long flushDelay;
+	private TimerTask flushTask;
+	private IOException flushException;
+	private PacketKeyFunction keyFunction;
+
+	/**
+	 * Constructs a new {@link PacketOutputStream} with the specified handled
+	 * output stream. The stream is flushed after every packet.
+	 * 
+	 * @param handle
+	 *            The handled output stream.
+	 * @throws NullPointerException
+	 *             Thrown if <code>handle</code> is <code>null</code>.
+	 */
+	public PacketOutputStream(OutputStream handle) {
+		this.handle = Objects.requireNonNull(handle, "handle");
+	}
+
+	/**
+	 * Sets when the buffered data is passed to the handled output stream.
+	 * 
+	 * @param flushThreshold
+	 *            The number of buffered bytes which causes the buffer to be
+	 *            flushed. <code>0</code> to flush after every packet or batch
+	 *            of packets.
+	 * @param flushDelay
+	 *            The time in milliseconds after which buffered data is flushed
+	 *            although the threshold has not been reached. <code>0</code>
+	 *            to wait until the threshold is reached or {@link #flush()} is
+	 *            called. Ignored if <code>flushThreshold</code> is
+	 *            <code>0</code>.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>flushThreshold</code> or
+	 *             <code>flushDelay</code> is negative.
+	 */
+	public synchronized void setFlushPolicy(int flushThreshold, long flushDelay) {
+		if (flushThreshold < 0) {
+			throw new IllegalArgumentException(
+					"flush threshold value out of valid range: " + flushThreshold);
+		}
+		if (flushDelay < 0) {
+			throw new IllegalArgumentException(
+					"flush delay value out of valid range: " + flushDelay);
+		}
+		this.flushThreshold = flushThreshold;
+		this.flushDelay = flushDelay;
+	}
+
+	/**
+	 * Returns the number of buffered bytes which causes the buffer to be
+	 * flushed.
+	 * 
+	 * @return The flush threshold. <code>0</code> if the buffer is flushed
+	 *         after every packet.
+	 */
+	public synchronized int getFlushThreshold() {
+		return flushThreshold;
+	}
+
+	/**
+	 * Returns the time in milliseconds after which buffered data is flushed
+	 * although the threshold has not been reached.
+	 * 
+	 * @return The flush delay. <code>0</code> if no delay is used.
+	 */
+	public synchronized long getFlushDelay() {
+		return flushDelay;
+	}
+
+	/**
+	 * Sets the function which determines the packets replacing queued packets
+	 * with the same key. Only used if the handled stream is the outbound queue
+	 * of a server connection.
+	 * 
+	 * @param keyFunction
+	 *            The key function. <code>null</code> to never replace queued
+	 *            packets (default).
+	 */
+	public synchronized void setKeyFunction(PacketKeyFunction keyFunction) {
+		this.keyFunction = keyFunction;
+	}
+
+	/**
+	 * Returns the function which determines the packets replacing queued
+	 * packets with the same key.
+	 * 
+	 * @return The key function or <code>null</code> if queued packets are
+	 *         never replaced.
+	 */
+	public synchronized PacketKeyFunction getKeyFunction() {
+		return keyFunction;
+	}
+
+	@Override
+	public synchronized void write(byte[] b, int off, int len) throws IOException {
+		checkOpen();
+		if (flushThreshold == 0 && encoder.size() == 0) { // Nothing to coalesce
+			if (off < 0 || len < 0 || len > b.length - off) {
+				throw new IndexOutOfBoundsException();
+			}
+			handle.write(b, off, len);
+			handle.flush();
+			return;
+		}
+		encoder.write(b, off, len);
+		written();
+	}
+
+	@Override
+	public synchronized void write(int b) throws IOException {
+		checkOpen();
+		encoder.write(b);
+		written();
+	}
+
+	/**
+	 * Writes a {@link Packet} to the output stream using the following format:
+	 * <i>&lt;t PARAM0 PARAM1&gt;</i>, where 't' is the type char and
+	 * <i>PARAM0</i> and <i>PARAM1</i> are some packet parameters.
+	 * 
+	 * @param packet
+	 *            The packet to write.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while writing to the underlying
+	 *             output stream.
+	 * @throws NullPointerException
+	 *             Thrown if <code>packet</code> is <code>null</code>.
+	 */
+	public synchronized void writePacket(Packet packet) throws IOException {
+		Objects.requireNonNull(packet, "packet");
+		checkOpen();
+		encodePacket(packet);
+		written();
+	}
+
+	/**
+	 * Writes multiple {@link Packet}s to the output stream. The packets are
+	 * encoded like by {@link #writePacket(Packet)}, but are passed to the
+	 * handled stream together.
+	 * 
+	 * @param packets
+	 *            The packets to write.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while writing to the underlying
+	 *             output stream.
+	 * @throws NullPointerException
+	 *             Thrown if <code>packets</code> is or contains
+	 *             <code>null</code>.
+	 */
+	public synchronized void writePackets(Iterable<? extends Packet> packets)
+			throws IOException {
+		Objects.requireNonNull(packets, "packets");
+		checkOpen();
+		for (Packet packet : packets) {
+			encodePacket(packet);
+		}
+		written();
+	}
+
+	/**
+	 * Writes a packet which has already been encoded. If the key is not
+	 * <code>null</code>, then the packet may replace a queued packet with the
+	 * same key (see {@link #setKeyFunction(PacketKeyFunction)}).
+	 * 
+	 * @param encoded
+	 *            The encoder containing exactly one packet.
+	 * @param key
+	 *            The key of the packet or <code>null</code>.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while writing to the underlying
+	 *             output stream.
+	 */
+	synchronized void writeEncoded(PacketEncoder encoded, Object key)
+			throws IOException {
+		checkOpen();
+		if (key == null || keyFunction == null || !(handle instanceof CoalescingOutput)) {
+			encoded.writeTo(this);
+			return;
+		}
+		flushBuffer(); // Keep the order of the buffered packets
+		((CoalescingOutput) handle).write(encoded, key);
+	}
+
+	private void encodePacket(Packet packet) throws IOException {
+		Object key = keyFunction == null || !(handle instanceof CoalescingOutput) ? null
+				: keyFunction.getKey(packet);
+		if (key == null) {
+			encoder.encode(packet);
+			return;
+		}
+		flushBuffer(); // Keep the order of the buffered packets
+		try {
+			encoder.encode(packet);
+			((CoalescingOutput) handle).write(encoder, key);
+		}
+		finally {
+			encoder.reset();
+		}
+	}
+
+	/**
+	 * Passes all buffered data to the handled output stream and flushes it.
+	 * 
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while writing to the underlying
+	 *             output stream.
+	 */
+	@Override
+	public synchronized void flush() throws IOException {
+		checkOpen();
+		flushBuffer();
+		handle.flush();
+	}
+
+	/**
+	 * Flushes and closes this output stream and releases any system resources
+	 * associated with the stream. The handled output stream is also closed.
+	 * 
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs while flushing or closing the
+	 *             stream.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (handle == null) {
+			return;
+		}
+		try {
+			flushBuffer();
+		}
+		finally {
+			handle.close();
+			handle = null;
+		}
+	}
+
+	private void checkOpen() throws IOException {
+		if (handle == null) {
+			throw new IOException("stream closed");
+		}
+		if (flushException != null) { // Delayed flush failed
+			IOException ex = flushException;
+			flushException = null;
+			throw ex;
+		}
+	}
+
+	private void written() throws IOException {
+		if (encoder.size() >= flushThreshold) {
+			flushBuffer();
+			handle.flush();
+		}
+		else if (flushDelay > 0 && flushTask == null) {
+			flushTask = new TimerTask() {
+				@Override
+				public void run() {
+					synchronized (PacketOutputStream.this) {
+						flushTask = null;
+						if (handle != null) {
+							try {
+								flushBuffer();
+								handle.flush();
+							}
+							catch (IOException ex) {
+								flushException = ex;
+							}
+						}
+					}
+				}
+			};
+			FLUSH_TIMER.schedule(flushTask, flushDelay);
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		if (flushTask != null) {
+			flushTask.cancel();
+			flushTask = null;
+		}
+		if (encoder.size() > 0) {
+			try {
+				encoder.writeTo(handle);
+			}
+			finally {
+				encoder.reset(); // Discard data if writing fails
+			}
+		}
+	}
+
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+/**
+ * Provides the data which is sent to a broker after it connected to an
+ * {@link AbstractDccppServerSocket}, before any broadcast packet (see
+ * {@link AbstractDccppServerSocket#setSnapshotProvider(SnapshotProvider)}).
+ * 
+ * @author Jonas Tennié
+ */
+public interface SnapshotProvider {
+
+	/**
+	 * Returns the encoded packets to send to the specified connecting broker.
+	 * Called while broadcasts of the server socket are held, so the returned
+	 * data must be complete frames and this method must not send packets.
+	 * 
+	 * @param broker
+	 *            The connecting broker.
+	 * @return The encoded packets. May be empty, but not <code>null</code>.
+	 */
+	byte[] getSnapshot(SocketPacketBroker broker);
+
+}
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.tenje.jtrain.dccpp.PacketOutputPin;
+import org.tenje.jtrain.dccpp.PacketOutputPinState;
+import org.tenje.jtrain.dccpp.PacketSensor;
+import org.tenje.jtrain.dccpp.PacketSensorState;
+import org.tenje.jtrain.dccpp.PacketSensorStateInactive;
+import org.tenje.jtrain.dccpp.PacketTurnout;
+import org.tenje.jtrain.dccpp.PacketTurnoutState;
+
+/**
+ * The state of a {@link DccppStation} which is sent to brokers after
+ * connecting. The snapshot is kept pre-encoded: The frames of the latest
+ * defines and states are stored as received, one frame per object (e.g. per
+ * turnout id). A received define, delete or state frame only replaces the
+ * frame of one object. The snapshots are assembled from the stored frames
+ * once they are requested after a change, so any number of connecting
+ * brokers receive the same array.
+ * <p>
+ * The accessory snapshot contains the turnout, output pin and sensor defines
+ * followed by the latest turnout throws and output pin states received from
+ * controllers. The controller snapshot contains the latest turnout, output
+ * pin and sensor states reported by accessories.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jonas Tennié
+ */
+class StationSnapshot {
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private final Map<Integer, byte[]> turnoutDefines = new TreeMap<>();
+	private final Map<Integer, byte[]> outputPinDefines = new TreeMap<>();
+	private final Map<Integer, byte[]> sensorDefines = new TreeMap<>();
+	private final Map<Integer, byte[]> turnoutThrows = new TreeMap<>();
+	private final Map<Integer, byte[]> outputPinSetStates = new TreeMap<>();
+	private final Map<Integer, byte[]> turnoutStates = new TreeMap<>();
+	private final Map<Integer, byte[]> outputPinStates = new TreeMap<>();
+	private final Map<Integer, byte[]> sensorStates = new TreeMap<>();
+	private byte[] accessorySnapshot = EMPTY, controllerSnapshot = EMPTY;
+	private boolean accessoryChanged, controllerChanged;
+
+	/**
+	 * Updates the snapshot with a frame received from a controller.
+	 * 
+	 * @param frame
+	 *            The received frame.
+	 * @param isDefine
+	 *            <code>true</code> if the frame is a valid define packet.
+	 */
+	synchronized void controllerFrameReceived(PacketFrame frame, boolean isDefine) {
+		int id;
+		try {
+			id = frame.getParameterCount() > 0 ? frame.getIntParameter(0) : 0;
+		}
+		catch (NumberFormatException ex) {
+			return; // Invalid, not stored
+		}
+		switch (frame.getTypeChar()) {
+			case PacketTurnout.TYPE_CHAR:
+				if (frame.getParameterCount() == 1) { // Delete
+					controllerChanged |= turnoutStates.remove(id) != null;
+				}
+				update(frame, id, isDefine, turnoutDefines, turnoutThrows);
+			break;
+			case PacketOutputPin.TYPE_CHAR:
+				if (frame.getParameterCount() == 1) { // Delete
+					controllerChanged |= outputPinStates.remove(id) != null;
+				}
+				update(frame, id, isDefine, outputPinDefines, outputPinSetStates);
+			break;
+			case PacketSensor.TYPE_CHAR:
+				if (frame.getParameterCount() == 1) { // Delete
+					controllerChanged |= sensorStates.remove(id) != null;
+				}
+				update(frame, id, isDefine, sensorDefines, null);
+			break;
+		}
+	}
+
+	/**
+	 * Stores a define (3 parameters), removes all frames of a deleted object
+	 * (1 parameter) or stores a state (2 parameters).
+	 */
+	private void update(PacketFrame frame, int id, boolean isDefine,
+			Map<Integer, byte[]> defines, Map<Integer, byte[]> states) {
+		switch (frame.getParameterCount()) {
+			case 1: // Delete
+				accessoryChanged |= defines.remove(id) != null;
+				if (states != null) {
+					accessoryChanged |= states.remove(id) != null;
+				}
+			break;
+			case 2:
+				if (states != null) {
+					states.put(id, encode(frame));
+					accessoryChanged = true;
+				}
+			break;
+			case 3:
+				if (isDefine) {
+					defines.put(id, encode(frame));
+					accessoryChanged = true;
+				}
+			break;
+		}
+	}
+
+	/**
+	 * Updates the snapshot with a frame received from an accessory.
+	 * 
+	 * @param frame
+	 *            The received frame.
+	 */
+	synchronized void accessoryFrameReceived(PacketFrame frame) {
+		Map<Integer, byte[]> states;
+		int parameterCount;
+		switch (frame.getTypeChar()) {
+			case PacketTurnoutState.TYPE_CHAR: // <H ID THROW>
+				states = turnoutStates;
+				parameterCount = 2;
+			break;
+			case PacketOutputPinState.TYPE_CHAR: // <Y ID STATE>
+				states = outputPinStates;
+				parameterCount = 2;
+			break;
+			case PacketSensorState.TYPE_CHAR: // <Q ID>
+			case PacketSensorStateInactive.TYPE_CHAR: // <q ID>
+				states = sensorStates;
+				parameterCount = 1;
+			break;
+			default:
+				return;
+		}
+		if (frame.getParameterCount() == parameterCount) {
+			try {
+				states.put(frame.getIntParameter(0), encode(frame));
+				controllerChanged = true;
+			}
+			catch (NumberFormatException ex) {} // Invalid, not stored
+		}
+	}
+
+	private static byte[] encode(PacketFrame frame) {
+		byte[] encoded = new byte[frame.getEncodedLength()];
+		frame.getEncoded(encoded, 0);
+		return encoded;
+	}
+
+	/**
+	 * Returns the frames to send to a connecting accessory. The returned
+	 * array must not be modified.
+	 * 
+	 * @return The accessory snapshot.
+	 */
+	synchronized byte[] getAccessorySnapshot() {
+		if (accessoryChanged) {
+			accessorySnapshot = join(turnoutDefines, outputPinDefines, sensorDefines,
+					turnoutThrows, outputPinSetStates);
+			accessoryChanged = false;
+		}
+		return accessorySnapshot;
+	}
+
+	/**
+	 * Returns the frames to send to a connecting controller. The returned
+	 * array must not be modified.
+	 * 
+	 * @return The controller snapshot.
+	 */
+	synchronized byte[] getControllerSnapshot() {
+		if (controllerChanged) {
+			controllerSnapshot = join(turnoutStates, outputPinStates, sensorStates);
+			controllerChanged = false;
+		}
+		return controllerSnapshot;
+	}
+
+	@SafeVarargs
+	private static byte[] join(Map<Integer, byte[]>... maps) {
+		int length = 0;
+		for (Map<Integer, byte[]> map : maps) {
+			for (byte[] frame : map.values()) {
+				length += frame.length;
+			}
+		}
+		byte[] joined = new byte[length];
+		int off = 0;
+		for (Map<Integer, byte[]> map : maps) {
+			for (byte[] frame : map.values()) {
+				System.arraycopy(frame, 0, joined, off, frame.length);
+				off += frame.length;
+			}
+		}
+		return joined;
+	}
+
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.tenje.jtrain.AccessoryDecoderAddress;
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketEncoder;
+import org.tenje.jtrain.dccpp.impl.PacketStateKeyFunction;
+import org.tenje.jtrain.dccpp.impl.PacketTurnoutDefineImpl;
+import org.tenje.jtrain.dccpp.impl.PacketTurnoutDeleteImpl;
+import org.tenje.jtrain.dccpp.impl.PacketTurnoutThrowImpl;
+
+/**
+ * Tests the {@link OutboundBuffer}.
+ * 
+ * @author Jonas Tennié
+ */
+public class OutboundBufferTest {
+
+	private final PacketEncoder encoder = new PacketEncoder();
+
+	@Test
+	public void replacesQueuedState() {
+		OutboundBuffer buffer = new OutboundBuffer();
+		append(buffer, new PacketTurnoutThrowImpl(1, true));
+		append(buffer, new PacketTurnoutThrowImpl(2, true));
+		append(buffer, new PacketTurnoutThrowImpl(1, false));
+		assertEquals("<T 1 0><T 2 1>", drain(buffer));
+		assertEquals(1L, buffer.getCoalescedCount());
+	}
+
+	@Test
+	public void stateDoesNotOvertakeDefineOrDelete() {
+		OutboundBuffer buffer = new OutboundBuffer();
+		append(buffer, new PacketTurnoutDefineImpl(1, new AccessoryDecoderAddress(2, 0)));
+		append(buffer, new PacketTurnoutThrowImpl(1, true));
+		append(buffer, new PacketTurnoutDeleteImpl(1));
+		append(buffer, new PacketTurnoutThrowImpl(1, false));
+		assertEquals("<T 1 2 0><T 1 1><T 1><T 1 0>", drain(buffer));
+		assertEquals(0L, buffer.getCoalescedCount());
+	}
+
+	@Test
+	public void replacesStateAfterBarrier() {
+		OutboundBuffer buffer = new OutboundBuffer();
+		append(buffer, new PacketTurnoutThrowImpl(1, true));
+		byte[] raw = "<s>".getBytes(StandardCharsets.US_ASCII);
+		buffer.append(raw, 0, raw.length);
+		append(buffer, new PacketTurnoutThrowImpl(1, false));
+		append(buffer, new PacketTurnoutThrowImpl(1, true));
+		assertEquals("<T 1 1><s><T 1 1>", drain(buffer));
+		assertEquals(1L, buffer.getCoalescedCount());
+	}
+
+	private void append(OutboundBuffer buffer, Packet packet) {
+		encoder.reset();
+		encoder.encode(packet);
+		buffer.append(encoder, PacketStateKeyFunction.INSTANCE.getKey(packet));
+	}
+
+	private static String drain(OutboundBuffer buffer) {
+		byte[] data = new byte[buffer.size()];
+		buffer.drainTo(data, 0);
+		return new String(data, StandardCharsets.US_ASCII);
+	}
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.tenje.jtrain.dccpp.LocalPacketBroker;
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketListener;
+import org.tenje.jtrain.dccpp.PacketTurnout;
+import org.tenje.jtrain.dccpp.impl.PreEncodedPackets;
+import org.tenje.jtrain.dccpp.server.PacketDispatchTable.Registration;
+import org.tenje.jtrain.dccpp.server.PacketDispatchTable.Route;
+
+/**
+ * Tests the {@link PacketDispatchTable}.
+ * 
+ * @author Jonas Tennié
+ */
+public class PacketDispatchTableTest {
+
+	private static final PacketListener LISTENER = new PacketListener() {
+		@Override
+		public void packetReceived(Packet packet, PacketBroker sender,
+				LocalPacketBroker receiver) {}
+	};
+
+	@Test
+	public void emptyTableHasNoRoutesForAnyTypeChar() {
+		for (char typeChar = 0; typeChar < 256; typeChar++) {
+			Route[] routes = PacketDispatchTable.EMPTY.getRoutes(typeChar);
+			assertNotNull(routes);
+			assertEquals(0, routes.length);
+		}
+	}
+
+	@Test
+	public void dispatchThroughEmptyTable() {
+		// All ASCII type chars and one char beyond the indexed range
+		for (char typeChar = 0; typeChar <= 128; typeChar++) {
+			Packet packet = createPacket(typeChar);
+			int delivered = 0;
+			for (Route route : PacketDispatchTable.EMPTY.getRoutes(packet.getTypeChar())) {
+				if (route.accepts(packet)) {
+					delivered++;
+				}
+			}
+			assertEquals(0, delivered);
+		}
+	}
+
+	@Test
+	public void routesByPacketType() {
+		Map<PacketListener, Registration> registrations = new LinkedHashMap<>();
+		Registration registration = new Registration();
+		registration.addPacketType(PacketTurnout.class);
+		registrations.put(LISTENER, registration);
+		PacketDispatchTable table = new PacketDispatchTable(registrations);
+		Route[] routes = table.getRoutes(PacketTurnout.TYPE_CHAR);
+		assertEquals(1, routes.length);
+		assertSame(LISTENER, routes[0].getListener());
+		assertEquals(true, routes[0].accepts(PreEncodedPackets.TURNOUT_LIST));
+		assertEquals(0, table.getRoutes(PreEncodedPackets.SENSOR_LIST.getTypeChar()).length);
+	}
+
+	private static Packet createPacket(final char typeChar) {
+		return new Packet() {
+			@Override
+			public char getTypeChar() {
+				return typeChar;
+			}
+
+			@Override
+			public List<String> getRawParameters() {
+				return Collections.emptyList();
+			}
+		};
+	}
+
+}
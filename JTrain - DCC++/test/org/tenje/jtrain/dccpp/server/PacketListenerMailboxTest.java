@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.tenje.jtrain.AccessoryDecoderAddress;
+import org.tenje.jtrain.dccpp.LocalPacketBroker;
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketListener;
+import org.tenje.jtrain.dccpp.impl.PacketTurnoutDefineImpl;
+import org.tenje.jtrain.dccpp.impl.PacketTurnoutDeleteImpl;
+import org.tenje.jtrain.dccpp.impl.PacketTurnoutThrowImpl;
+
+/**
+ * Tests the {@link PacketListenerMailbox}.
+ * 
+ * @author Jonas Tennié
+ */
+public class PacketListenerMailboxTest {
+
+	private static final int CAPACITY = 4;
+	private static final int COUNT = 100;
+	// Time a blocked sender must keep blocking, never elapses on success
+	private static final long BLOCK_TIME = 100;
+
+	@Test(timeout = 10000)
+	public void coalesceBlocksInsteadOfDroppingDefines() throws Exception {
+		RecordingListener listener = new RecordingListener(COUNT);
+		try (final PacketListenerMailbox mailbox = new PacketListenerMailbox(listener,
+				CAPACITY, OverflowPolicy.COALESCE)) {
+			mailbox.packetReceived(define(0), null, null);
+			listener.received.await(); // Taken by the worker
+			for (int id = 1; id <= CAPACITY; id++) {
+				mailbox.packetReceived(define(id), null, null);
+			}
+			Thread sender = new Thread() {
+				@Override
+				public void run() {
+					for (int id = CAPACITY + 1; id < COUNT; id++) {
+						mailbox.packetReceived(define(id), null, null);
+					}
+				}
+			};
+			sender.start();
+			sender.join(BLOCK_TIME);
+			assertTrue(sender.isAlive()); // Full, waits for the listener
+			listener.release.countDown();
+			sender.join();
+			assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+			assertEquals(0L, mailbox.getDroppedCount());
+			List<String> expected = new ArrayList<>();
+			for (int id = 0; id < COUNT; id++) {
+				expected.add(describe(define(id)));
+			}
+			assertEquals(expected, listener.getPackets());
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void coalesceBlocksUnlessStateIsQueued() throws Exception {
+		RecordingListener listener = new RecordingListener(CAPACITY + 2);
+		try (final PacketListenerMailbox mailbox = new PacketListenerMailbox(listener,
+				CAPACITY, OverflowPolicy.COALESCE)) {
+			mailbox.packetReceived(define(0), null, null);
+			listener.received.await(); // Taken by the worker
+			for (int id = 1; id < CAPACITY; id++) {
+				mailbox.packetReceived(define(id), null, null);
+			}
+			mailbox.packetReceived(new PacketTurnoutThrowImpl(1, true), null, null);
+			// Full, but replaces the queued state
+			mailbox.packetReceived(new PacketTurnoutThrowImpl(1, false), null, null);
+			assertEquals(1L, mailbox.getCoalescedCount());
+			Thread sender = new Thread() {
+				@Override
+				public void run() {
+					mailbox.packetReceived(new PacketTurnoutThrowImpl(2, true), null, null);
+				}
+			};
+			sender.start();
+			sender.join(BLOCK_TIME);
+			assertTrue(sender.isAlive()); // No state of turnout 2 queued
+			listener.release.countDown();
+			sender.join();
+			assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+			assertEquals(0L, mailbox.getDroppedCount());
+			List<String> expected = new ArrayList<>();
+			for (int id = 0; id < CAPACITY; id++) {
+				expected.add(describe(define(id)));
+			}
+			expected.add(describe(new PacketTurnoutThrowImpl(1, false)));
+			expected.add(describe(new PacketTurnoutThrowImpl(2, true)));
+			assertEquals(expected, listener.getPackets());
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void coalesceKeepsStatesBehindDefinesAndDeletes() throws Exception {
+		RecordingListener listener = new RecordingListener(5);
+		try (PacketListenerMailbox mailbox = new PacketListenerMailbox(listener,
+				CAPACITY, OverflowPolicy.COALESCE)) {
+			mailbox.packetReceived(new PacketTurnoutDeleteImpl(0), null, null);
+			listener.received.await(); // Taken by the worker
+			mailbox.packetReceived(define(1), null, null);
+			mailbox.packetReceived(new PacketTurnoutThrowImpl(1, true), null, null);
+			mailbox.packetReceived(new PacketTurnoutDeleteImpl(1), null, null);
+			mailbox.packetReceived(new PacketTurnoutThrowImpl(1, true), null, null);
+			// Replaces the state after the delete only
+			mailbox.packetReceived(new PacketTurnoutThrowImpl(1, false), null, null);
+			assertEquals(1L, mailbox.getCoalescedCount());
+			listener.release.countDown();
+			assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+			assertEquals(Arrays.asList(describe(new PacketTurnoutDeleteImpl(0)),
+					describe(define(1)), describe(new PacketTurnoutThrowImpl(1, true)),
+					describe(new PacketTurnoutDeleteImpl(1)),
+					describe(new PacketTurnoutThrowImpl(1, false))), listener.getPackets());
+		}
+	}
+
+	private static Packet define(int id) {
+		return new PacketTurnoutDefineImpl(id, new AccessoryDecoderAddress(id + 1, 0));
+	}
+
+	private static String describe(Packet packet) {
+		return packet.getTypeChar() + " " + packet.getRawParameters();
+	}
+
+	private static class RecordingListener implements PacketListener {
+
+		private final List<String> packets = Collections
+				.synchronizedList(new ArrayList<String>());
+		final CountDownLatch received = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch delivered;
+
+		RecordingListener(int expected) {
+			delivered = new CountDownLatch(expected);
+		}
+
+		@Override
+		public void packetReceived(Packet packet, PacketBroker sender,
+				LocalPacketBroker receiver) {
+			received.countDown();
+			try {
+				release.await(); // Slow listener
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			packets.add(describe(packet));
+			delivered.countDown();
+		}
+
+		List<String> getPackets() {
+			synchronized (packets) {
+				return new ArrayList<>(packets);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.dccpp.server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link StationSnapshot}.
+ * 
+ * @author Jonas Tennié
+ */
+public class StationSnapshotTest {
+
+	@Test
+	public void turnoutDeleteRemovesState() throws IOException {
+		StationSnapshot snapshot = new StationSnapshot();
+		snapshot.controllerFrameReceived(frame("<T 1 2 0>"), true);
+		snapshot.accessoryFrameReceived(frame("<H 1 1>"));
+		assertEquals("<T 1 2 0>", string(snapshot.getAccessorySnapshot()));
+		assertEquals("<H 1 1>", string(snapshot.getControllerSnapshot()));
+		snapshot.controllerFrameReceived(frame("<T 1>"), false);
+		assertEquals("", string(snapshot.getAccessorySnapshot()));
+		assertEquals("", string(snapshot.getControllerSnapshot()));
+	}
+
+	@Test
+	public void outputPinDeleteRemovesState() throws IOException {
+		StationSnapshot snapshot = new StationSnapshot();
+		snapshot.controllerFrameReceived(frame("<Z 1 2 0>"), true);
+		snapshot.accessoryFrameReceived(frame("<Y 1 1>"));
+		assertEquals("<Z 1 2 0>", string(snapshot.getAccessorySnapshot()));
+		assertEquals("<Y 1 1>", string(snapshot.getControllerSnapshot()));
+		snapshot.controllerFrameReceived(frame("<Z 1>"), false);
+		assertEquals("", string(snapshot.getAccessorySnapshot()));
+		assertEquals("", string(snapshot.getControllerSnapshot()));
+	}
+
+	private static PacketFrame frame(String encoded) throws IOException {
+		PacketFrameDecoder decoder = new PacketFrameDecoder();
+		decoder.fill(new ByteArrayInputStream(encoded.getBytes(StandardCharsets.US_ASCII)));
+		return decoder.nextFrame();
+	}
+
+	private static String string(byte[] data) {
+		return new String(data, StandardCharsets.US_ASCII);
+	}
+
+}
@@ -1,207 +1,247 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.rpi;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import org.tenje.jtrain.AbstractTrain;
-import org.tenje.jtrain.LongTrainAddress;
-import org.tenje.jtrain.Train;
-import org.tenje.jtrain.TrainDirection;
-
-import com.pi4j.wiringpi.Gpio;
-import com.pi4j.wiringpi.SoftPwm;
-
-/**
- * A {@link Train} controlled by a Raspberry Pi. Acceleration is supported by
- * this implementation.
- * 
- * @author Jonas Tenni
- */
-public class RPiTrain extends AbstractTrain {
-
-	private final List<RPiPinTrainFunctionDirectionDepend> functions = new ArrayList<>();
-
-	private final int forwardPin, reversePin;
-	private volatile int currentPin;
-	private volatile Thread thread;
-	private TrainDirection direction = TrainDirection.FORWARD;
-	private final double acceleration; // Step changes per 1/10 sec
-	private final double minPower; // motor power in % for speed step 1
-	private final double maxPower; // motor power in % for speed step 126
-	private final double powerRange; // maxSpeed - minSpeed
-	private volatile double currentSpeed, targetSpeed;
-
-	/**
-	 * Constructs a new {@link RPiTrain} with the specified address, control
-	 * pins and motor configuration. {@link Gpio#wiringPiSetup()} must be called
-	 * before.
-	 * 
-	 * @param address
-	 *            The address of the train.
-	 * @param forwardPin
-	 *            The pin to move the train in forward direction.
-	 * @param reversePin
-	 *            The pin to move the train in reverse direction.
-	 * @param acceleration
-	 *            The acceleration of the train in
-	 *            <code>speed steps/second</code>. A value of <code>126</code> means
-	 *            that the train speeds up from zero to 126 in one second.
-	 * @param minPower
-	 *            The minimal motor power in percent of the total motor power.
-	 *            The motor is powered with <code>minPower</code> if train speed is
-	 *            one.
-	 * @param maxPower
-	 *            The maximal motor power in percent of the total motor power.
-	 *            The motor is powered with <code>maxPower</code> if train speed is
-	 *            126.
-	 */
-	public RPiTrain(LongTrainAddress address, int forwardPin, int reversePin, int acceleration, int minPower,
-			int maxPower) {
-		super(address);
-		this.forwardPin = forwardPin;
-		this.reversePin = reversePin;
-		currentPin = forwardPin;
-		if (acceleration <= 0) {
-			throw new IllegalArgumentException("acceleration must be higher than zero");
-		}
-		if (minPower < 0 || minPower > 100) {
-			throw new IllegalArgumentException("minSpeed out of valid range: " + minPower);
-		}
-		if (maxPower < 0 || maxPower > 100) {
-			throw new IllegalArgumentException("maxSpeed out of valid range: " + maxPower);
-		}
-		if (maxPower < minPower) {
-			throw new IllegalArgumentException("maxSpeed cannot be smaller than minSpeed");
-		}
-		// Convert step/sec to step / (1/10) sec
-		this.acceleration = acceleration / 10D;
-		this.minPower = minPower;
-		this.maxPower = maxPower;
-		powerRange = this.maxPower - this.minPower;
-	}
-
-	void addFunction(RPiPinTrainFunctionDirectionDepend function) {
-		functions.add(function);
-	}
-
-	@Override
-	public void setSpeed(int speed, boolean hard) {
-		if (speed < -1 || speed > 126) {
-			throw new IllegalArgumentException("speed out of valid range: " + speed);
-		}
-		if (hard) {
-			stop();
-			if (speed > 0) {
-				currentSpeed = speed;
-				targetSpeed = speed;
-				SoftPwm.softPwmCreate(currentPin, (int) (minPower + powerRange / 126 * currentSpeed), 100);
-			}
-		}
-		else {
-			if (speed == -1) { // Emergency stop
-				setSpeed(-1, true);
-			}
-			else {
-				targetSpeed = speed;
-				if (thread == null) {
-					startThread();
-				}
-			}
-		}
-	}
-
-	@Override
-	public int getCurrentSpeed() {
-		return (int) currentSpeed;
-	}
-
-	@Override
-	public int getTargetSpeed() {
-		return (int) targetSpeed;
-	}
-
-	@Override
-	public TrainDirection getDirection() {
-		return direction;
-	}
-
-	@Override
-	public void setDirection(TrainDirection direction) {
-		if (this.direction != direction) {
-			setSpeed(0, true);
-			this.direction = direction;
-			currentPin = direction == TrainDirection.FORWARD ? forwardPin : reversePin;
-			for (RPiPinTrainFunctionDirectionDepend function : functions) {
-				function.update();
-			}
-		}
-	}
-
-	private void startThread() {
-		thread = new Thread() {
-			@Override
-			public void run() {
-				SoftPwm.softPwmCreate(currentPin, 0, 100);
-				double power;
-				while (!isInterrupted() && Math.abs(currentSpeed - targetSpeed) > 0.1) {
-					if (currentSpeed < targetSpeed) { // Speed up
-						currentSpeed += acceleration;
-						if (currentSpeed > targetSpeed) {
-							currentSpeed = targetSpeed;
-						}
-					}
-					else { // Slow down
-						currentSpeed -= acceleration;
-						if (currentSpeed < targetSpeed) {
-							currentSpeed = targetSpeed;
-						}
-					}
-					// Speed is motor power in %. speed = 0 means motor stops,
-					// speed = 100 means full motor power
-					power = minPower + powerRange / 126 * currentSpeed;
-					SoftPwm.softPwmWrite(currentPin, (int) power);
-					try {
-						Thread.sleep(100);
-					}
-					catch (InterruptedException e) {
-						break;
-					}
-				}
-				if (targetSpeed == 0) {
-					SoftPwm.softPwmStop(currentPin);
-				}
-				thread = null;
-			}
-		};
-		thread.start();
-	}
-
-	/**
-	 * Stops the train and its threads used for speed control.
-	 */
-	public void stop() {
-		SoftPwm.softPwmStop(currentPin);
-		if (thread != null) {
-			thread.interrupt(); // Stop thread
-			while (thread.isAlive()) {
-				;
-			}
-		}
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.tenje.jtrain.AbstractTrain;
+import org.tenje.jtrain.LongTrainAddress;
+import org.tenje.jtrain.Momentum;
+import org.tenje.jtrain.MomentumEngine;
+import org.tenje.jtrain.MomentumListener;
+import org.tenje.jtrain.SpeedTable;
+import org.tenje.jtrain.Train;
+import org.tenje.jtrain.TrainDirection;
+
+import com.pi4j.wiringpi.Gpio;
+import com.pi4j.wiringpi.SoftPwm;
+
+/**
+ * A {@link Train} controlled by a Raspberry Pi. Acceleration is supported by
+ * this implementation: The speed is controlled by a {@link Momentum} of a
+ * {@link MomentumEngine}, the motor power for a speed is defined by a
+ * {@link SpeedTable}.
+ * 
+ * @author Jonas Tennié
+ */
+public class RPiTrain extends AbstractTrain {
+
+	private static final int PWM_RANGE = 100;
+
+	private final List<RPiPinTrainFunctionDirectionDepend> functions = new ArrayList<>();
+
+	private final int forwardPin, reversePin;
+	private volatile int currentPin;
+	private TrainDirection direction = TrainDirection.FORWARD;
+	private final SpeedTable speedTable;
+	private final Momentum momentum;
+	// Guarded by the momentum engine
+	private boolean pwmCreated;
+
+	/**
+	 * Constructs a new {@link RPiTrain} with the specified address, control
+	 * pins and motor configuration. The speed is controlled by the
+	 * {@link MomentumEngine#getDefault() default momentum engine}, the motor
+	 * power increases linearly from <code>minPower</code> to
+	 * <code>maxPower</code>. {@link Gpio#wiringPiSetup()} must be called
+	 * before.
+	 * 
+	 * @param address
+	 *            The address of the train.
+	 * @param forwardPin
+	 *            The pin to move the train in forward direction.
+	 * @param reversePin
+	 *            The pin to move the train in reverse direction.
+	 * @param acceleration
+	 *            The acceleration of the train in
+	 *            <code>speed steps/second</code>. A value of <code>126</code> means
+	 *            that the train speeds up from zero to 126 in one second.
+	 * @param minPower
+	 *            The minimal motor power in percent of the total motor power.
+	 *            The motor is powered with <code>minPower</code> if train speed is
+	 *            one.
+	 * @param maxPower
+	 *            The maximal motor power in percent of the total motor power.
+	 *            The motor is powered with <code>maxPower</code> if train speed is
+	 *            126.
+	 */
+	public RPiTrain(LongTrainAddress address, int forwardPin, int reversePin, int acceleration, int minPower,
+			int maxPower) {
+		this(address, forwardPin, reversePin, MomentumEngine.getDefault(), acceleration,
+				acceleration, toSpeedTable(minPower, maxPower));
+	}
+
+	/**
+	 * Constructs a new {@link RPiTrain} with the specified address, control
+	 * pins, momentum and speed table. {@link Gpio#wiringPiSetup()} must be
+	 * called before.
+	 * 
+	 * @param address
+	 *            The address of the train.
+	 * @param forwardPin
+	 *            The pin to move the train in forward direction.
+	 * @param reversePin
+	 *            The pin to move the train in reverse direction.
+	 * @param engine
+	 *            The engine which controls the speed of the train.
+	 * @param acceleration
+	 *            The acceleration of the train in
+	 *            <code>speed steps/second</code>.
+	 * @param deceleration
+	 *            The deceleration of the train in
+	 *            <code>speed steps/second</code>.
+	 * @param speedTable
+	 *            The speed table defining the motor power for each speed step.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>acceleration</code> or
+	 *             <code>deceleration</code> is not greater than zero.
+	 * @throws NullPointerException
+	 *             Thrown if <code>address</code>, <code>engine</code> or
+	 *             <code>speedTable</code> is <code>null</code>.
+	 */
+	public RPiTrain(LongTrainAddress address, int forwardPin, int reversePin,
+			MomentumEngine engine, double acceleration, double deceleration,
+			SpeedTable speedTable) {
+		super(address);
+		this.forwardPin = forwardPin;
+		this.reversePin = reversePin;
+		currentPin = forwardPin;
+		this.speedTable = Objects.requireNonNull(speedTable, "speedTable");
+		momentum = Objects.requireNonNull(engine, "engine").register(new MomentumListener() {
+			@Override
+			public void speedChanged(Momentum momentum) {
+				updatePower(momentum.getCurrentSpeed());
+			}
+		}, acceleration, deceleration);
+	}
+
+	private static SpeedTable toSpeedTable(int minPower, int maxPower) {
+		if (minPower < 0 || minPower > 100) {
+			throw new IllegalArgumentException("minSpeed out of valid range: " + minPower);
+		}
+		if (maxPower < 0 || maxPower > 100) {
+			throw new IllegalArgumentException("maxSpeed out of valid range: " + maxPower);
+		}
+		if (maxPower < minPower) {
+			throw new IllegalArgumentException("maxSpeed cannot be smaller than minSpeed");
+		}
+		return SpeedTable.linear(minPower * SpeedTable.MAX_VALUE / 100,
+				maxPower * SpeedTable.MAX_VALUE / 100);
+	}
+
+	/*
+	 * Called by the momentum engine while locked.
+	 */
+	private void updatePower(double speed) {
+		if (speed == 0) {
+			if (pwmCreated) {
+				SoftPwm.softPwmStop(currentPin);
+				pwmCreated = false;
+			}
+		}
+		else {
+			// Motor power in %. 0 means motor stops, 100 means full power
+			int power = (int) Math.round(
+					speedTable.getOutput(speed) * PWM_RANGE / SpeedTable.MAX_VALUE);
+			if (pwmCreated) {
+				SoftPwm.softPwmWrite(currentPin, power);
+			}
+			else {
+				SoftPwm.softPwmCreate(currentPin, power, PWM_RANGE);
+				pwmCreated = true;
+			}
+		}
+	}
+
+	void addFunction(RPiPinTrainFunctionDirectionDepend function) {
+		functions.add(function);
+	}
+
+	@Override
+	public void setSpeed(int speed, boolean hard) {
+		if (speed < -1 || speed > 126) {
+			throw new IllegalArgumentException("speed out of valid range: " + speed);
+		}
+		if (speed == -1) { // Emergency stop
+			momentum.setSpeed(0, true);
+		}
+		else {
+			momentum.setSpeed(speed, hard);
+		}
+	}
+
+	@Override
+	public int getCurrentSpeed() {
+		return (int) momentum.getCurrentSpeed();
+	}
+
+	@Override
+	public int getTargetSpeed() {
+		return momentum.getTargetSpeed();
+	}
+
+	/**
+	 * Returns the {@link Momentum} which controls the speed of this train. It
+	 * can be used to change the acceleration and deceleration.
+	 * 
+	 * @return The momentum of this train.
+	 */
+	public Momentum getMomentum() {
+		return momentum;
+	}
+
+	/**
+	 * Returns the speed table which defines the motor power for each speed
+	 * step.
+	 * 
+	 * @return The speed table.
+	 */
+	public SpeedTable getSpeedTable() {
+		return speedTable;
+	}
+
+	@Override
+	public TrainDirection getDirection() {
+		return direction;
+	}
+
+	@Override
+	public void setDirection(final TrainDirection direction) {
+		if (this.direction != direction) {
+			// No tick powers the old pin after stopping
+			momentum.stop(new Runnable() {
+				@Override
+				public void run() {
+					RPiTrain.this.direction = direction;
+					currentPin = direction == TrainDirection.FORWARD ? forwardPin : reversePin;
+				}
+			});
+			for (RPiPinTrainFunctionDirectionDepend function : functions) {
+				function.update();
+			}
+		}
+	}
+
+	/**
+	 * Stops the train directly. The momentum engine is not affected.
+	 */
+	public void stop() {
+		momentum.setSpeed(0, true);
+	}
+
+}
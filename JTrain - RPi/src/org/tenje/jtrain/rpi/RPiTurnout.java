@@ -1,113 +1,129 @@
-/*******************************************************************************
- * Copyright (c): Jonas Tenni 2017
- *
- * This program is free software: you can redistribute it and/or modify it under
- * the terms of the GNU Lesser General Public License as published by the Free
- * Software Foundation, either version 3 of the License, or (at your option) any
- * later version.
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
- * details.
- * You should have received a copy of the GNU General Lesser Public License
- * along with this program. If not, see
- * <http://www.gnu.org/licenses/lgpl-3.0.html>.
- *******************************************************************************/
-package org.tenje.jtrain.rpi;
-
-import java.util.Objects;
-import java.util.Timer;
-import java.util.TimerTask;
-
-import org.tenje.jtrain.AbstractSwitchable;
-import org.tenje.jtrain.AccessoryDecoderAddress;
-import org.tenje.jtrain.Turnout;
-
-import com.pi4j.io.gpio.GpioPinDigitalOutput;
-
-/**
- * A {@link Turnout} which is controlled by two Raspberry Pi GPIO pins.
- * 
- * @author Jonas Tenni
- */
-public class RPiTurnout extends AbstractSwitchable implements Turnout {
-
-	private static final Timer TIMER = new Timer();
-
-	private final AccessoryDecoderAddress address;
-	private final GpioPinDigitalOutput straightPin, thrownPin;
-	private final long switchTime;
-	private boolean switched;
-	private TimerTask currentTask;
-
-	/**
-	 * Constructs a new {@link RPiTurnout} with the specified address and
-	 * control pins.
-	 * 
-	 * @param address
-	 *            The address of the turnout.
-	 * @param straightPin
-	 *            The pin to set the turnout to straight.
-	 * @param thrownPin
-	 *            The pin to set the turnout to thrown.
-	 * @param switchTime
-	 *            The time a control pin is HIGH to switch in ms. A value
-	 *            smaller than one means that the pin is HIGH until the throw
-	 *            state should change.
-	 */
-	public RPiTurnout(AccessoryDecoderAddress address, GpioPinDigitalOutput straightPin,
-			GpioPinDigitalOutput thrownPin, int switchTime) {
-		this.address = Objects.requireNonNull(address, "address");
-		this.straightPin = Objects.requireNonNull(straightPin, "straightPin");
-		this.thrownPin = Objects.requireNonNull(thrownPin, "thrownPin");
-		if (switchTime < 0) {
-			switchTime = 0;
-		}
-		this.switchTime = switchTime;
-	}
-
-	@Override
-	public AccessoryDecoderAddress getAddress() {
-		return address;
-	}
-
-	@Override
-	public void setSwitched(boolean switched) {
-		this.switched = switched;
-		if (currentTask != null) {
-			currentTask.cancel();
-		}
-		if (switched) {
-			straightPin.low();
-			thrownPin.high();
-			if (switchTime != 0) {
-				currentTask = new TimerTask() {
-					@Override
-					public void run() {
-						thrownPin.low();
-					}
-				};
-				TIMER.schedule(currentTask, switchTime);
-			}
-		}
-		else {
-			thrownPin.low();
-			straightPin.high();
-			if (switchTime != 0) {
-				currentTask = new TimerTask() {
-					@Override
-					public void run() {
-						straightPin.low();
-					}
-				};
-				TIMER.schedule(currentTask, switchTime);
-			}
-		}
-	}
-
-	@Override
-	public boolean isSwitched() {
-		return switched;
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+import java.util.Objects;
+
+import org.tenje.jtrain.AbstractSwitchable;
+import org.tenje.jtrain.AccessoryDecoderAddress;
+import org.tenje.jtrain.TimingWheel;
+import org.tenje.jtrain.TimingWheel.Timeout;
+import org.tenje.jtrain.Turnout;
+
+import com.pi4j.io.gpio.GpioPinDigitalOutput;
+
+/**
+ * A {@link Turnout} which is controlled by two Raspberry Pi GPIO pins. The
+ * pulses are ended by the {@link TimingWheel#getDefault() shared timing
+ * wheel}.
+ * 
+ * @author Jonas Tennié
+ */
+public class RPiTurnout extends AbstractSwitchable implements Turnout {
+
+	private final AccessoryDecoderAddress address;
+	private final GpioPinDigitalOutput straightPin, thrownPin;
+	private final long switchTime;
+	private volatile boolean switched;
+	// Guarded by this
+	private Timeout currentTimeout;
+	private int pulseCount;
+
+	/**
+	 * Constructs a new {@link RPiTurnout} with the specified address and
+	 * control pins.
+	 * 
+	 * @param address
+	 *            The address of the turnout.
+	 * @param straightPin
+	 *            The pin to set the turnout to straight.
+	 * @param thrownPin
+	 *            The pin to set the turnout to thrown.
+	 * @param switchTime
+	 *            The time a control pin is HIGH to switch in ms. A value
+	 *            smaller than one means that the pin is HIGH until the throw
+	 *            state should change.
+	 */
+	public RPiTurnout(AccessoryDecoderAddress address, GpioPinDigitalOutput straightPin,
+			GpioPinDigitalOutput thrownPin, int switchTime) {
+		this.address = Objects.requireNonNull(address, "address");
+		this.straightPin = Objects.requireNonNull(straightPin, "straightPin");
+		this.thrownPin = Objects.requireNonNull(thrownPin, "thrownPin");
+		if (switchTime < 0) {
+			switchTime = 0;
+		}
+		this.switchTime = switchTime;
+	}
+
+	@Override
+	public AccessoryDecoderAddress getAddress() {
+		return address;
+	}
+
+	@Override
+	public synchronized void setSwitched(boolean switched) {
+		this.switched = switched;
+		if (currentTimeout != null) {
+			currentTimeout.cancel();
+			currentTimeout = null;
+		}
+		pulseCount++;
+		GpioPinDigitalOutput pin;
+		if (switched) {
+			straightPin.low();
+			thrownPin.high();
+			pin = thrownPin;
+		}
+		else {
+			thrownPin.low();
+			straightPin.high();
+			pin = straightPin;
+		}
+		if (switchTime != 0) {
+			currentTimeout = TimingWheel.getDefault().schedule(new PulseEnd(pin, pulseCount),
+					switchTime);
+		}
+	}
+
+	private class PulseEnd implements Runnable {
+
+		private final GpioPinDigitalOutput pin;
+		private final int pulse;
+
+		PulseEnd(GpioPinDigitalOutput pin, int pulse) {
+			this.pin = pin;
+			this.pulse = pulse;
+		}
+
+		@Override
+		public void run() {
+			synchronized (RPiTurnout.this) {
+				// The pulse may have been replaced after expiring
+				if (pulse == pulseCount) {
+					pin.low();
+					currentTimeout = null;
+				}
+			}
+		}
+
+	}
+
+	@Override
+	public boolean isSwitched() {
+		return switched;
+	}
+
+}
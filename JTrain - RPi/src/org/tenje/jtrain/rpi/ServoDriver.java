@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+import java.io.IOException;
+
+/**
+ * A driver which generates the PWM signal of servos. Implementations keep
+ * their backend (e.g. the PWM hardware) configured, so a call of
+ * {@link #setPulseWidth(int, double)} only updates the duty cycle. The PWM
+ * signal has a period of {@value #PERIOD} ms.
+ * 
+ * @author Jonas Tennié
+ */
+public interface ServoDriver {
+
+	/**
+	 * The period of the PWM signal in ms.
+	 */
+	public static final double PERIOD = 20;
+
+	/**
+	 * Sets the pulse width of the PWM signal at the specified output. Starts
+	 * the PWM signal if the output has not been attached or has been
+	 * released.
+	 * 
+	 * @param output
+	 *            The output (e.g. pin or PWM channel) of the servo.
+	 * @param pulseWidth
+	 *            The pulse width in ms.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>pulseWidth</code> is zero or smaller or
+	 *             greater than {@value #PERIOD} or if <code>output</code> is
+	 *             not valid for this driver.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs.
+	 */
+	void setPulseWidth(int output, double pulseWidth) throws IOException;
+
+	/**
+	 * Sets the pulse widths of several outputs as one batch, like
+	 * {@link #setPulseWidth(int, double)} for each output.
+	 * 
+	 * @param outputs
+	 *            The outputs of the servos.
+	 * @param pulseWidths
+	 *            The pulse widths in ms, index <i>i</i> belongs to output
+	 *            <code>outputs[i]</code>.
+	 * @param count
+	 *            The number of outputs to set, the first <code>count</code>
+	 *            indices of the arrays are used.
+	 * @throws IllegalArgumentException
+	 *             Thrown if a pulse width is zero or smaller or greater than
+	 *             {@value #PERIOD} or if an output is not valid for this
+	 *             driver. The outputs before the invalid one may have been set.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs.
+	 */
+	void setPulseWidths(int[] outputs, double[] pulseWidths, int count) throws IOException;
+
+	/**
+	 * Stops the PWM signal at the specified output, the servo does not hold
+	 * its position anymore. Does nothing if the output is not attached.
+	 * 
+	 * @param output
+	 *            The output (e.g. pin or PWM channel) of the servo.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>output</code> is not valid for this driver.
+	 * @throws IOException
+	 *             Thrown if an I/O error occurs.
+	 */
+	void release(int output) throws IOException;
+
+}
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.tenje.jtrain.AbstractSwitchable;
+import org.tenje.jtrain.LevelCrossing;
+import org.tenje.jtrain.Switchable;
+import org.tenje.jtrain.TimingWheel;
+import org.tenje.jtrain.TimingWheel.Timeout;
+
+/**
+ * A {@link LevelCrossing} whose barriers are moved by servos driven by a
+ * {@link ServoMotionEngine}. On closing, the warning lights are turned on and
+ * the barriers start to close after the close delay. On opening, the barriers
+ * open and the warning lights are turned off when all barriers are fully
+ * open.
+ * 
+ * @author Jonas Tennié
+ */
+public class ServoLevelCrossing extends AbstractSwitchable implements LevelCrossing {
+
+	private final Switchable lights;
+	private final long closeDelay;
+	private final List<Barrier> barriers = new ArrayList<>();
+	private final ServoMotionListener listener = new ServoMotionListener() {
+		@Override
+		public void motionFinished(ServoMotion motion) {
+			synchronized (ServoLevelCrossing.this) {
+				if (!switched && lights != null && !isMoving()) {
+					lights.setSwitched(false);
+				}
+			}
+		}
+	};
+	// Guarded by this
+	private boolean switched;
+	private Runnable closeTask;
+	private Timeout closeTimeout;
+
+	/**
+	 * Constructs a new open {@link ServoLevelCrossing} without barriers.
+	 * Barriers are added by {@link #addBarrier(ServoDriver, int, double, double)}.
+	 * 
+	 * @param lights
+	 *            The warning lights, switched means on. May be
+	 *            <code>null</code>.
+	 * @param closeDelay
+	 *            The time between turning on the warning lights and starting
+	 *            to close the barriers in ms.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>closeDelay</code> is negative.
+	 */
+	public ServoLevelCrossing(Switchable lights, long closeDelay) {
+		if (closeDelay < 0) {
+			throw new IllegalArgumentException("close delay out of valid range: " + closeDelay);
+		}
+		this.lights = lights;
+		this.closeDelay = closeDelay;
+	}
+
+	/**
+	 * Adds a barrier to this level crossing. The barrier's servo is registered
+	 * at the {@link ServoMotionEngine#getDefault() shared motion engine} and is
+	 * set to the position of the current state of this level crossing.
+	 * 
+	 * @param driver
+	 *            The driver of the barrier's servo.
+	 * @param output
+	 *            The output of the driver the servo is connected to.
+	 * @param openPosition
+	 *            The open position (pulse width in ms).
+	 * @param closedPosition
+	 *            The closed position (pulse width in ms).
+	 * @return The motion of the barrier's servo, e.g. to change the speed and
+	 *         the bounce.
+	 * @throws IllegalArgumentException
+	 *             Thrown if a position is zero or smaller or greater than
+	 *             {@link ServoDriver#PERIOD}.
+	 * @throws NullPointerException
+	 *             Thrown if <code>driver</code> is <code>null</code>.
+	 */
+	public ServoMotion addBarrier(ServoDriver driver, int output, double openPosition,
+			double closedPosition) {
+		return addBarrier(ServoMotionEngine.getDefault(), driver, output, openPosition,
+				closedPosition);
+	}
+
+	/**
+	 * Adds a barrier to this level crossing. The barrier's servo is registered
+	 * at the specified engine and is set to the position of the current state
+	 * of this level crossing.
+	 * 
+	 * @param engine
+	 *            The engine to drive the barrier's servo.
+	 * @param driver
+	 *            The driver of the barrier's servo.
+	 * @param output
+	 *            The output of the driver the servo is connected to.
+	 * @param openPosition
+	 *            The open position (pulse width in ms).
+	 * @param closedPosition
+	 *            The closed position (pulse width in ms).
+	 * @return The motion of the barrier's servo, e.g. to change the speed and
+	 *         the bounce.
+	 * @throws IllegalArgumentException
+	 *             Thrown if a position is zero or smaller or greater than
+	 *             {@link ServoDriver#PERIOD}.
+	 * @throws NullPointerException
+	 *             Thrown if <code>engine</code> or <code>driver</code> is
+	 *             <code>null</code>.
+	 */
+	public synchronized ServoMotion addBarrier(ServoMotionEngine engine, ServoDriver driver,
+			int output, double openPosition, double closedPosition) {
+		Objects.requireNonNull(engine, "engine");
+		ServoParameterValidator.validatePulseWidth(closedPosition);
+		// Moves with a speed of a full travel per second by default
+		double speed = Math.max(Math.abs(closedPosition - openPosition), 0.1);
+		Barrier barrier = new Barrier(
+				engine.register(driver, output, openPosition, speed, listener),
+				openPosition, closedPosition);
+		barrier.motion.setPosition(switched && closeTask == null ? closedPosition
+				: openPosition);
+		barriers.add(barrier);
+		return barrier.motion;
+	}
+
+	@Override
+	public synchronized void setSwitched(boolean switched) {
+		if (this.switched == switched) {
+			return;
+		}
+		this.switched = switched;
+		if (switched) {
+			if (lights != null) {
+				lights.setSwitched(true);
+			}
+			closeTask = new Runnable() {
+				@Override
+				public void run() {
+					close(this);
+				}
+			};
+			closeTimeout = TimingWheel.getDefault().schedule(closeTask, closeDelay);
+		}
+		else {
+			if (closeTask != null) {
+				closeTimeout.cancel();
+				closeTask = null;
+				closeTimeout = null;
+			}
+			for (Barrier barrier : barriers) {
+				barrier.motion.moveTo(barrier.openPosition);
+			}
+			if (lights != null && !isMoving()) {
+				lights.setSwitched(false);
+			}
+		}
+	}
+
+	private synchronized void close(Runnable task) {
+		if (task != closeTask) {
+			return; // Opened (and closed again) after expiring
+		}
+		closeTask = null;
+		closeTimeout = null;
+		for (Barrier barrier : barriers) {
+			barrier.motion.moveTo(barrier.closedPosition);
+		}
+	}
+
+	private boolean isMoving() {
+		for (Barrier barrier : barriers) {
+			if (barrier.motion.isMoving()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public synchronized boolean isSwitched() {
+		return switched;
+	}
+
+	@Override
+	public synchronized boolean isClosing() {
+		return switched && !barriers.isEmpty() && (closeTask != null || isMoving());
+	}
+
+	@Override
+	public synchronized boolean isOpening() {
+		return !switched && isMoving();
+	}
+
+	private static class Barrier {
+
+		final ServoMotion motion;
+		final double openPosition, closedPosition;
+
+		Barrier(ServoMotion motion, double openPosition, double closedPosition) {
+			this.motion = motion;
+			this.openPosition = openPosition;
+			this.closedPosition = closedPosition;
+		}
+
+	}
+
+}
@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+/**
+ * The motion of a servo driven by a {@link ServoMotionEngine}. A move from the
+ * current to a target position follows an eased trajectory (slow start, slow
+ * end) with a configurable speed. Optionally, the servo bounces back from the
+ * target position like a heavy barrier: {@value #BOUNCES} half waves, each
+ * {@value #BOUNCE_TIME} seconds long and with half the amplitude of the
+ * previous one. The positions are pulse widths in ms.
+ * 
+ * @author Jonas Tennié
+ */
+public class ServoMotion {
+
+	/**
+	 * The number of bounce half waves.
+	 */
+	public static final int BOUNCES = 3;
+	/**
+	 * The duration of a bounce half wave in seconds.
+	 */
+	public static final double BOUNCE_TIME = 0.12;
+
+	private final ServoMotionEngine engine;
+	private final ServoDriver driver;
+	private final int output;
+	private final ServoMotionListener listener;
+	// Guarded by engine
+	private double speed, bounce;
+	private boolean releaseOnArrival;
+	private double position, start, target, elapsed, duration, amplitude;
+	boolean active;
+
+	ServoMotion(ServoMotionEngine engine, ServoDriver driver, int output, double position,
+			double speed, ServoMotionListener listener) {
+		this.engine = engine;
+		this.driver = driver;
+		this.output = output;
+		this.listener = listener;
+		this.position = target = ServoParameterValidator.validatePulseWidth(position);
+		setSpeed(speed);
+	}
+
+	/**
+	 * Starts a move to the specified position. A running move is continued
+	 * from the current position.
+	 * 
+	 * @param position
+	 *            The target position (pulse width in ms).
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>position</code> is zero or smaller or greater
+	 *             than {@link ServoDriver#PERIOD}.
+	 */
+	public void moveTo(double position) {
+		ServoParameterValidator.validatePulseWidth(position);
+		engine.moveTo(this, position, false);
+	}
+
+	/**
+	 * Sets the position of the servo directly, without trajectory. A running
+	 * move is stopped.
+	 * 
+	 * @param position
+	 *            The position (pulse width in ms).
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>position</code> is zero or smaller or greater
+	 *             than {@link ServoDriver#PERIOD}.
+	 */
+	public void setPosition(double position) {
+		ServoParameterValidator.validatePulseWidth(position);
+		engine.moveTo(this, position, true);
+	}
+
+	/**
+	 * Returns the current position of the servo.
+	 * 
+	 * @return The current position (pulse width in ms).
+	 */
+	public double getPosition() {
+		synchronized (engine) {
+			return position;
+		}
+	}
+
+	/**
+	 * Returns the target position of the servo.
+	 * 
+	 * @return The target position (pulse width in ms).
+	 */
+	public double getTarget() {
+		synchronized (engine) {
+			return target;
+		}
+	}
+
+	/**
+	 * Returns if the servo moves (or bounces).
+	 * 
+	 * @return <code>true</code> if moving, otherwise <code>false</code>.
+	 */
+	public boolean isMoving() {
+		synchronized (engine) {
+			return active;
+		}
+	}
+
+	/**
+	 * Returns the speed of the moves.
+	 * 
+	 * @return The speed in <code>ms pulse width/second</code>.
+	 */
+	public double getSpeed() {
+		synchronized (engine) {
+			return speed;
+		}
+	}
+
+	/**
+	 * Sets the speed of the moves. The average speed of a move is
+	 * <code>speed</code>, the trajectory is faster in the middle and slower at
+	 * the start and end. Takes effect on the next move.
+	 * 
+	 * @param speed
+	 *            The speed in <code>ms pulse width/second</code>.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>speed</code> is not greater than zero.
+	 */
+	public void setSpeed(double speed) {
+		if (!(speed > 0)) {
+			throw new IllegalArgumentException("speed out of valid range: " + speed);
+		}
+		synchronized (engine) {
+			this.speed = speed;
+		}
+	}
+
+	/**
+	 * Returns the bounce of the moves.
+	 * 
+	 * @return The bounce amplitude relative to the move distance.
+	 */
+	public double getBounce() {
+		synchronized (engine) {
+			return bounce;
+		}
+	}
+
+	/**
+	 * Sets the bounce of the moves. Takes effect on the next move.
+	 * 
+	 * @param bounce
+	 *            The amplitude of the first bounce half wave relative to the
+	 *            move distance (0-1). Zero to disable bouncing.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>bounce</code> is smaller than zero or greater
+	 *             than one.
+	 */
+	public void setBounce(double bounce) {
+		if (!(bounce >= 0 && bounce <= 1)) {
+			throw new IllegalArgumentException("bounce out of valid range: " + bounce);
+		}
+		synchronized (engine) {
+			this.bounce = bounce;
+		}
+	}
+
+	/**
+	 * Returns if the servo is released after a move.
+	 * 
+	 * @return <code>true</code> if released, otherwise <code>false</code>.
+	 */
+	public boolean isReleaseOnArrival() {
+		synchronized (engine) {
+			return releaseOnArrival;
+		}
+	}
+
+	/**
+	 * Sets if the servo is {@link ServoDriver#release(int) released} after a
+	 * move (e.g. to avoid jitter of turnout servos).
+	 * 
+	 * @param releaseOnArrival
+	 *            <code>true</code> to release, otherwise <code>false</code>.
+	 */
+	public void setReleaseOnArrival(boolean releaseOnArrival) {
+		synchronized (engine) {
+			this.releaseOnArrival = releaseOnArrival;
+		}
+	}
+
+	/**
+	 * Returns the driver of the servo.
+	 * 
+	 * @return The driver.
+	 */
+	public ServoDriver getDriver() {
+		return driver;
+	}
+
+	/**
+	 * Returns the output of the driver the servo is connected to.
+	 * 
+	 * @return The output.
+	 */
+	public int getOutput() {
+		return output;
+	}
+
+	/**
+	 * Returns the engine which drives this motion.
+	 * 
+	 * @return The engine.
+	 */
+	public ServoMotionEngine getEngine() {
+		return engine;
+	}
+
+	ServoMotionListener getListener() {
+		return listener;
+	}
+
+	/*
+	 * The following methods are called by the engine only, holding its
+	 * monitor.
+	 */
+
+	void setTarget(double target, boolean hard) {
+		this.target = target;
+		if (hard) {
+			position = start = target;
+			elapsed = duration = amplitude = 0;
+		}
+		else {
+			start = position;
+			elapsed = 0;
+			double distance = Math.abs(target - start);
+			duration = distance / speed;
+			amplitude = bounce * distance;
+		}
+	}
+
+	boolean isAtTarget() {
+		return position == target && elapsed >= getTotalDuration();
+	}
+
+	/**
+	 * Moves the servo along its trajectory.
+	 * 
+	 * @param seconds
+	 *            The time since the last step.
+	 * @return <code>true</code> if the motion finished.
+	 */
+	boolean step(double seconds) {
+		elapsed += seconds;
+		if (elapsed < duration) {
+			double progress = (1 - Math.cos(Math.PI * elapsed / duration)) / 2;
+			position = start + (target - start) * progress;
+			return false;
+		}
+		double bounceTime = elapsed - duration;
+		if (amplitude > 0 && bounceTime < BOUNCES * BOUNCE_TIME) {
+			int bounce = (int) (bounceTime / BOUNCE_TIME);
+			double offset = amplitude / (1 << bounce)
+					* Math.sin(Math.PI * (bounceTime / BOUNCE_TIME - bounce));
+			// Bounce back towards the start
+			position = target + (target > start ? -offset : offset);
+			return false;
+		}
+		position = target;
+		elapsed = getTotalDuration();
+		return true;
+	}
+
+	private double getTotalDuration() {
+		return amplitude > 0 ? duration + BOUNCES * BOUNCE_TIME : duration;
+	}
+
+	double getCurrentPosition() {
+		return position;
+	}
+
+	boolean isReleasing() {
+		return releaseOnArrival;
+	}
+
+}
@@ -0,0 +1,319 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.tenje.jtrain.TimingWheel;
+import org.tenje.jtrain.TimingWheel.Timeout;
+
+/**
+ * Drives the {@link ServoMotion}s of any number of servos. While at least one
+ * servo moves, the engine ticks on a {@link TimingWheel} (no own thread) and
+ * moves the servos along their trajectories by the time elapsed since the
+ * last tick. The new positions of all servos of a {@link ServoDriver} are
+ * written as one {@link ServoDriver#setPulseWidths(int[], double[], int)
+ * batch} per tick. The engine does not tick at all if no servo moves.
+ * <p>
+ * The motions are guarded by the engine's monitor: Setting a position while
+ * the engine ticks waits until the tick has been finished, so a direct
+ * position change is never overwritten by a tick.
+ * 
+ * @author Jonas Tennié
+ */
+public class ServoMotionEngine implements AutoCloseable {
+
+	/**
+	 * The default time between two ticks in milliseconds, the period of the
+	 * servo PWM signal.
+	 */
+	public static final long DEFAULT_TICK_TIME = (long) ServoDriver.PERIOD;
+
+	private static ServoMotionEngine defaultEngine;
+
+	private final long tickTime;
+	private final TimingWheel wheel;
+	private final List<ServoMotion> active = new ArrayList<>();
+	private final List<Batch> batches = new ArrayList<>();
+	private final List<ServoMotion> finished = new ArrayList<>();
+	private Runnable tickTask;
+	private Timeout tickTimeout;
+	private long lastTickTime;
+	private boolean closed;
+
+	/**
+	 * Constructs a new {@link ServoMotionEngine} with the
+	 * {@link #DEFAULT_TICK_TIME default tick time}.
+	 */
+	public ServoMotionEngine() {
+		this(DEFAULT_TICK_TIME);
+	}
+
+	/**
+	 * Constructs a new {@link ServoMotionEngine} with the specified tick time
+	 * which ticks on the {@link TimingWheel#getDefault() shared timing wheel}.
+	 * 
+	 * @param tickTime
+	 *            The time between two ticks in milliseconds.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>tickTime</code> is less than one.
+	 */
+	public ServoMotionEngine(long tickTime) {
+		this(tickTime, TimingWheel.getDefault());
+	}
+
+	/**
+	 * Constructs a new {@link ServoMotionEngine} with the specified tick time
+	 * which ticks on the specified timing wheel.
+	 * 
+	 * @param tickTime
+	 *            The time between two ticks in milliseconds.
+	 * @param wheel
+	 *            The timing wheel to schedule the ticks.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>tickTime</code> is less than one.
+	 * @throws NullPointerException
+	 *             Thrown if <code>wheel</code> is <code>null</code>.
+	 */
+	public ServoMotionEngine(long tickTime, TimingWheel wheel) {
+		if (tickTime < 1) {
+			throw new IllegalArgumentException("tick time out of valid range: " + tickTime);
+		}
+		this.tickTime = tickTime;
+		this.wheel = Objects.requireNonNull(wheel, "wheel");
+	}
+
+	/**
+	 * Returns the shared {@link ServoMotionEngine} with the
+	 * {@link #DEFAULT_TICK_TIME default tick time}. The engine is created on
+	 * the first call.
+	 * 
+	 * @return The shared engine.
+	 */
+	public static synchronized ServoMotionEngine getDefault() {
+		if (defaultEngine == null) {
+			defaultEngine = new ServoMotionEngine();
+		}
+		return defaultEngine;
+	}
+
+	/**
+	 * Returns the time between two ticks.
+	 * 
+	 * @return The tick time in milliseconds.
+	 */
+	public long getTickTime() {
+		return tickTime;
+	}
+
+	/**
+	 * Creates a new {@link ServoMotion} which is driven by this engine. The
+	 * position is not written to the driver until the first move.
+	 * 
+	 * @param driver
+	 *            The driver of the servo.
+	 * @param output
+	 *            The output of the driver the servo is connected to.
+	 * @param position
+	 *            The current position of the servo (pulse width in ms).
+	 * @param speed
+	 *            The speed in <code>ms pulse width/second</code>.
+	 * @param listener
+	 *            The listener which is notified about finished moves. May be
+	 *            <code>null</code>.
+	 * @return The created motion.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>position</code> is zero or smaller or greater
+	 *             than {@link ServoDriver#PERIOD} or if <code>speed</code> is
+	 *             not greater than zero.
+	 * @throws NullPointerException
+	 *             Thrown if <code>driver</code> is <code>null</code>.
+	 */
+	public ServoMotion register(ServoDriver driver, int output, double position, double speed,
+			ServoMotionListener listener) {
+		return new ServoMotion(this, Objects.requireNonNull(driver, "driver"), output,
+				position, speed, listener);
+	}
+
+	void moveTo(ServoMotion motion, double position, boolean hard) {
+		synchronized (this) {
+			// A closed engine does not tick, all moves are hard
+			hard |= closed;
+			motion.setTarget(position, hard);
+			if (hard) {
+				if (motion.active) {
+					motion.active = false;
+					active.remove(motion);
+				}
+				try {
+					motion.getDriver().setPulseWidth(motion.getOutput(), position);
+				}
+				catch (IOException ex) {}
+			}
+			else if (!motion.isAtTarget() && !motion.active) {
+				motion.active = true;
+				active.add(motion);
+				if (tickTask == null) {
+					start();
+				}
+			}
+			if (!hard && motion.active) {
+				return;
+			}
+		}
+		// Already there, the move finished immediately
+		notifyFinished(motion);
+	}
+
+	private void start() {
+		tickTask = new Runnable() {
+			@Override
+			public void run() {
+				tick(this);
+			}
+		};
+		lastTickTime = System.nanoTime();
+		tickTimeout = wheel.schedule(tickTask, 0);
+	}
+
+	private void tick(Runnable task) {
+		ServoMotion[] done = null;
+		synchronized (this) {
+			if (task != tickTask) {
+				return; // Cancelled while waiting for the lock
+			}
+			long now = System.nanoTime();
+			double seconds = (now - lastTickTime) / 1E9;
+			lastTickTime = now;
+			for (int i = active.size() - 1; i >= 0; i--) {
+				ServoMotion motion = active.get(i);
+				if (motion.step(seconds)) {
+					motion.active = false;
+					active.remove(i);
+					finished.add(motion);
+				}
+				getBatch(motion.getDriver()).add(motion.getOutput(),
+						motion.getCurrentPosition());
+			}
+			for (int i = 0; i < batches.size(); i++) {
+				batches.get(i).write();
+			}
+			for (int i = 0; i < finished.size(); i++) {
+				ServoMotion motion = finished.get(i);
+				if (motion.isReleasing()) {
+					try {
+						motion.getDriver().release(motion.getOutput());
+					}
+					catch (IOException ex) {}
+				}
+			}
+			if (!finished.isEmpty()) { // The next tick may run while notifying
+				done = finished.toArray(new ServoMotion[finished.size()]);
+				finished.clear();
+			}
+			if (active.isEmpty()) {
+				tickTask = null;
+				tickTimeout = null;
+			}
+			else {
+				tickTimeout = wheel.schedule(task, tickTime);
+			}
+		}
+		if (done != null) {
+			for (ServoMotion motion : done) {
+				notifyFinished(motion);
+			}
+		}
+	}
+
+	private Batch getBatch(ServoDriver driver) {
+		for (int i = 0; i < batches.size(); i++) {
+			Batch batch = batches.get(i);
+			if (batch.driver == driver) {
+				return batch;
+			}
+		}
+		Batch batch = new Batch(driver);
+		batches.add(batch);
+		return batch;
+	}
+
+	private static void notifyFinished(ServoMotion motion) {
+		ServoMotionListener listener = motion.getListener();
+		if (listener != null) {
+			listener.motionFinished(motion);
+		}
+	}
+
+	/**
+	 * Stops the engine. The servos stay at their current positions, later
+	 * moves are applied directly. The timing wheel is not closed.
+	 */
+	@Override
+	public synchronized void close() {
+		closed = true;
+		if (tickTimeout != null) {
+			tickTimeout.cancel();
+		}
+		tickTask = null;
+		tickTimeout = null;
+		for (ServoMotion motion : active) {
+			motion.active = false;
+		}
+		active.clear();
+	}
+
+	/**
+	 * The pulse widths of one driver written in one tick.
+	 */
+	private static class Batch {
+
+		final ServoDriver driver;
+		int[] outputs = new int[8];
+		double[] pulseWidths = new double[8];
+		int count;
+
+		Batch(ServoDriver driver) {
+			this.driver = driver;
+		}
+
+		void add(int output, double pulseWidth) {
+			if (count == outputs.length) {
+				outputs = Arrays.copyOf(outputs, count * 2);
+				pulseWidths = Arrays.copyOf(pulseWidths, count * 2);
+			}
+			outputs[count] = output;
+			pulseWidths[count] = pulseWidth;
+			count++;
+		}
+
+		void write() {
+			if (count > 0) {
+				try {
+					driver.setPulseWidths(outputs, pulseWidths, count);
+				}
+				catch (IOException ex) {}
+				count = 0;
+			}
+		}
+
+	}
+
+}
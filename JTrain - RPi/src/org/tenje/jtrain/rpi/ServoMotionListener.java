@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+/**
+ * A listener which is notified when a {@link ServoMotion} reached its target
+ * position.
+ * 
+ * @author Jonas Tennié
+ */
+public interface ServoMotionListener {
+
+	/**
+	 * Called by the {@link ServoMotionEngine} after the servo reached
+	 * its target position (including the bounce). The engine's monitor is not
+	 * held while this method is called.
+	 * 
+	 * @param motion
+	 *            The motion which finished.
+	 */
+	void motionFinished(ServoMotion motion);
+
+}
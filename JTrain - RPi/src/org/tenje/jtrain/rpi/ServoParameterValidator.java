@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+/**
+ * This class contains static utility methods to validate servo parameters
+ * (see {@link ServoDriver}).
+ * 
+ * @author Jonas Tennié
+ */
+public final class ServoParameterValidator {
+
+	private ServoParameterValidator() {}
+
+	/**
+	 * Validates a pulse width in range (0-{@value ServoDriver#PERIOD}],
+	 * exclusive zero, and returns it if valid.
+	 * 
+	 * @param pulseWidth
+	 *            The pulse width in ms to validate.
+	 * @return The validated <code>pulseWidth</code>.
+	 * @throws IllegalArgumentException
+	 *             Thrown if <code>pulseWidth</code> is zero or smaller or
+	 *             greater than {@link ServoDriver#PERIOD}.
+	 */
+	public static double validatePulseWidth(double pulseWidth) {
+		if (pulseWidth <= 0 || pulseWidth > ServoDriver.PERIOD) {
+			throw new IllegalArgumentException("pulse width out of valid range: " + pulseWidth);
+		}
+		return pulseWidth;
+	}
+
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link ServoDriver} which does not control any hardware, but records the
+ * pulse widths. Useful to test and simulate accessories without a Raspberry
+ * Pi.
+ * 
+ * @author Jonas Tennié
+ */
+public class SimulatedServoDriver implements ServoDriver {
+
+	private final Map<Integer, Double> pulseWidths = new HashMap<>();
+	private int updateCount, batchCount;
+
+	@Override
+	public synchronized void setPulseWidth(int output, double pulseWidth) {
+		if (output < 0) {
+			throw new IllegalArgumentException("output out of valid range: " + output);
+		}
+		ServoParameterValidator.validatePulseWidth(pulseWidth);
+		pulseWidths.put(output, pulseWidth);
+		updateCount++;
+	}
+
+	@Override
+	public synchronized void setPulseWidths(int[] outputs, double[] pulseWidths, int count) {
+		for (int i = 0; i < count; i++) {
+			setPulseWidth(outputs[i], pulseWidths[i]);
+		}
+		batchCount++;
+	}
+
+	@Override
+	public synchronized void release(int output) {
+		if (output < 0) {
+			throw new IllegalArgumentException("output out of valid range: " + output);
+		}
+		pulseWidths.remove(output);
+	}
+
+	/**
+	 * Returns the current pulse width of the specified output.
+	 * 
+	 * @param output
+	 *            The output.
+	 * @return The pulse width in ms, <code>0</code> if the output is not
+	 *         attached.
+	 */
+	public synchronized double getPulseWidth(int output) {
+		Double pulseWidth = pulseWidths.get(output);
+		return pulseWidth != null ? pulseWidth : 0;
+	}
+
+	/**
+	 * Returns if the specified output is attached, which means that a PWM
+	 * signal is generated.
+	 * 
+	 * @param output
+	 *            The output.
+	 * @return <code>true</code> if attached, otherwise <code>false</code>.
+	 */
+	public synchronized boolean isAttached(int output) {
+		return pulseWidths.containsKey(output);
+	}
+
+	/**
+	 * Returns the number of pulse width updates since construction. Each
+	 * output of a batch is counted as one update.
+	 * 
+	 * @return The number of updates.
+	 */
+	public synchronized int getUpdateCount() {
+		return updateCount;
+	}
+
+	/**
+	 * Returns the number of {@link #setPulseWidths(int[], double[], int)
+	 * batches} since construction.
+	 * 
+	 * @return The number of batches.
+	 */
+	public synchronized int getBatchCount() {
+		return batchCount;
+	}
+
+}
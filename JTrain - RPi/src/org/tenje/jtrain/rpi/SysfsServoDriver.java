@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link ServoDriver} which uses the Linux PWM sysfs interface
+ * (<code>/sys/class/pwm/pwmchip<i>N</i></code>). The outputs are the channels
+ * of the PWM chip. A channel is exported and its period is set on the first
+ * use, the duty cycle file is kept open afterwards.
+ * 
+ * @author Jonas Tennié
+ */
+public class SysfsServoDriver implements ServoDriver, Closeable {
+
+	private static final long NANOS_PER_MS = 1_000_000;
+	private static final long EXPORT_TIMEOUT = 1_000;
+
+	private final File chip;
+	private final Map<Integer, Channel> channels = new HashMap<>();
+
+	/**
+	 * Constructs a new {@link SysfsServoDriver} for the PWM chip with the
+	 * specified number.
+	 * 
+	 * @param chip
+	 *            The number of the PWM chip.
+	 */
+	public SysfsServoDriver(int chip) {
+		this(new File("/sys/class/pwm/pwmchip" + chip));
+	}
+
+	/**
+	 * Constructs a new {@link SysfsServoDriver} for the PWM chip with the
+	 * specified sysfs directory.
+	 * 
+	 * @param chip
+	 *            The sysfs directory of the PWM chip.
+	 * @throws NullPointerException
+	 *             Thrown if <code>chip</code> is <code>null</code>.
+	 */
+	public SysfsServoDriver(File chip) {
+		this.chip = Objects.requireNonNull(chip, "chip");
+	}
+
+	@Override
+	public synchronized void setPulseWidth(int output, double pulseWidth) throws IOException {
+		checkOutput(output);
+		ServoParameterValidator.validatePulseWidth(pulseWidth);
+		Channel channel = channels.get(output);
+		if (channel == null) {
+			channel = new Channel(output);
+			channels.put(output, channel);
+		}
+		channel.setDutyCycle(Math.round(pulseWidth * NANOS_PER_MS));
+		channel.setEnabled(true);
+	}
+
+	@Override
+	public synchronized void setPulseWidths(int[] outputs, double[] pulseWidths, int count)
+			throws IOException {
+		for (int i = 0; i < count; i++) {
+			setPulseWidth(outputs[i], pulseWidths[i]);
+		}
+	}
+
+	@Override
+	public synchronized void release(int output) throws IOException {
+		checkOutput(output);
+		Channel channel = channels.get(output);
+		if (channel != null) {
+			channel.setEnabled(false);
+		}
+	}
+
+	/**
+	 * Releases all channels and closes the duty cycle files. The channels stay
+	 * exported.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		IOException exception = null;
+		for (Channel channel : channels.values()) {
+			try {
+				channel.close();
+			}
+			catch (IOException ex) {
+				exception = ex;
+			}
+		}
+		channels.clear();
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	private static void checkOutput(int output) {
+		if (output < 0) {
+			throw new IllegalArgumentException("channel out of valid range: " + output);
+		}
+	}
+
+	private static void write(File file, String value) throws IOException {
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			out.write(value.getBytes(StandardCharsets.US_ASCII));
+		}
+	}
+
+	private class Channel implements Closeable {
+
+		private final File directory;
+		private final RandomAccessFile dutyCycle;
+		private boolean enabled;
+
+		Channel(int channel) throws IOException {
+			directory = new File(chip, "pwm" + channel);
+			if (!directory.isDirectory()) {
+				write(new File(chip, "export"), String.valueOf(channel));
+				// The directory is created asynchronously by udev
+				long timeout = System.currentTimeMillis() + EXPORT_TIMEOUT;
+				while (!new File(directory, "duty_cycle").canWrite()) {
+					if (System.currentTimeMillis() > timeout) {
+						throw new IOException("failed to export PWM channel: " + directory);
+					}
+					try {
+						Thread.sleep(10);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new IOException("interrupted while exporting: " + directory);
+					}
+				}
+			}
+			write(new File(directory, "period"),
+					String.valueOf(Math.round(PERIOD * NANOS_PER_MS)));
+			dutyCycle = new RandomAccessFile(new File(directory, "duty_cycle"), "rw");
+		}
+
+		void setDutyCycle(long dutyCycle) throws IOException {
+			// Each value must be written at the beginning of the attribute
+			this.dutyCycle.seek(0);
+			this.dutyCycle.write(String.valueOf(dutyCycle).getBytes(StandardCharsets.US_ASCII));
+		}
+
+		void setEnabled(boolean enabled) throws IOException {
+			if (this.enabled != enabled) {
+				write(new File(directory, "enable"), enabled ? "1" : "0");
+				this.enabled = enabled;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				setEnabled(false);
+			}
+			finally {
+				dutyCycle.close();
+			}
+		}
+
+	}
+
+}
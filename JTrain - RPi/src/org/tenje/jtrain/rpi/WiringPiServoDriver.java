@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.rpi;
+
+import java.util.BitSet;
+
+import com.pi4j.wiringpi.Gpio;
+
+/**
+ * A {@link ServoDriver} which uses the hardware PWM of the Raspberry Pi via
+ * wiringPi. The PWM clock is configured once, the outputs are wiringPi pin
+ * numbers of PWM capable pins. The calls are made in-process, no
+ * <code>gpio</code> processes are started.
+ * 
+ * @author Jonas Tennié
+ */
+public class WiringPiServoDriver implements ServoDriver {
+
+	/**
+	 * The divisor of the 19.2 MHz PWM clock. Results in steps of 10 µs.
+	 */
+	public static final int CLOCK_DIVISOR = 192;
+	/**
+	 * The PWM range, the number of steps per period.
+	 */
+	public static final int RANGE = 2000;
+
+	private static final double STEPS_PER_MS = RANGE / PERIOD;
+	private static WiringPiServoDriver defaultDriver;
+
+	private final BitSet attached = new BitSet();
+	private boolean configured;
+
+	/**
+	 * Returns the shared {@link WiringPiServoDriver}. The hardware PWM is
+	 * common for all pins, so it should be controlled by one driver only.
+	 * 
+	 * @return The shared driver.
+	 */
+	public static synchronized WiringPiServoDriver getDefault() {
+		if (defaultDriver == null) {
+			defaultDriver = new WiringPiServoDriver();
+		}
+		return defaultDriver;
+	}
+
+	@Override
+	public synchronized void setPulseWidth(int output, double pulseWidth) {
+		checkOutput(output);
+		ServoParameterValidator.validatePulseWidth(pulseWidth);
+		if (!configured) {
+			Gpio.wiringPiSetup();
+			Gpio.pwmSetMode(Gpio.PWM_MODE_MS);
+			Gpio.pwmSetClock(CLOCK_DIVISOR);
+			Gpio.pwmSetRange(RANGE);
+			configured = true;
+		}
+		if (!attached.get(output)) {
+			Gpio.pinMode(output, Gpio.PWM_OUTPUT);
+			attached.set(output);
+		}
+		Gpio.pwmWrite(output, (int) Math.round(pulseWidth * STEPS_PER_MS));
+	}
+
+	@Override
+	public synchronized void setPulseWidths(int[] outputs, double[] pulseWidths, int count) {
+		for (int i = 0; i < count; i++) {
+			setPulseWidth(outputs[i], pulseWidths[i]);
+		}
+	}
+
+	@Override
+	public synchronized void release(int output) {
+		checkOutput(output);
+		if (attached.get(output)) {
+			Gpio.pinMode(output, Gpio.OUTPUT);
+			Gpio.digitalWrite(output, Gpio.LOW);
+			attached.clear(output);
+		}
+	}
+
+	private static void checkOutput(int output) {
+		if (output < 0) {
+			throw new IllegalArgumentException("pin out of valid range: " + output);
+		}
+	}
+
+}
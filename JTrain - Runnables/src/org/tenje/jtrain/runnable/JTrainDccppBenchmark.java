@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c): Jonas Tennié 2017
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Lesser Public License for more
+ * details.
+ * You should have received a copy of the GNU General Lesser Public License
+ * along with this program. If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ *******************************************************************************/
+package org.tenje.jtrain.runnable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.tenje.jtrain.dccpp.LocalPacketBroker;
+import org.tenje.jtrain.dccpp.Packet;
+import org.tenje.jtrain.dccpp.PacketBroker;
+import org.tenje.jtrain.dccpp.PacketBuilder;
+import org.tenje.jtrain.dccpp.PacketFactory;
+import org.tenje.jtrain.dccpp.PacketListener;
+import org.tenje.jtrain.dccpp.impl.AbstractPacket;
+import org.tenje.jtrain.dccpp.impl.PacketFactoryImpl;
+import org.tenje.jtrain.dccpp.server.DccppServerSocket;
+import org.tenje.jtrain.dccpp.server.DccppThreadFactory;
+
+/**
+ * A stand-alone program to compare the thread modes of the
+ * {@link DccppServerSocket} (see {@link DccppThreadFactory}). For each mode a
+ * server is started, the specified number of clients connect to it and each
+ * client sends the specified number of packets. The program prints the
+ * number of established connections, the peak number of platform threads and
+ * the latency between sending a packet and the call of the packet listener
+ * (50th and 99th percentile).
+ * 
+ * @author Jonas Tennié
+ */
+public class JTrainDccppBenchmark {
+
+	private static final char TYPE_CHAR = 'b';
+
+	/**
+	 * Starts the program. {@code args[0]} is the port used by the servers,
+	 * {@code args[1]} the number of connections (default: 500) and
+	 * {@code args[2]} the number of packets sent per connection (default: 20).
+	 * 
+	 * @param args
+	 *            The program arguments.
+	 * @throws Exception
+	 *             Thrown if the benchmark fails.
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			throw new IllegalArgumentException("no port defined");
+		}
+		int port = Integer.parseInt(args[0]);
+		int connections = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+		int packets = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+		run(DccppThreadFactory.platform("DCC++ benchmark "), port, connections,
+				packets);
+		if (DccppThreadFactory.isVirtualSupported()) {
+			run(DccppThreadFactory.virtual("DCC++ benchmark "), port + 1, connections,
+					packets);
+		}
+		else {
+			System.out.println("virtual: not supported by this JVM");
+		}
+	}
+
+	private static void run(DccppThreadFactory threadFactory, int port,
+			int connectionCount, int packetCount) throws Exception {
+		PacketFactory packetFactory = new PacketFactoryImpl();
+		packetFactory.registerBuilder(new PacketBuilder<Packet>() {
+			@Override
+			public Packet build(List<String> parameters) {
+				return new AbstractPacket(TYPE_CHAR, parameters) {};
+			}
+		}, Packet.class, TYPE_CHAR);
+		final long[] latencies = new long[connectionCount * packetCount];
+		final AtomicInteger received = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(latencies.length);
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		threads.resetPeakThreadCount();
+		List<Socket> clients = new ArrayList<>(connectionCount);
+		int connected = 0;
+		try (DccppServerSocket server = new DccppServerSocket(port, packetFactory,
+				threadFactory)) {
+			server.addPacketListener(new PacketListener() {
+				@Override
+				public void packetReceived(Packet packet, PacketBroker sender,
+						LocalPacketBroker receiver) {
+					long latency = System.nanoTime()
+							- Long.parseLong(packet.getRawParameters().get(0));
+					int index = received.getAndIncrement();
+					if (index < latencies.length) {
+						latencies[index] = latency;
+					}
+					done.countDown();
+				}
+			}, TYPE_CHAR);
+			try {
+				for (int i = 0; i < connectionCount; i++) {
+					clients.add(new Socket(InetAddress.getLocalHost(), port));
+					connected++;
+				}
+			}
+			catch (IOException ex) {
+				System.out.println(
+						"Connection " + (connected + 1) + " failed: " + ex.getMessage());
+			}
+			for (int i = 0; i < packetCount; i++) {
+				for (Socket client : clients) {
+					OutputStream out = client.getOutputStream();
+					out.write(("<" + TYPE_CHAR + " " + System.nanoTime() + ">")
+							.getBytes(StandardCharsets.US_ASCII));
+				}
+			}
+			for (int i = connected * packetCount; i < latencies.length; i++) {
+				done.countDown(); // Packets of failed connections
+			}
+			done.await(30, TimeUnit.SECONDS);
+		}
+		finally {
+			for (Socket client : clients) {
+				client.close();
+			}
+		}
+		long[] sorted = Arrays.copyOf(latencies, Math.min(received.get(), latencies.length));
+		Arrays.sort(sorted);
+		System.out.println((threadFactory.isVirtual() ? "virtual" : "platform")
+				+ ": connections=" + connected + ", packets=" + sorted.length
+				+ ", peak platform threads=" + threads.getPeakThreadCount()
+				+ ", p50=" + percentile(sorted, 50) / 1000 + "us" + ", p99="
+				+ percentile(sorted, 99) / 1000 + "us");
+	}
+
+	private static long percentile(long[] sorted, int percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.min(sorted.length - 1,
+				(int) Math.ceil(sorted.length * percentile / 100.0) - 1)];
+	}
+
+}